@@ -0,0 +1,43 @@
+package eme.benchmarks;
+
+import java.util.Properties;
+
+import eme.model.IntermediateModel;
+import eme.model.synthetic.SyntheticModelGenerator;
+import eme.properties.ExtractionProperties;
+
+/**
+ * Utility class for the fixtures of the benchmarks. All models are created with the same seed, which means every
+ * benchmark of the same size works on the same model.
+ * @author Timur Saglam
+ */
+public final class BenchmarkFixtures {
+    private static final String PROJECT_NAME = "SyntheticProject";
+    private static final long SEED = 42;
+    private static final int TYPES_PER_PACKAGE = 50;
+
+    private BenchmarkFixtures() {
+        // private constructor.
+    }
+
+    /**
+     * Creates a synthetic {@link IntermediateModel} with about the given number of types. Inner types are generated in
+     * addition to the given number.
+     * @param types is the number of top level types.
+     * @return the synthetic model.
+     */
+    public static IntermediateModel createModel(int types) {
+        SyntheticModelGenerator generator = new SyntheticModelGenerator(SEED);
+        generator.setPackages(Math.max(1, types / TYPES_PER_PACKAGE));
+        generator.setTypesPerPackage(Math.min(types, TYPES_PER_PACKAGE));
+        return generator.generate(PROJECT_NAME);
+    }
+
+    /**
+     * Creates {@link ExtractionProperties} with the default values, which do not need a running platform.
+     * @return the properties.
+     */
+    public static ExtractionProperties createProperties() {
+        return new ExtractionProperties(new Properties());
+    }
+}
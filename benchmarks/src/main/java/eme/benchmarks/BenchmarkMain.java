@@ -0,0 +1,43 @@
+package eme.benchmarks;
+
+import java.io.IOException;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of the benchmark jar. Accepts the usual JMH command line options and always enables the GC profiler,
+ * which reports the allocation rate and the garbage collections of every benchmark.
+ * @author Timur Saglam
+ */
+public final class BenchmarkMain {
+
+    private BenchmarkMain() {
+        // private constructor.
+    }
+
+    /**
+     * Runs the benchmarks.
+     * @param args are the JMH command line options, e.g. a benchmark name pattern or "-p types=1000".
+     * @throws CommandLineOptionException if the options are invalid.
+     * @throws IOException if the help can not be printed.
+     * @throws RunnerException if a benchmark fails.
+     */
+    public static void main(String[] args) throws CommandLineOptionException, IOException, RunnerException {
+        CommandLineOptions options = new CommandLineOptions(args);
+        if (options.shouldHelp()) {
+            options.showHelp();
+            return;
+        }
+        Runner runner = new Runner(new OptionsBuilder().parent(options).addProfiler(GCProfiler.class).build());
+        if (options.shouldList()) {
+            runner.list();
+        } else {
+            runner.run();
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package eme.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.security.CodeSource;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+import org.osgi.framework.Bundle;
+import org.osgi.framework.BundleActivator;
+import org.osgi.framework.connect.ConnectContent;
+import org.osgi.framework.connect.ConnectModule;
+import org.osgi.framework.connect.FrameworkUtilHelper;
+import org.osgi.framework.connect.ModuleConnector;
+
+/**
+ * Connects the bundles of the class path to an OSGi framework, which means the framework uses the bundle jars of the
+ * class path without copying them and loads their classes with the class loader of the class path. The classes of the
+ * benchmarks and the framework therefore share the same Eclipse classes. The location of a connected bundle is the path
+ * of its jar file. The connector is also the {@link FrameworkUtilHelper}, which finds the bundle of a class by the jar
+ * the class was loaded from.
+ * @author Timur Saglam
+ */
+public class ClasspathConnector implements ModuleConnector, FrameworkUtilHelper {
+    private static final Map<String, Bundle> bundles = new ConcurrentHashMap<String, Bundle>(); // jar path to bundle
+
+    /**
+     * Registers an installed bundle, which allows to find the bundle of its classes.
+     * @param bundle is the installed bundle, whose location is the path of its jar.
+     */
+    public static void register(Bundle bundle) {
+        bundles.put(bundle.getLocation(), bundle);
+    }
+
+    /**
+     * Removes all registered bundles, which is called when the framework is stopped.
+     */
+    public static void clear() {
+        bundles.clear();
+    }
+
+    @Override
+    public Optional<ConnectModule> connect(String location) {
+        File file = new File(location);
+        if (!file.isFile()) {
+            return Optional.empty(); // not a jar of the class path
+        }
+        return Optional.of(() -> new JarContent(file));
+    }
+
+    @Override
+    public Optional<Bundle> getBundle(Class<?> type) {
+        CodeSource source = type.getProtectionDomain().getCodeSource();
+        if (source == null || source.getLocation() == null) {
+            return Optional.empty(); // class of the platform
+        }
+        try {
+            return Optional.ofNullable(bundles.get(new File(source.getLocation().toURI()).getPath()));
+        } catch (URISyntaxException exception) {
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public void initialize(File storage, Map<String, String> configuration) {
+        // no initialization needed.
+    }
+
+    @Override
+    public Optional<BundleActivator> newBundleActivator() {
+        return Optional.empty();
+    }
+
+    /**
+     * Content of a bundle jar of the class path.
+     */
+    private static class JarContent implements ConnectContent {
+        private final File file;
+        private JarFile jar;
+
+        JarContent(File file) {
+            this.file = file;
+        }
+
+        @Override
+        public void close() throws IOException {
+            jar.close();
+        }
+
+        @Override
+        public Optional<ClassLoader> getClassLoader() {
+            return Optional.of(ClasspathConnector.class.getClassLoader());
+        }
+
+        @Override
+        public Iterable<String> getEntries() throws IOException {
+            List<String> entries = new ArrayList<String>();
+            jar.stream().forEach(entry -> entries.add(entry.getName()));
+            return entries;
+        }
+
+        @Override
+        public Optional<ConnectEntry> getEntry(String path) {
+            JarEntry entry = jar.getJarEntry(path);
+            if (entry == null) {
+                return Optional.empty();
+            }
+            return Optional.of(new ConnectEntry() {
+                @Override
+                public long getContentLength() {
+                    return entry.getSize();
+                }
+
+                @Override
+                public InputStream getInputStream() throws IOException {
+                    return jar.getInputStream(entry);
+                }
+
+                @Override
+                public long getLastModified() {
+                    return entry.getTime();
+                }
+
+                @Override
+                public String getName() {
+                    return entry.getName();
+                }
+            });
+        }
+
+        @Override
+        public Optional<Map<String, String>> getHeaders() {
+            Map<String, String> headers = new HashMap<String, String>();
+            try (JarFile headerJar = new JarFile(file)) { // headers are read before the content is opened
+                for (Map.Entry<Object, Object> header : headerJar.getManifest().getMainAttributes().entrySet()) {
+                    headers.put(((Attributes.Name) header.getKey()).toString(), (String) header.getValue());
+                }
+            } catch (IOException exception) {
+                throw new IllegalStateException("Could not read the manifest of " + file, exception);
+            }
+            return Optional.of(headers);
+        }
+
+        @Override
+        public void open() throws IOException {
+            jar = new JarFile(file);
+        }
+    }
+}
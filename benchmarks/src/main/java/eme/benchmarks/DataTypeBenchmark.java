@@ -0,0 +1,110 @@
+package eme.benchmarks;
+
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaModelException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import eme.extractor.DataTypeExtractor;
+
+/**
+ * Benchmarks the signature handling of the {@link DataTypeExtractor}. The declaring type is a stub which resolves simple
+ * type names like a compilation unit with imports, which means no workspace is needed.
+ * @author Timur Saglam
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class DataTypeBenchmark {
+    private static final String DECLARING_TYPE = "eme.synthetic.Declaring";
+    private static final String[] SIGNATURES = { "I", "[[J", "QString;", "Ljava.lang.String;", "QList<QString;>;",
+            "QMap<QString;QList<+QNumber;>;>;", "[QList<-QInteger;>;", "QComparable<*>;", "QT;", "QDeclaring;",
+            "Ljava.util.Map<Ljava.lang.String;Ljava.util.List<Ljava.lang.Integer;>;>;", "QUnknownType;" };
+    private IType declaringType;
+    private DataTypeExtractor extractor;
+    @Param({ "1000", "10000", "100000" })
+    private int signatures;
+
+    /**
+     * Creates the declaring type stub.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        Map<String, String> imports = new HashMap<String, String>();
+        imports.put("String", "java.lang");
+        imports.put("Integer", "java.lang");
+        imports.put("Number", "java.lang");
+        imports.put("Comparable", "java.lang");
+        imports.put("List", "java.util");
+        imports.put("Map", "java.util");
+        imports.put("Declaring", "eme.synthetic");
+        declaringType = createDeclaringType(imports);
+    }
+
+    /**
+     * Creates a new extractor for every iteration, which means the set of the potential external types is filled anew.
+     */
+    @Setup(Level.Iteration)
+    public void setUpIteration() {
+        extractor = new DataTypeExtractor();
+    }
+
+    /**
+     * Extracts data types from signatures, which includes resolving the names, the array dimensions and the generic
+     * arguments with their wild cards.
+     * @param blackhole consumes the extracted data types.
+     * @throws JavaModelException if the extraction fails.
+     */
+    @Benchmark
+    public void extractDataTypes(Blackhole blackhole) throws JavaModelException {
+        for (int i = 0; i < signatures; i++) {
+            blackhole.consume(extractor.extractDataType(SIGNATURES[i % SIGNATURES.length], declaringType));
+        }
+    }
+
+    /**
+     * Creates a stub of an {@link IType} which resolves simple names with a map of imports. Unknown names can not be
+     * resolved, which means they must not be nested types, and all other methods are not supported.
+     */
+    private static IType createDeclaringType(Map<String, String> imports) {
+        return (IType) Proxy.newProxyInstance(IType.class.getClassLoader(), new Class<?>[] { IType.class }, (proxy, method, args) -> {
+            switch (method.getName()) {
+            case "resolveType":
+                String name = ((String) args[0]).split("<")[0]; // without generic arguments
+                String packageName = imports.get(name);
+                return packageName == null ? null : new String[][] { { packageName, name } };
+            case "getFullyQualifiedName":
+                return DECLARING_TYPE;
+            case "getElementName":
+                return DECLARING_TYPE.substring(DECLARING_TYPE.lastIndexOf('.') + 1);
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "equals":
+                return proxy == args[0];
+            case "toString":
+                return DECLARING_TYPE;
+            default:
+                throw new UnsupportedOperationException(method.getName());
+            }
+        });
+    }
+}
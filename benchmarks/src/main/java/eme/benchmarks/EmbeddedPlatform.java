@@ -0,0 +1,134 @@
+package eme.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.IWorkspaceDescription;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.osgi.framework.Bundle;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.BundleException;
+import org.osgi.framework.Constants;
+import org.osgi.framework.connect.ConnectFrameworkFactory;
+import org.osgi.framework.launch.Framework;
+import org.osgi.framework.wiring.BundleWire;
+import org.osgi.framework.wiring.BundleWiring;
+
+/**
+ * Headless Eclipse platform with a workspace and the Java model, which runs in the same JVM as the benchmarks. Starts
+ * an Equinox framework with all bundles of the class path, which are connected with the {@link ClasspathConnector}. No
+ * Eclipse installation is needed. The workspace does not build automatically, which means the Java builder never runs.
+ * @author Timur Saglam
+ */
+public final class EmbeddedPlatform implements AutoCloseable {
+    private static final String FRAMEWORK_BUNDLE = "org.eclipse.osgi";
+    private static final long STOP_TIMEOUT = 30000; // milliseconds
+    private final Framework framework;
+
+    /**
+     * Starts the platform with a workspace in a specific folder.
+     * @param workspace is the workspace folder.
+     * @param configuration is the configuration folder of the framework.
+     * @throws BundleException if the framework or a bundle can not be started.
+     * @throws CoreException if the workspace can not be configured.
+     * @throws IOException if the class path can not be read.
+     */
+    public EmbeddedPlatform(File workspace, File configuration) throws BundleException, CoreException, IOException {
+        Map<String, String> properties = new HashMap<String, String>();
+        properties.put("osgi.instance.area", workspace.toURI().toString());
+        properties.put("osgi.configuration.area", configuration.toURI().toString());
+        properties.put("osgi.console.enable.builtin", "false");
+        ConnectFrameworkFactory factory = ServiceLoader.load(ConnectFrameworkFactory.class).iterator().next();
+        framework = factory.newFramework(properties, new ClasspathConnector());
+        framework.init();
+        List<Bundle> bundles = installBundles(framework.getBundleContext());
+        framework.start();
+        Set<Bundle> started = new HashSet<Bundle>();
+        for (Bundle bundle : bundles) {
+            start(bundle, started);
+        }
+        IWorkspace eclipseWorkspace = ResourcesPlugin.getWorkspace();
+        IWorkspaceDescription description = eclipseWorkspace.getDescription();
+        description.setAutoBuilding(false); // the extraction needs no class files
+        eclipseWorkspace.setDescription(description);
+    }
+
+    /**
+     * Accessor for the workspace of the platform.
+     * @return the workspace.
+     */
+    public IWorkspace getWorkspace() {
+        return ResourcesPlugin.getWorkspace();
+    }
+
+    /**
+     * Stops the platform. The workspace is not saved, it is only used once.
+     */
+    @Override
+    public void close() throws BundleException, InterruptedException {
+        try {
+            framework.stop();
+            framework.waitForStop(STOP_TIMEOUT);
+        } finally {
+            ClasspathConnector.clear();
+        }
+    }
+
+    /**
+     * Installs all bundle jars of the class path except the framework itself.
+     */
+    private List<Bundle> installBundles(BundleContext context) throws BundleException, IOException {
+        List<Bundle> bundles = new ArrayList<Bundle>();
+        for (String entry : System.getProperty("java.class.path").split(File.pathSeparator)) {
+            File file = new File(entry);
+            if (file.isFile() && isBundle(file)) {
+                Bundle bundle = context.installBundle(file.getPath());
+                ClasspathConnector.register(bundle);
+                bundles.add(bundle);
+            }
+        }
+        return bundles;
+    }
+
+    /**
+     * Checks whether a jar is a bundle that is not the framework.
+     */
+    private boolean isBundle(File file) throws IOException {
+        try (JarFile jar = new JarFile(file)) {
+            Manifest manifest = jar.getManifest();
+            String name = manifest == null ? null : manifest.getMainAttributes().getValue(Constants.BUNDLE_SYMBOLICNAME);
+            return name != null && !name.startsWith(FRAMEWORK_BUNDLE + ';') && !name.equals(FRAMEWORK_BUNDLE);
+        }
+    }
+
+    /**
+     * Starts a bundle after the bundles it depends on. The bundles have to be started explicitly, because their classes
+     * are loaded by the class path, which never triggers a lazy activation.
+     */
+    private void start(Bundle bundle, Set<Bundle> started) throws BundleException {
+        if (!started.add(bundle) || bundle.getHeaders().get(Constants.FRAGMENT_HOST) != null) {
+            return; // already started or fragment
+        }
+        BundleWiring wiring = bundle.adapt(BundleWiring.class);
+        if (wiring != null) { // resolved
+            for (BundleWire wire : wiring.getRequiredWires(null)) {
+                Bundle provider = wire.getProvider().getBundle();
+                if (provider.getBundleId() != Constants.SYSTEM_BUNDLE_ID) {
+                    start(provider, started);
+                }
+            }
+        }
+        bundle.start();
+    }
+}
@@ -0,0 +1,235 @@
+package eme.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+
+import org.apache.log4j.Level;
+import org.apache.log4j.LogManager;
+import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IProjectDescription;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.jdt.core.IClasspathEntry;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.JavaCore;
+
+import eme.extractor.JavaProjectExtractor;
+import eme.generator.EPackageGenerator;
+import eme.generator.saving.MetamodelFingerprint;
+import eme.generator.saving.OutputFormat;
+import eme.model.IntermediateModel;
+import eme.model.synthetic.SyntheticSourceWriter;
+import eme.report.ExtractionReport;
+
+/**
+ * Headless regression harness for the extraction with a real Java model. Starts an {@link EmbeddedPlatform}, writes the
+ * {@link GoldenProject}s of a golden file as Java projects into a temporary workspace and extracts every project with
+ * the {@link JavaProjectExtractor} and the {@link EPackageGenerator} several times. Every run starts with a closed
+ * project, which means the Java model is built again. The harness fails if the fingerprint of an extracted metamodel
+ * differs from the golden fingerprint, or if the best run exceeds the extraction time, the sampled peak heap or the
+ * memory allocated by the extracting thread of the thresholds. The extraction report of the best run is written as JSON
+ * file, metamodels with a different fingerprint are saved as Ecore file next to it.
+ * <p>
+ * Usage: {@code ExtractionHarness [golden file] [--update]}, where "--update" writes the extracted fingerprints into the
+ * golden file instead of comparing them. The harness needs the bundle jars on the class path, which means it can not run
+ * from the shaded benchmarks jar.
+ * @author Timur Saglam
+ */
+public final class ExtractionHarness {
+    private static final int BYTES_PER_MEGABYTE = 1024 * 1024;
+    private static final String COMPLIANCE = JavaCore.VERSION_1_8;
+    private static final String DEFAULT_GOLDEN_FILE = "golden-projects.properties";
+    private static final int NANOS_PER_MILLI = 1000000;
+    private static final String SOURCE_FOLDER = "src";
+    private static final String UPDATE = "--update";
+
+    private ExtractionHarness() {
+        // private constructor.
+    }
+
+    /**
+     * Extracts all golden projects of a golden file and checks the fingerprints and thresholds.
+     * @param args are the optional path of the golden file and the optional update flag.
+     * @throws Exception if the platform or a project can not be set up.
+     * @throws IllegalStateException if a fingerprint differs or a threshold is exceeded.
+     */
+    public static void main(String[] args) throws Exception {
+        List<String> arguments = new ArrayList<String>(Arrays.asList(args));
+        boolean update = arguments.remove(UPDATE);
+        File goldenFile = new File(arguments.isEmpty() ? DEFAULT_GOLDEN_FILE : arguments.get(0));
+        Properties golden = GoldenProject.load(goldenFile);
+        int warmupRuns = Integer.parseInt(golden.getProperty("warmupRuns", "1").trim());
+        int runs = Integer.parseInt(golden.getProperty("runs", "3").trim());
+        if (runs < 1) {
+            throw new IllegalArgumentException("The golden file needs at least one measured run: " + goldenFile);
+        }
+        File folder = Files.createTempDirectory("eme-harness").toFile();
+        File reports = new File(folder, "reports");
+        reports.mkdirs();
+        LogManager.getRootLogger().setLevel(Level.FATAL); // the fingerprints cover the result, not every unresolved type
+        Map<String, String> fingerprints = new LinkedHashMap<String, String>();
+        List<String> failures = new ArrayList<String>();
+        try (EmbeddedPlatform platform = new EmbeddedPlatform(new File(folder, "workspace"), new File(folder, "configuration"))) {
+            System.out.println(String.format(Locale.ROOT, "%-12s %8s %12s %12s %16s  %s", "Project", "Types", "Time (ms)", "Peak (MB)", "Allocated (MB)", "Fingerprint"));
+            for (GoldenProject project : GoldenProject.createAll(golden)) {
+                IJavaProject javaProject = createProject(platform.getWorkspace(), project);
+                String firstFingerprint = null;
+                Result best = null;
+                for (int run = 0; run < warmupRuns + runs; run++) {
+                    Result result = extract(javaProject);
+                    if (firstFingerprint == null) {
+                        firstFingerprint = result.fingerprint;
+                    } else if (!firstFingerprint.equals(result.fingerprint)) {
+                        failures.add(project.getName() + ": the fingerprint of run " + run + " differs from the first run");
+                    }
+                    if (run >= warmupRuns && (best == null || result.time < best.time)) {
+                        best = result;
+                    }
+                }
+                fingerprints.put(project.getName(), best.fingerprint);
+                best.report.save(new File(reports, project.getName() + ".report.json").getPath());
+                check(project, best, update, reports, failures);
+                javaProject.getProject().delete(true, true, null);
+            }
+        }
+        if (update) {
+            GoldenProject.updateFingerprints(goldenFile, fingerprints);
+            System.out.println("Updated the fingerprints in " + goldenFile.getAbsolutePath());
+        }
+        System.out.println("Reports: " + reports.getAbsolutePath());
+        if (!failures.isEmpty()) {
+            failures.forEach(failure -> System.out.println("FAILED " + failure));
+            throw new IllegalStateException(failures.size() + " checks of the extraction harness failed.");
+        }
+    }
+
+    /**
+     * Returns the memory allocated by the current thread, or -1 if the JVM does not support it.
+     */
+    private static long allocatedBytes() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean && ((com.sun.management.ThreadMXBean) threads).isThreadAllocatedMemoryEnabled()) {
+            return ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+
+    /**
+     * Prints the result of a project and checks its fingerprint and thresholds.
+     */
+    private static void check(GoldenProject project, Result result, boolean update, File reports, List<String> failures) throws IOException {
+        long time = result.time / NANOS_PER_MILLI;
+        long peakHeap = result.report.getPeakHeap() / BYTES_PER_MEGABYTE;
+        long allocated = result.report.getCount("allocatedBytes") / BYTES_PER_MEGABYTE;
+        boolean equal = result.fingerprint.equals(project.getFingerprint());
+        System.out.println(String.format(Locale.ROOT, "%-12s %8d %12d %12d %16d  %s", project.getName(), project.getTypes(), time, peakHeap, allocated,
+                update || equal ? result.fingerprint : "DIFFERENT " + result.fingerprint));
+        if (!update && !equal) {
+            failures.add(project.getName() + ": the fingerprint is " + result.fingerprint + " instead of " + project.getFingerprint());
+            save(result.root, new File(reports, project.getName() + '.' + OutputFormat.XMI.getFileExtension()));
+        }
+        checkThreshold(project, "extraction time", time, project.getMaxTime(), "ms", failures);
+        checkThreshold(project, "sampled peak heap", peakHeap, project.getMaxPeakHeap(), "MB", failures);
+        checkThreshold(project, "allocated memory", allocated, project.getMaxAllocated(), "MB", failures);
+    }
+
+    /**
+     * Adds a failure if a measured value exceeds its threshold.
+     */
+    private static void checkThreshold(GoldenProject project, String name, long value, long threshold, String unit, List<String> failures) {
+        if (threshold > 0 && value > threshold) {
+            failures.add(project.getName() + ": the " + name + " of " + value + unit + " exceeds the threshold of " + threshold + unit);
+        }
+    }
+
+    /**
+     * Creates a Java project in the workspace and writes the sources of the synthetic model of a golden project into
+     * it. The class path contains the source folder and the runtime of the current JVM, the compliance is Java 8.
+     */
+    private static IJavaProject createProject(IWorkspace workspace, GoldenProject goldenProject) throws CoreException, IOException {
+        IProject project = workspace.getRoot().getProject(goldenProject.getName());
+        project.create(null);
+        project.open(null);
+        IProjectDescription description = project.getDescription();
+        description.setNatureIds(new String[] { JavaCore.NATURE_ID });
+        project.setDescription(description, null);
+        IFolder sources = project.getFolder(SOURCE_FOLDER);
+        sources.create(true, true, null);
+        new SyntheticSourceWriter().write(BenchmarkFixtures.createModel(goldenProject.getTypes()), sources.getLocation().toFile());
+        project.refreshLocal(IResource.DEPTH_INFINITE, null);
+        IJavaProject javaProject = JavaCore.create(project);
+        Map<String, String> options = javaProject.getOptions(false);
+        JavaCore.setComplianceOptions(COMPLIANCE, options); // the default compliance has no enums and generics
+        javaProject.setOptions(options);
+        IClasspathEntry runtime = JavaCore.newLibraryEntry(new Path(System.getProperty("java.home")).append("lib").append("jrt-fs.jar"), null, null);
+        IClasspathEntry[] classpath = { JavaCore.newSourceEntry(sources.getFullPath()), runtime };
+        javaProject.setRawClasspath(classpath, project.getFullPath().append("bin"), null);
+        return javaProject;
+    }
+
+    /**
+     * Extracts the metamodel of a Java project once. The project is closed and opened before, which means the Java
+     * model of the project is built again.
+     */
+    private static Result extract(IJavaProject javaProject) throws CoreException {
+        IProject project = javaProject.getProject();
+        project.close(null);
+        project.open(null);
+        System.gc(); // lower the baseline, all runs start with the same heap
+        ExtractionReport report = new ExtractionReport(project.getName());
+        long allocated = allocatedBytes();
+        long start = System.nanoTime();
+        IntermediateModel model = new JavaProjectExtractor().buildIntermediateModel(javaProject, report);
+        EPackage root = new EPackageGenerator(BenchmarkFixtures.createProperties()).generate(model, report);
+        long time = System.nanoTime() - start;
+        report.count("allocatedBytes", allocated < 0 ? -1 : allocatedBytes() - allocated);
+        report.finish();
+        return new Result(root, report, time, MetamodelFingerprint.compute(root, ""));
+    }
+
+    /**
+     * Saves a metamodel as Ecore file.
+     */
+    private static void save(EPackage root, File file) throws IOException {
+        ResourceSet resourceSet = new ResourceSetImpl();
+        resourceSet.getResourceFactoryRegistry().getExtensionToFactoryMap().put(OutputFormat.XMI.getFileExtension(), OutputFormat.XMI.createFactory());
+        Resource resource = resourceSet.createResource(URI.createFileURI(file.getAbsolutePath()));
+        resource.getContents().add(root);
+        resource.save(null);
+    }
+
+    /**
+     * Result of a single extraction run.
+     */
+    private static class Result {
+        private final String fingerprint;
+        private final ExtractionReport report;
+        private final EPackage root;
+        private final long time;
+
+        Result(EPackage root, ExtractionReport report, long time, String fingerprint) {
+            this.root = root;
+            this.report = report;
+            this.time = time;
+            this.fingerprint = fingerprint;
+        }
+    }
+}
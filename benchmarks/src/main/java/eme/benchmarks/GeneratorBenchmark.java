@@ -0,0 +1,56 @@
+package eme.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.emf.ecore.EPackage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import eme.generator.EPackageGenerator;
+import eme.model.IntermediateModel;
+
+/**
+ * Benchmarks the full generation of an Ecore metamodel with the {@link EPackageGenerator}, which includes the pruning,
+ * the generation of the classifiers and their completion.
+ * @author Timur Saglam
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class GeneratorBenchmark {
+    private EPackageGenerator generator;
+    private IntermediateModel model;
+    @Param({ "1000", "10000", "100000" })
+    private int types;
+
+    /**
+     * Creates the model and the generator with the default properties.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        model = BenchmarkFixtures.createModel(types);
+        generator = new EPackageGenerator(BenchmarkFixtures.createProperties());
+    }
+
+    /**
+     * Generates the metamodel.
+     * @return the root package of the metamodel.
+     */
+    @Benchmark
+    public EPackage generate() {
+        return generator.generate(model);
+    }
+}
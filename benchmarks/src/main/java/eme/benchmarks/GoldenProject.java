@@ -0,0 +1,171 @@
+package eme.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Golden project of the {@link ExtractionHarness}. A golden project is a Java project that is written from the
+ * synthetic model of the {@link BenchmarkFixtures} with a specific number of types. It has the fingerprint of the
+ * metamodel that has to be extracted from it and the thresholds of the extraction time, the sampled peak heap and the
+ * allocated memory. A threshold of 0 is not checked.
+ * <p>
+ * The golden projects are defined in a properties file: The key "projects" lists the names of the projects, the keys
+ * "runs" and "warmupRuns" define how often every project is extracted. All other keys start with the name of a project,
+ * e.g. "Small.types", "Small.fingerprint", "Small.maxTimeMs", "Small.maxPeakHeapMB" and "Small.maxAllocatedMB".
+ * @author Timur Saglam
+ */
+public class GoldenProject {
+    private static final String FINGERPRINT = ".fingerprint";
+    private final String fingerprint;
+    private final long maxAllocated;
+    private final long maxPeakHeap;
+    private final long maxTime;
+    private final String name;
+    private final int types;
+
+    /**
+     * Basic constructor.
+     * @param name is the name of the project.
+     * @param properties are the properties of the golden file.
+     */
+    public GoldenProject(String name, Properties properties) {
+        this.name = name;
+        types = Integer.parseInt(get(properties, "types", null));
+        fingerprint = get(properties, "fingerprint", "");
+        maxTime = Long.parseLong(get(properties, "maxTimeMs", "0"));
+        maxPeakHeap = Long.parseLong(get(properties, "maxPeakHeapMB", "0"));
+        maxAllocated = Long.parseLong(get(properties, "maxAllocatedMB", "0"));
+    }
+
+    /**
+     * Loads the properties of a golden file.
+     * @param file is the golden file.
+     * @return the properties.
+     * @throws IOException if the file can not be read.
+     */
+    public static Properties load(File file) throws IOException {
+        Properties properties = new Properties();
+        try (InputStream stream = Files.newInputStream(file.toPath())) {
+            properties.load(stream);
+        }
+        return properties;
+    }
+
+    /**
+     * Creates the golden projects of a golden file.
+     * @param properties are the properties of the golden file.
+     * @return the list of golden projects in the order of the file.
+     */
+    public static List<GoldenProject> createAll(Properties properties) {
+        List<GoldenProject> projects = new ArrayList<GoldenProject>();
+        for (String name : properties.getProperty("projects", "").split(",")) {
+            if (!name.trim().isEmpty()) {
+                projects.add(new GoldenProject(name.trim(), properties));
+            }
+        }
+        return projects;
+    }
+
+    /**
+     * Writes new fingerprints into a golden file. All other lines of the file are kept.
+     * @param file is the golden file.
+     * @param fingerprints maps the names of the projects to their new fingerprints.
+     * @throws IOException if the file can not be read or written.
+     */
+    public static void updateFingerprints(File file, Map<String, String> fingerprints) throws IOException {
+        List<String> lines = new ArrayList<String>(Files.readAllLines(file.toPath(), StandardCharsets.ISO_8859_1));
+        for (Map.Entry<String, String> entry : fingerprints.entrySet()) {
+            String line = entry.getKey() + FINGERPRINT + "=" + entry.getValue();
+            int index = indexOf(lines, entry.getKey() + FINGERPRINT);
+            if (index < 0) {
+                lines.add(line);
+            } else {
+                lines.set(index, line);
+            }
+        }
+        Files.write(file.toPath(), lines, StandardCharsets.ISO_8859_1); // encoding of properties files
+    }
+
+    /**
+     * Accessor for the fingerprint of the extracted metamodel.
+     * @return the fingerprint, which is empty if it is not known yet.
+     */
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * Accessor for the threshold of the memory allocated by the extraction.
+     * @return the threshold in megabytes, or 0 if it is not checked.
+     */
+    public long getMaxAllocated() {
+        return maxAllocated;
+    }
+
+    /**
+     * Accessor for the threshold of the sampled peak heap.
+     * @return the threshold in megabytes, or 0 if it is not checked.
+     */
+    public long getMaxPeakHeap() {
+        return maxPeakHeap;
+    }
+
+    /**
+     * Accessor for the threshold of the extraction time.
+     * @return the threshold in milliseconds, or 0 if it is not checked.
+     */
+    public long getMaxTime() {
+        return maxTime;
+    }
+
+    /**
+     * Accessor for the name of the project.
+     * @return the name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Accessor for the number of top level types of the synthetic model.
+     * @return the number of types.
+     */
+    public int getTypes() {
+        return types;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "(" + name + ", " + types + " types)";
+    }
+
+    /**
+     * Returns the value of a key of this project, or the default value if there is none.
+     */
+    private String get(Properties properties, String key, String defaultValue) {
+        String value = properties.getProperty(name + '.' + key, defaultValue);
+        if (value == null) {
+            throw new IllegalArgumentException("The golden project " + name + " has no value for " + key);
+        }
+        return value.trim();
+    }
+
+    /**
+     * Returns the index of the line that defines a key, or -1 if there is none.
+     */
+    private static int indexOf(List<String> lines, String key) {
+        for (int i = 0; i < lines.size(); i++) {
+            if (lines.get(i).startsWith(key + "=")) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,108 @@
+package eme.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import eme.model.ExtractedType;
+import eme.model.IntermediateModel;
+
+/**
+ * Benchmarks the construction of the {@link IntermediateModel}, the lookup of types by their full name and the sorting
+ * of the package tree.
+ * @author Timur Saglam
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ModelBenchmark {
+    private static final int LOOKUPS = 1000;
+    private List<String> names;
+    private IntermediateModel model;
+    @Param({ "1000", "10000", "100000" })
+    private int types;
+
+    /**
+     * Creates the model and picks the names of the looked up types, which are spread evenly over the model. Every
+     * tenth name does not exist.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        model = BenchmarkFixtures.createModel(types);
+        List<ExtractedType> allTypes = new ArrayList<ExtractedType>(model.getTypes());
+        names = new ArrayList<String>(LOOKUPS);
+        for (int i = 0; i < LOOKUPS; i++) {
+            String name = allTypes.get(i * allTypes.size() / LOOKUPS).getFullName();
+            names.add(i % 10 == 0 ? name + "Missing" : name);
+        }
+    }
+
+    /**
+     * Builds a new synthetic model, which adds every package and type to the model.
+     * @return the model.
+     */
+    @Benchmark
+    public IntermediateModel construct() {
+        return BenchmarkFixtures.createModel(types);
+    }
+
+    /**
+     * Looks up types by their full name.
+     * @param blackhole consumes the found types.
+     */
+    @Benchmark
+    public void lookup(Blackhole blackhole) {
+        for (String name : names) {
+            blackhole.consume(model.getType(name));
+        }
+    }
+
+    /**
+     * Sorts the package tree of an unsorted model. Every invocation needs a new model, so it is measured as single
+     * shot.
+     * @param unsorted is the unsorted model.
+     * @return the sorted model.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 10)
+    public IntermediateModel sort(UnsortedModel unsorted) {
+        unsorted.model.sort();
+        return unsorted.model;
+    }
+
+    /**
+     * Provides a new unsorted model for every invocation.
+     */
+    @State(Scope.Thread)
+    public static class UnsortedModel {
+        private IntermediateModel model;
+
+        /**
+         * Creates the model.
+         * @param benchmark is the benchmark state with the model size.
+         */
+        @Setup(Level.Invocation)
+        public void setUp(ModelBenchmark benchmark) {
+            model = BenchmarkFixtures.createModel(benchmark.types);
+        }
+    }
+}
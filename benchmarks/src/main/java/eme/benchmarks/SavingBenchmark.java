@@ -0,0 +1,108 @@
+package eme.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import eme.generator.EPackageGenerator;
+import eme.generator.saving.OutputFormat;
+import eme.generator.saving.SavingOptions;
+import eme.generator.saving.SplitResourceSaver;
+
+/**
+ * Benchmarks the serialization of a generated metamodel like the saving strategies do it, for every saving profile and
+ * output format, into a single resource or into split resources. The files are written to a temporary folder.
+ * @author Timur Saglam
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SavingBenchmark {
+    private static final String FILE_NAME = "metamodel";
+    private File folder;
+    @Param({ "XMI", "BINARY" })
+    private String format;
+    private OutputFormat outputFormat;
+    @Param({ "Default", "HighThroughput", "LowMemory", "Compressed" })
+    private String profile;
+    private Resource resource;
+    private Map<Object, Object> saveOptions;
+    private SavingOptions savingOptions;
+    @Param({ "1000", "10000" })
+    private int types;
+
+    /**
+     * Generates the metamodel and adds it to a resource in the temporary folder.
+     * @throws IOException if the temporary folder can not be created.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        EPackage root = new EPackageGenerator(BenchmarkFixtures.createProperties()).generate(BenchmarkFixtures.createModel(types));
+        folder = Files.createTempDirectory("eme-saving").toFile();
+        outputFormat = OutputFormat.valueOf(format);
+        savingOptions = SavingOptions.fromProfile(profile);
+        saveOptions = savingOptions.toMap();
+        ResourceSet resourceSet = new ResourceSetImpl();
+        resourceSet.getResourceFactoryRegistry().getExtensionToFactoryMap().put(outputFormat.getFileExtension(), outputFormat.createFactory());
+        String path = folder.getPath() + File.separator + FILE_NAME + '.' + outputFormat.getFileExtension();
+        resource = resourceSet.createResource(URI.createFileURI(path));
+        resource.getContents().add(root);
+    }
+
+    /**
+     * Saves the metamodel into a single resource.
+     * @throws IOException if the resource can not be saved.
+     */
+    @Benchmark
+    public void save() throws IOException {
+        resource.save(saveOptions);
+    }
+
+    /**
+     * Saves the metamodel into one resource per top-level package with the {@link SplitResourceSaver}.
+     * @return the paths of the saved files.
+     * @throws IOException if a resource can not be saved.
+     */
+    @Benchmark
+    public List<String> saveSplit() throws IOException {
+        return new SplitResourceSaver(outputFormat, savingOptions).save(resource, folder.getPath() + File.separator, FILE_NAME);
+    }
+
+    /**
+     * Deletes the temporary folder.
+     * @throws IOException if the folder can not be deleted.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<File> files = Files.walk(folder.toPath()).map(path -> path.toFile())) {
+            files.sorted(Comparator.reverseOrder()).forEach(File::delete);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package eme.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.util.Locale;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+
+import eme.generator.EPackageGenerator;
+import eme.generator.saving.OutputFormat;
+import eme.generator.saving.SavingOptions;
+import eme.report.ExtractionPhase;
+import eme.report.ExtractionReport;
+
+/**
+ * Measures the save time and the peak heap usage of every saving profile for a large generated metamodel. Every
+ * profile saves the same metamodel and is measured with its own {@link ExtractionReport}, which is written as JSON file
+ * next to the saved metamodel. The heap usage before saving is measured after a garbage collection and is reported as
+ * counter, which means the peak heap usage can be compared to it. The first profile is saved once before the
+ * measurements to warm up the serialization code.
+ * <p>
+ * Usage: {@code java -cp benchmarks.jar eme.benchmarks.SavingProfileReport [types] [output folder]}
+ * @author Timur Saglam
+ */
+public final class SavingProfileReport {
+    private static final int BYTES_PER_MEGABYTE = 1024 * 1024;
+    private static final int DEFAULT_TYPES = 10000;
+    private static final int NANOS_PER_MILLI = 1000000;
+    private static final String[] PROFILES = { "Default", "HighThroughput", "LowMemory", "Compressed" };
+
+    private SavingProfileReport() {
+        // private constructor.
+    }
+
+    /**
+     * Generates the metamodel and saves it with every saving profile.
+     * @param args are the optional number of types and the optional output folder.
+     * @throws IOException if a metamodel or a report can not be saved.
+     */
+    public static void main(String[] args) throws IOException {
+        int types = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_TYPES;
+        File folder = args.length > 1 ? new File(args[1]) : Files.createTempDirectory("eme-profiles").toFile();
+        folder.mkdirs();
+        EPackage root = new EPackageGenerator(BenchmarkFixtures.createProperties()).generate(BenchmarkFixtures.createModel(types));
+        save(root, PROFILES[0], folder); // warm up, otherwise the first profile is measured with cold code
+        System.out.println(String.format(Locale.ROOT, "%-16s %12s %16s %16s %12s", "Profile", "Time (ms)", "Baseline (MB)", "Peak (MB)", "File (KB)"));
+        for (String profile : PROFILES) {
+            ExtractionReport report = save(root, profile, folder);
+            System.out.println(String.format(Locale.ROOT, "%-16s %12d %16d %16d %12d", profile, report.getWallTime(ExtractionPhase.SAVING) / NANOS_PER_MILLI,
+                    report.getCount("baselineHeapBytes") / BYTES_PER_MEGABYTE, report.getPeakHeap() / BYTES_PER_MEGABYTE, report.getCount("fileBytes") / 1024));
+        }
+        System.out.println("Reports and metamodels: " + folder.getAbsolutePath());
+    }
+
+    /**
+     * Saves the metamodel with a saving profile and measures it.
+     */
+    private static ExtractionReport save(EPackage root, String profile, File folder) throws IOException {
+        File file = new File(folder, profile + '.' + OutputFormat.XMI.getFileExtension());
+        ResourceSet resourceSet = new ResourceSetImpl();
+        resourceSet.getResourceFactoryRegistry().getExtensionToFactoryMap().put(OutputFormat.XMI.getFileExtension(), OutputFormat.XMI.createFactory());
+        Resource resource = resourceSet.createResource(URI.createFileURI(file.getAbsolutePath()));
+        resource.getContents().add(root);
+        System.gc(); // lower the baseline, all profiles start with the same heap
+        ExtractionReport report = new ExtractionReport(profile);
+        report.count("baselineHeapBytes", ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed());
+        report.start(ExtractionPhase.SAVING);
+        resource.save(SavingOptions.fromProfile(profile).toMap());
+        report.stop(ExtractionPhase.SAVING);
+        report.count("fileBytes", file.length());
+        report.finish();
+        report.save(new File(folder, profile + ".json").getPath());
+        resource.getContents().clear(); // the next profile saves the same metamodel
+        return report;
+    }
+}
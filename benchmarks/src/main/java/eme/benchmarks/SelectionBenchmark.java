@@ -0,0 +1,97 @@
+package eme.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import eme.generator.PrunedModel;
+import eme.generator.SelectionHelper;
+import eme.model.ExtractedMethod;
+import eme.model.ExtractedPackage;
+import eme.model.ExtractedType;
+import eme.model.IntermediateModel;
+import eme.model.ModelVisitor;
+import eme.model.datatypes.ExtractedField;
+
+/**
+ * Benchmarks the filtering of the {@link SelectionHelper}, once for every single element and once as
+ * {@link PrunedModel}, which is how the generator filters the model.
+ * @author Timur Saglam
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SelectionBenchmark {
+    private IntermediateModel model;
+    private SelectionHelper selector;
+    @Param({ "1000", "10000", "100000" })
+    private int types;
+
+    /**
+     * Creates the model and the selection helper with the default properties.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        model = BenchmarkFixtures.createModel(types);
+        selector = new SelectionHelper(BenchmarkFixtures.createProperties());
+    }
+
+    /**
+     * Asks the selection helper for every package, type, method and field of the model.
+     * @return the number of allowed elements.
+     */
+    @Benchmark
+    public int filter() {
+        int[] allowed = new int[1];
+        model.accept(new ModelVisitor() {
+            @Override
+            public boolean visit(ExtractedPackage extractedPackage) {
+                if (selector.allowsGenerating(extractedPackage)) {
+                    allowed[0]++;
+                }
+                return true;
+            }
+
+            @Override
+            public void visit(ExtractedType type) {
+                if (selector.allowsGenerating(type)) {
+                    allowed[0]++;
+                }
+                for (ExtractedMethod method : type.getMethods()) {
+                    if (selector.allowsGenerating(method)) {
+                        allowed[0]++;
+                    }
+                }
+                for (ExtractedField field : type.getFields()) {
+                    if (selector.allowsGenerating(field)) {
+                        allowed[0]++;
+                    }
+                }
+            }
+        });
+        return allowed[0];
+    }
+
+    /**
+     * Prunes the model with the selection helper.
+     * @return the pruned model.
+     */
+    @Benchmark
+    public PrunedModel prune() {
+        return PrunedModel.prune(model, selector);
+    }
+}
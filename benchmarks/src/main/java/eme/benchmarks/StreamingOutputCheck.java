@@ -0,0 +1,132 @@
+package eme.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import javax.xml.stream.XMLStreamException;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+
+import eme.generator.EPackageGenerator;
+import eme.generator.StreamingEcoreWriter;
+import eme.generator.saving.OutputFormat;
+import eme.properties.ExtractionProperties;
+
+/**
+ * Checks that the {@link StreamingEcoreWriter} writes the same metamodel as the {@link EPackageGenerator} and the XMI
+ * saving for synthetic models. The streamed file is loaded and saved again with EMF, which means both files are
+ * compared in the same serialization and only differences in the content are reported. The check fails with an
+ * {@link IllegalStateException} if any metamodel differs, it runs in the verify phase of the module build.
+ * <p>
+ * Usage: {@code java -cp benchmarks.jar eme.benchmarks.StreamingOutputCheck [types...]}
+ * @author Timur Saglam
+ */
+public final class StreamingOutputCheck {
+    private static final String DATA_TYPE = "xsi:type=\"ecore:EDataType\"";
+    private static final int[] DEFAULT_TYPES = { 20, 200, 1000 };
+    private static final int MAXIMAL_LINES = 20;
+
+    private StreamingOutputCheck() {
+        // private constructor.
+    }
+
+    /**
+     * Writes the metamodels of synthetic models of the given sizes in both ways and compares them.
+     * @param args are the optional numbers of types.
+     * @throws IOException if a metamodel can not be saved or loaded.
+     * @throws XMLStreamException if a metamodel can not be streamed.
+     * @throws IllegalStateException if a streamed metamodel differs.
+     */
+    public static void main(String[] args) throws IOException, XMLStreamException {
+        int[] sizes = args.length > 0 ? Arrays.stream(args).mapToInt(Integer::parseInt).toArray() : DEFAULT_TYPES;
+        boolean equal = true;
+        for (int types : sizes) {
+            equal &= check(types);
+        }
+        if (!equal) {
+            throw new IllegalStateException("The streamed metamodels differ from the generated metamodels.");
+        }
+    }
+
+    /**
+     * Compares the metamodels of a synthetic model with the given number of types and prints the differences.
+     * @return true if the metamodels are equal.
+     */
+    private static boolean check(int types) throws IOException, XMLStreamException {
+        ExtractionProperties properties = BenchmarkFixtures.createProperties();
+        List<String> generated = save(new EPackageGenerator(properties).generate(BenchmarkFixtures.createModel(types)));
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        new StreamingEcoreWriter(properties).write(BenchmarkFixtures.createModel(types), stream);
+        List<String> streamed = save(load(stream.toByteArray()));
+        if (generated.equals(streamed)) {
+            System.out.println(types + " types: equal (" + generated.size() + " lines, " + count(generated) + " data types)");
+            return true;
+        }
+        System.out.println(types + " types: different (" + count(generated) + " generated and " + count(streamed) + " streamed data types)");
+        Map<String, Integer> difference = new TreeMap<String, Integer>(); // positive: only generated, negative: only streamed
+        generated.forEach(line -> difference.merge(line, 1, Integer::sum));
+        streamed.forEach(line -> difference.merge(line, -1, Integer::sum));
+        difference.values().removeIf(value -> value == 0);
+        if (difference.isEmpty()) {
+            System.out.println("  same lines in a different order");
+        }
+        print("  only generated: ", difference, 1);
+        print("  only streamed:  ", difference, -1);
+        return false;
+    }
+
+    /**
+     * Counts the data types of a saved metamodel.
+     */
+    private static long count(List<String> lines) {
+        return lines.stream().filter(line -> line.contains(DATA_TYPE)).count();
+    }
+
+    /**
+     * Creates an XMI resource in its own resource set.
+     */
+    private static Resource createResource() {
+        ResourceSet resourceSet = new ResourceSetImpl();
+        resourceSet.getResourceFactoryRegistry().getExtensionToFactoryMap().put(OutputFormat.XMI.getFileExtension(), OutputFormat.XMI.createFactory());
+        return resourceSet.createResource(URI.createURI("metamodel." + OutputFormat.XMI.getFileExtension()));
+    }
+
+    /**
+     * Loads a metamodel from XMI content.
+     */
+    private static EPackage load(byte[] content) throws IOException {
+        Resource resource = createResource();
+        resource.load(new ByteArrayInputStream(content), Collections.emptyMap());
+        return (EPackage) resource.getContents().get(0);
+    }
+
+    /**
+     * Prints the lines of the difference with the given sign, at most {@link #MAXIMAL_LINES}.
+     */
+    private static void print(String prefix, Map<String, Integer> difference, int sign) {
+        difference.entrySet().stream().filter(entry -> Integer.signum(entry.getValue()) == sign).limit(MAXIMAL_LINES)
+                .forEach(entry -> System.out.println(prefix + Math.abs(entry.getValue()) + "x " + entry.getKey().trim()));
+    }
+
+    /**
+     * Saves a metamodel as XMI and returns the lines.
+     */
+    private static List<String> save(EPackage root) throws IOException {
+        Resource resource = createResource();
+        resource.getContents().add(root);
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        resource.save(stream, Collections.emptyMap());
+        return Arrays.asList(new String(stream.toByteArray(), StandardCharsets.UTF_8).split("\\R"));
+    }
+}
@@ -0,0 +1,607 @@
+package eme.model.synthetic;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import eme.model.ExtractedClass;
+import eme.model.ExtractedEnum;
+import eme.model.ExtractedEnumConstant;
+import eme.model.ExtractedInterface;
+import eme.model.ExtractedMethod;
+import eme.model.ExtractedPackage;
+import eme.model.ExtractedType;
+import eme.model.IntermediateModel;
+import eme.model.datatypes.AccessLevelModifier;
+import eme.model.datatypes.ExtractedDataType;
+import eme.model.datatypes.ExtractedField;
+import eme.model.datatypes.ExtractedParameter;
+import eme.model.datatypes.ExtractedTypeParameter;
+import eme.model.datatypes.WildcardStatus;
+
+/**
+ * Generates synthetic {@link IntermediateModel}s of configurable size and shape, which can be used to stress the
+ * generator and the saving strategies with models that are larger than real projects. The generation is deterministic:
+ * The same seed and the same settings always result in the same model. The generated models are valid Java, which
+ * means they can be written as Java sources with the {@link SyntheticSourceWriter} to stress the extractor with the same
+ * shape.
+ * <p>
+ * The model contains packages with a configurable nesting depth, classes, interfaces, enumerations and inner types,
+ * inheritance chains, generic types with bounds, fields and methods whose types are basic types, model types, external
+ * types with generic arguments and wild cards, lists and type parameters. Like the extractor, all referenced types that
+ * are not part of the model are added as external types.
+ * @author Timur Saglam
+ */
+public class SyntheticModelGenerator {
+    private static final String[] BASIC_TYPES = { "int", "long", "double", "boolean", "java.lang.String", "java.lang.Integer" };
+    private static final String EXCEPTION = "java.io.IOException";
+    private static final Map<String, String[]> EXTERNAL_TYPES = createExternalTypes();
+    private static final String LIST = "java.util.List";
+    private static final String OBJECT = "java.lang.Object";
+    private static final int RANDOM_EXTERNAL_TYPES = 12; // the first external types are picked randomly
+    private double abstractRatio;
+    private final Map<String, Integer> depths; // inheritance depths of the classes
+    private int enumConstants;
+    private double enumRatio;
+    private double exceptionRatio;
+    private int externalTypes;
+    private int fieldsPerType;
+    private double genericRatio;
+    private double innerTypeRatio;
+    private double interfaceRatio;
+    private final List<ExtractedInterface> interfaces;
+    private double listRatio;
+    private int maxInheritanceDepth;
+    private int maxPackageDepth;
+    private int maxParameters;
+    private int methodsPerType;
+    private IntermediateModel model;
+    private int packages;
+    private Random random;
+    private final Map<String, ExtractedDataType> sampleArguments; // valid arguments of type parameters
+    private long seed;
+    private final List<ExtractedType> types;
+    private int typesPerPackage;
+    private final Set<String> usedTypes;
+    private double wildcardRatio;
+
+    /**
+     * Basic constructor, sets the default settings, which result in a small model with 10 packages and 200 types.
+     * @param seed is the seed of the generation.
+     */
+    public SyntheticModelGenerator(long seed) {
+        this.seed = seed;
+        depths = new LinkedHashMap<String, Integer>();
+        interfaces = new ArrayList<ExtractedInterface>();
+        sampleArguments = new LinkedHashMap<String, ExtractedDataType>();
+        types = new ArrayList<ExtractedType>();
+        usedTypes = new LinkedHashSet<String>();
+        packages = 10;
+        maxPackageDepth = 3;
+        typesPerPackage = 20;
+        interfaceRatio = 0.2;
+        enumRatio = 0.1;
+        abstractRatio = 0.2;
+        innerTypeRatio = 0.1;
+        genericRatio = 0.2;
+        fieldsPerType = 5;
+        methodsPerType = 5;
+        maxParameters = 3;
+        listRatio = 0.2;
+        wildcardRatio = 0.3;
+        externalTypes = RANDOM_EXTERNAL_TYPES;
+        maxInheritanceDepth = 4;
+        exceptionRatio = 0.1;
+        enumConstants = 4;
+    }
+
+    /**
+     * Generates a new synthetic {@link IntermediateModel} with the current settings.
+     * @param projectName is the project name of the model.
+     * @return the generated model.
+     */
+    public IntermediateModel generate(String projectName) {
+        random = new Random(seed);
+        model = new IntermediateModel(projectName);
+        depths.clear();
+        interfaces.clear();
+        sampleArguments.clear();
+        types.clear();
+        usedTypes.clear();
+        List<ExtractedPackage> packageList = generatePackages();
+        for (ExtractedPackage extractedPackage : packageList) { // first all types, so members can use every type
+            for (int i = 0; i < typesPerPackage; i++) {
+                generateType(extractedPackage);
+            }
+        }
+        for (ExtractedType type : types) {
+            generateMembers(type);
+        }
+        addExternalTypes();
+        return model;
+    }
+
+    /**
+     * Mutator for the ratio of abstract classes. Classes that implement interfaces are always abstract.
+     * @param abstractRatio is the ratio between 0 and 1.
+     */
+    public void setAbstractRatio(double abstractRatio) {
+        this.abstractRatio = abstractRatio;
+    }
+
+    /**
+     * Mutator for the number of constants of every enumeration.
+     * @param enumConstants is the number of constants.
+     */
+    public void setEnumConstants(int enumConstants) {
+        this.enumConstants = enumConstants;
+    }
+
+    /**
+     * Mutator for the ratio of enumerations.
+     * @param enumRatio is the ratio between 0 and 1.
+     */
+    public void setEnumRatio(double enumRatio) {
+        this.enumRatio = enumRatio;
+    }
+
+    /**
+     * Mutator for the ratio of methods with a throws declaration.
+     * @param exceptionRatio is the ratio between 0 and 1.
+     */
+    public void setExceptionRatio(double exceptionRatio) {
+        this.exceptionRatio = exceptionRatio;
+    }
+
+    /**
+     * Mutator for the number of different external types which are randomly used as data types, in addition to the
+     * external types which are always used (e.g. lists and strings). The number is limited to 12.
+     * @param externalTypes is the number of external types.
+     */
+    public void setExternalTypes(int externalTypes) {
+        this.externalTypes = Math.min(externalTypes, RANDOM_EXTERNAL_TYPES);
+    }
+
+    /**
+     * Mutator for the number of fields of every class.
+     * @param fieldsPerType is the number of fields.
+     */
+    public void setFieldsPerType(int fieldsPerType) {
+        this.fieldsPerType = fieldsPerType;
+    }
+
+    /**
+     * Mutator for the ratio of generic types and methods.
+     * @param genericRatio is the ratio between 0 and 1.
+     */
+    public void setGenericRatio(double genericRatio) {
+        this.genericRatio = genericRatio;
+    }
+
+    /**
+     * Mutator for the ratio of classes and interfaces that contain an inner type.
+     * @param innerTypeRatio is the ratio between 0 and 1.
+     */
+    public void setInnerTypeRatio(double innerTypeRatio) {
+        this.innerTypeRatio = innerTypeRatio;
+    }
+
+    /**
+     * Mutator for the ratio of interfaces.
+     * @param interfaceRatio is the ratio between 0 and 1.
+     */
+    public void setInterfaceRatio(double interfaceRatio) {
+        this.interfaceRatio = interfaceRatio;
+    }
+
+    /**
+     * Mutator for the ratio of data types which are lists, which are represented through multiplicities.
+     * @param listRatio is the ratio between 0 and 1.
+     */
+    public void setListRatio(double listRatio) {
+        this.listRatio = listRatio;
+    }
+
+    /**
+     * Mutator for the maximal length of inheritance chains of classes.
+     * @param maxInheritanceDepth is the maximal length.
+     */
+    public void setMaxInheritanceDepth(int maxInheritanceDepth) {
+        this.maxInheritanceDepth = maxInheritanceDepth;
+    }
+
+    /**
+     * Mutator for the maximal nesting depth of the packages.
+     * @param maxPackageDepth is the maximal depth, at least 1.
+     */
+    public void setMaxPackageDepth(int maxPackageDepth) {
+        this.maxPackageDepth = Math.max(1, maxPackageDepth);
+    }
+
+    /**
+     * Mutator for the maximal number of parameters of the methods.
+     * @param maxParameters is the maximal number.
+     */
+    public void setMaxParameters(int maxParameters) {
+        this.maxParameters = maxParameters;
+    }
+
+    /**
+     * Mutator for the number of methods of every class and interface.
+     * @param methodsPerType is the number of methods.
+     */
+    public void setMethodsPerType(int methodsPerType) {
+        this.methodsPerType = methodsPerType;
+    }
+
+    /**
+     * Mutator for the number of packages, without the default package.
+     * @param packages is the number of packages.
+     */
+    public void setPackages(int packages) {
+        this.packages = packages;
+    }
+
+    /**
+     * Mutator for the seed of the generation.
+     * @param seed is the new seed.
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Mutator for the number of top-level types per package. The total number of types is this number times the
+     * number of packages plus the inner types.
+     * @param typesPerPackage is the number of types.
+     */
+    public void setTypesPerPackage(int typesPerPackage) {
+        this.typesPerPackage = typesPerPackage;
+    }
+
+    /**
+     * Mutator for the ratio of generic arguments of external types which are wild cards.
+     * @param wildcardRatio is the ratio between 0 and 1.
+     */
+    public void setWildcardRatio(double wildcardRatio) {
+        this.wildcardRatio = wildcardRatio;
+    }
+
+    /**
+     * Adds all referenced types which are not part of the model as external types, like the extractor does.
+     */
+    private void addExternalTypes() {
+        for (String name : usedTypes) {
+            String[] externalType = EXTERNAL_TYPES.get(name);
+            if (externalType != null) {
+                boolean isInterface = Boolean.parseBoolean(externalType[0]);
+                ExtractedType type = isInterface ? new ExtractedInterface(name) : new ExtractedClass(name, false, EXCEPTION.equals(name));
+                List<ExtractedTypeParameter> typeParameters = new ArrayList<ExtractedTypeParameter>();
+                for (String identifier : Arrays.copyOfRange(externalType, 1, externalType.length)) {
+                    typeParameters.add(new ExtractedTypeParameter(identifier));
+                }
+                type.setTypeParameters(typeParameters);
+                model.addExternal(type);
+            }
+        }
+    }
+
+    /**
+     * Checks a random value against a ratio.
+     */
+    private boolean chance(double ratio) {
+        return random.nextDouble() < ratio;
+    }
+
+    /**
+     * Creates a data type and remembers it as used type.
+     */
+    private ExtractedDataType createDataType(String fullName, int arrayDimension) {
+        usedTypes.add(fullName);
+        return new ExtractedDataType(fullName, arrayDimension);
+    }
+
+    /**
+     * Creates a reference to a type of the model, which uses valid generic arguments if the type is generic.
+     */
+    private ExtractedDataType createReference(ExtractedType type) {
+        ExtractedDataType reference = new ExtractedDataType(type.getFullName(), 0);
+        List<ExtractedDataType> arguments = new ArrayList<ExtractedDataType>();
+        for (ExtractedTypeParameter typeParameter : type.getTypeParameters()) {
+            arguments.add(sampleArgument(type, typeParameter));
+        }
+        reference.setGenericArguments(arguments);
+        return reference;
+    }
+
+    /**
+     * Creates the type parameters of a type or a method. A type parameter is either unbounded or bounded by an
+     * interface of the model.
+     */
+    private List<ExtractedTypeParameter> createTypeParameters(String owner, String... identifiers) {
+        List<ExtractedTypeParameter> typeParameters = new ArrayList<ExtractedTypeParameter>();
+        for (String identifier : identifiers) {
+            ExtractedTypeParameter typeParameter = new ExtractedTypeParameter(identifier);
+            ExtractedDataType sample = createDataType("java.lang.String", 0);
+            if (!interfaces.isEmpty() && chance(0.5)) { // bounded type parameter
+                ExtractedInterface bound = pick(interfaces);
+                if (bound.getTypeParameters().isEmpty()) {
+                    typeParameter.add(new ExtractedDataType(bound.getFullName(), 0));
+                    sample = new ExtractedDataType(bound.getFullName(), 0);
+                }
+            }
+            sampleArguments.put(owner + '#' + identifier, sample);
+            typeParameters.add(typeParameter);
+        }
+        return typeParameters;
+    }
+
+    /**
+     * Creates a random data type for a field, a parameter or a return type.
+     */
+    private ExtractedDataType createVariableType(List<ExtractedTypeParameter> typeParameters) {
+        int kind = random.nextInt(10);
+        if (kind < 3) { // basic type
+            return createDataType(pick(BASIC_TYPES), 0);
+        } else if (kind == 3) { // array
+            return createDataType(pick(BASIC_TYPES), 1);
+        } else if (kind == 4 && !typeParameters.isEmpty()) { // type parameter
+            return new ExtractedDataType(pick(typeParameters).getIdentifier(), 0);
+        } else if (chance(listRatio)) { // list
+            ExtractedDataType list = createDataType(LIST, 0);
+            list.setGenericArguments(new ArrayList<ExtractedDataType>(Arrays.asList(createElementType())));
+            return list;
+        } else if (kind < 7 && externalTypes > 0) { // external type
+            return createExternalType();
+        }
+        return createReference(pick(types)); // model type
+    }
+
+    /**
+     * Creates a random data type which can be used as generic argument.
+     */
+    private ExtractedDataType createElementType() {
+        if (chance(0.3)) {
+            return createDataType("java.lang.String", 0);
+        }
+        return createReference(pick(types));
+    }
+
+    /**
+     * Creates a reference to an external type, whose generic arguments can be wild cards.
+     */
+    private ExtractedDataType createExternalType() {
+        List<String> names = new ArrayList<String>(EXTERNAL_TYPES.keySet()).subList(0, externalTypes);
+        String name = pick(names);
+        ExtractedDataType dataType = createDataType(name, 0);
+        List<ExtractedDataType> arguments = new ArrayList<ExtractedDataType>();
+        for (int i = 1; i < EXTERNAL_TYPES.get(name).length; i++) {
+            ExtractedDataType argument;
+            if (chance(wildcardRatio)) {
+                int kind = random.nextInt(3);
+                argument = kind == 0 ? createDataType(OBJECT, 0) : createElementType();
+                argument.setWildcardStatus(kind == 0 ? WildcardStatus.UNBOUND : kind == 1 ? WildcardStatus.UPPER_BOUND : WildcardStatus.LOWER_BOUND);
+            } else {
+                argument = createElementType();
+            }
+            arguments.add(argument);
+        }
+        dataType.setGenericArguments(arguments);
+        return dataType;
+    }
+
+    /**
+     * Generates the fields of a class.
+     */
+    private void generateFields(ExtractedType type) {
+        for (int i = 0; i < fieldsPerType; i++) {
+            ExtractedDataType dataType = createVariableType(type.getTypeParameters());
+            ExtractedField field = new ExtractedField("field" + i, dataType.getFullArrayType(), dataType.getArrayDimension());
+            field.setGenericArguments(dataType.getGenericArguments());
+            field.setModifier(chance(0.5) ? AccessLevelModifier.PRIVATE : AccessLevelModifier.PROTECTED);
+            field.setFinal(chance(0.2));
+            type.addField(field);
+        }
+    }
+
+    /**
+     * Generates the members of a type.
+     */
+    private void generateMembers(ExtractedType type) {
+        if (type instanceof ExtractedEnum) {
+            for (int i = 0; i < enumConstants; i++) {
+                ((ExtractedEnum) type).addConstant(new ExtractedEnumConstant("CONSTANT_" + i));
+            }
+        } else {
+            if (type instanceof ExtractedClass) {
+                generateFields(type);
+            }
+            generateMethods(type);
+        }
+    }
+
+    /**
+     * Generates the methods of a class or an interface. The method names are unique in the whole model, which avoids
+     * conflicts with inherited methods.
+     */
+    private void generateMethods(ExtractedType type) {
+        String prefix = "operation" + types.indexOf(type) + '_';
+        for (int i = 0; i < methodsPerType; i++) {
+            List<ExtractedTypeParameter> typeParameters = new ArrayList<ExtractedTypeParameter>(type.getTypeParameters());
+            List<ExtractedTypeParameter> methodParameters = new ArrayList<ExtractedTypeParameter>();
+            if (chance(genericRatio)) { // generic method
+                methodParameters = createTypeParameters(type.getFullName() + '.' + prefix + i, "M");
+                typeParameters.addAll(methodParameters);
+            }
+            ExtractedDataType returnType = chance(0.3) ? null : createVariableType(typeParameters);
+            ExtractedMethod method = new ExtractedMethod(type.getFullName() + '.' + prefix + i, returnType);
+            method.setTypeParameters(methodParameters);
+            method.setModifier(AccessLevelModifier.PUBLIC);
+            method.setAbstract(type instanceof ExtractedInterface);
+            int parameters = random.nextInt(maxParameters + 1);
+            for (int j = 0; j < parameters; j++) {
+                ExtractedDataType dataType = createVariableType(typeParameters);
+                ExtractedParameter parameter = new ExtractedParameter("parameter" + j, dataType.getFullArrayType(), dataType.getArrayDimension());
+                parameter.setGenericArguments(dataType.getGenericArguments());
+                method.addParameter(parameter);
+            }
+            if (chance(exceptionRatio)) {
+                method.addThrowsDeclaration(createDataType(EXCEPTION, 0));
+            }
+            type.addMethod(method);
+        }
+    }
+
+    /**
+     * Generates the packages as random tree below the default package.
+     */
+    private List<ExtractedPackage> generatePackages() {
+        ExtractedPackage root = new ExtractedPackage(""); // default package
+        model.add(root);
+        List<ExtractedPackage> packageList = new ArrayList<ExtractedPackage>();
+        Map<ExtractedPackage, Integer> packageDepths = new LinkedHashMap<ExtractedPackage, Integer>();
+        packageDepths.put(root, 0);
+        for (int i = 0; i < packages; i++) {
+            ExtractedPackage parent;
+            do { // find parent with a valid depth
+                parent = i == 0 ? root : pick(packageList);
+            } while (packageDepths.get(parent) >= maxPackageDepth && chance(0.9));
+            if (packageDepths.get(parent) >= maxPackageDepth) {
+                parent = root;
+            }
+            String name = parent.isRoot() ? "package" + i : parent.getFullName() + ".package" + i;
+            ExtractedPackage extractedPackage = new ExtractedPackage(name);
+            model.add(extractedPackage);
+            packageList.add(extractedPackage);
+            packageDepths.put(extractedPackage, packageDepths.get(parent) + 1);
+        }
+        return packageList;
+    }
+
+    /**
+     * Generates a type and its inner type with type parameters and super types, but without members.
+     */
+    private void generateType(ExtractedPackage extractedPackage) {
+        String name = extractedPackage.getFullName() + ".Type" + types.size();
+        double kind = random.nextDouble();
+        ExtractedType type;
+        if (kind < enumRatio) {
+            type = new ExtractedEnum(name);
+        } else if (kind < enumRatio + interfaceRatio) {
+            type = generateInterface(name);
+        } else {
+            type = generateClass(name);
+        }
+        model.addTo(type, extractedPackage);
+        types.add(type);
+        if (!(type instanceof ExtractedEnum) && chance(innerTypeRatio)) {
+            String innerName = name + ".Inner" + types.size();
+            ExtractedType innerType = chance(0.5) ? new ExtractedEnum(innerName) : new ExtractedClass(innerName, false, false);
+            innerType.setOuterType(name);
+            model.addTo(innerType, extractedPackage);
+            types.add(innerType);
+        }
+    }
+
+    /**
+     * Generates a class with an optional super class from the model and optional interfaces.
+     */
+    private ExtractedClass generateClass(String name) {
+        Set<ExtractedInterface> superInterfaces = new LinkedHashSet<ExtractedInterface>();
+        int count = interfaces.isEmpty() ? 0 : random.nextInt(3);
+        for (int i = 0; i < count; i++) {
+            superInterfaces.add(pick(interfaces)); // every interface only once
+        }
+        ExtractedClass superClass = null;
+        List<String> candidates = new ArrayList<String>();
+        for (String candidate : depths.keySet()) {
+            if (depths.get(candidate) < maxInheritanceDepth) {
+                candidates.add(candidate);
+            }
+        }
+        if (!candidates.isEmpty() && chance(0.5)) {
+            superClass = (ExtractedClass) model.getType(pick(candidates));
+        }
+        boolean isAbstract = !superInterfaces.isEmpty() || (superClass != null && superClass.isAbstract()) || chance(abstractRatio);
+        ExtractedClass extractedClass = new ExtractedClass(name, isAbstract, false);
+        if (chance(genericRatio)) {
+            extractedClass.setTypeParameters(random.nextBoolean() ? createTypeParameters(name, "T") : createTypeParameters(name, "T", "U"));
+        }
+        if (superClass != null) {
+            extractedClass.setSuperClass(createReference(superClass));
+        }
+        for (ExtractedInterface superInterface : superInterfaces) {
+            extractedClass.addInterface(createReference(superInterface));
+        }
+        depths.put(name, superClass == null ? 1 : depths.get(superClass.getFullName()) + 1);
+        return extractedClass;
+    }
+
+    /**
+     * Generates an interface, which optionally extends other interfaces of the model.
+     */
+    private ExtractedInterface generateInterface(String name) {
+        ExtractedInterface extractedInterface = new ExtractedInterface(name);
+        if (!interfaces.isEmpty() && chance(0.5)) {
+            extractedInterface.addInterface(createReference(pick(interfaces)));
+        }
+        if (chance(genericRatio)) {
+            extractedInterface.setTypeParameters(createTypeParameters(name, "T"));
+        }
+        interfaces.add(extractedInterface);
+        return extractedInterface;
+    }
+
+    /**
+     * Picks a random element of a list.
+     */
+    private <T> T pick(List<T> list) {
+        return list.get(random.nextInt(list.size()));
+    }
+
+    /**
+     * Picks a random element of an array.
+     */
+    private <T> T pick(T[] array) {
+        return array[random.nextInt(array.length)];
+    }
+
+    /**
+     * Returns a valid generic argument for a type parameter of a type.
+     */
+    private ExtractedDataType sampleArgument(ExtractedType type, ExtractedTypeParameter typeParameter) {
+        ExtractedDataType sample = sampleArguments.get(type.getFullName() + '#' + typeParameter.getIdentifier());
+        return new ExtractedDataType(sample.getFullType(), 0);
+    }
+
+    /**
+     * Creates the known external types. The first value of every entry specifies whether the type is an interface, the
+     * other values are the identifiers of the type parameters.
+     */
+    private static Map<String, String[]> createExternalTypes() {
+        Map<String, String[]> externalTypes = new LinkedHashMap<String, String[]>();
+        externalTypes.put("java.util.Map", new String[] { "true", "K", "V" });
+        externalTypes.put("java.util.Set", new String[] { "true", "E" });
+        externalTypes.put("java.util.Optional", new String[] { "false", "T" });
+        externalTypes.put("java.util.function.Function", new String[] { "true", "T", "R" });
+        externalTypes.put("java.util.concurrent.Future", new String[] { "true", "V" });
+        externalTypes.put("java.util.Collection", new String[] { "true", "E" });
+        externalTypes.put("java.util.Date", new String[] { "false" });
+        externalTypes.put("java.math.BigDecimal", new String[] { "false" });
+        externalTypes.put("java.io.File", new String[] { "false" });
+        externalTypes.put("java.util.UUID", new String[] { "false" });
+        externalTypes.put("java.net.URI", new String[] { "false" });
+        externalTypes.put("java.util.Locale", new String[] { "false" });
+        externalTypes.put(LIST, new String[] { "true", "E" }); // always used:
+        externalTypes.put("java.lang.String", new String[] { "false" });
+        externalTypes.put("java.lang.Integer", new String[] { "false" });
+        externalTypes.put(OBJECT, new String[] { "false" });
+        externalTypes.put(EXCEPTION, new String[] { "false" });
+        return externalTypes;
+    }
+}
@@ -0,0 +1,273 @@
+package eme.model.synthetic;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import eme.model.ExtractedClass;
+import eme.model.ExtractedEnum;
+import eme.model.ExtractedEnumConstant;
+import eme.model.ExtractedInterface;
+import eme.model.ExtractedMethod;
+import eme.model.ExtractedPackage;
+import eme.model.ExtractedType;
+import eme.model.IntermediateModel;
+import eme.model.datatypes.AccessLevelModifier;
+import eme.model.datatypes.ExtractedDataType;
+import eme.model.datatypes.ExtractedField;
+import eme.model.datatypes.ExtractedParameter;
+import eme.model.datatypes.ExtractedTypeParameter;
+
+/**
+ * Writes an {@link IntermediateModel} as Java sources, which is the reverse of the extraction. This allows to create
+ * Java projects with the same shape as a synthetic model of the {@link SyntheticModelGenerator}, which can be used to
+ * stress the extractor in a workspace. All types are referenced with their full names, which means the sources need no
+ * import declarations. Method bodies only return default values.
+ * @author Timur Saglam
+ */
+public class SyntheticSourceWriter {
+    private static final String INDENTATION = "    ";
+
+    /**
+     * Writes all types of an {@link IntermediateModel} as Java source files into a source folder. Inner types are
+     * written into the files of their outer types. Types of the default package are not written.
+     * @param model is the {@link IntermediateModel}.
+     * @param sourceFolder is the source folder, e.g. the "src" folder of a project.
+     * @return the number of written files.
+     * @throws IOException if a file could not be written.
+     */
+    public int write(IntermediateModel model, File sourceFolder) throws IOException {
+        return write(model.getRoot(), sourceFolder);
+    }
+
+    /**
+     * Writes the types of a package and its subpackages.
+     */
+    private int write(ExtractedPackage extractedPackage, File sourceFolder) throws IOException {
+        int files = 0;
+        if (!extractedPackage.isRoot()) {
+            File folder = new File(sourceFolder, extractedPackage.getFullName().replace('.', File.separatorChar));
+            Files.createDirectories(folder.toPath());
+            for (ExtractedType type : extractedPackage.getTypes()) {
+                if (!type.isInnerType()) {
+                    writeFile(type, extractedPackage, new File(folder, type.getName() + ".java"));
+                    files++;
+                }
+            }
+        }
+        for (ExtractedPackage subpackage : extractedPackage.getSubpackages()) {
+            files += write(subpackage, sourceFolder);
+        }
+        return files;
+    }
+
+    /**
+     * Appends a data type as Java type with all generic arguments and wild cards.
+     */
+    private void appendDataType(StringBuilder source, ExtractedDataType dataType) {
+        switch (dataType.getWildcardStatus()) {
+        case UNBOUND:
+            source.append('?');
+            return;
+        case UPPER_BOUND:
+            source.append("? extends ");
+            break;
+        case LOWER_BOUND:
+            source.append("? super ");
+            break;
+        default:
+            break;
+        }
+        source.append(dataType.getFullArrayType());
+        if (dataType.isGeneric()) {
+            source.append('<');
+            String separator = "";
+            for (ExtractedDataType argument : dataType.getGenericArguments()) {
+                source.append(separator);
+                appendDataType(source, argument);
+                separator = ", ";
+            }
+            source.append('>');
+        }
+        for (int i = 0; i < dataType.getArrayDimension(); i++) {
+            source.append("[]");
+        }
+    }
+
+    /**
+     * Appends a list of data types with a keyword, e.g. the super interfaces of a class.
+     */
+    private void appendDataTypes(StringBuilder source, String keyword, List<ExtractedDataType> dataTypes) {
+        String separator = keyword;
+        for (ExtractedDataType dataType : dataTypes) {
+            source.append(separator);
+            appendDataType(source, dataType);
+            separator = ", ";
+        }
+    }
+
+    /**
+     * Appends a field declaration. Final fields are initialized with a default value.
+     */
+    private void appendField(StringBuilder source, ExtractedField field, String indentation) {
+        source.append(indentation).append(modifier(field.getModifier()));
+        source.append(field.isStatic() ? "static " : "").append(field.isFinal() ? "final " : "");
+        appendDataType(source, field);
+        source.append(' ').append(field.getIdentifier());
+        if (field.isFinal()) {
+            source.append(" = ").append(defaultValue(field));
+        }
+        source.append(";\n");
+    }
+
+    /**
+     * Appends a method declaration with a body that returns a default value, or without body if it is abstract.
+     */
+    private void appendMethod(StringBuilder source, ExtractedMethod method, boolean inInterface, String indentation) {
+        source.append(indentation).append(inInterface ? "" : modifier(method.getModifier()));
+        source.append(method.isAbstract() && !inInterface ? "abstract " : "").append(method.isStatic() ? "static " : "");
+        appendTypeParameters(source, method.getTypeParameters());
+        if (!method.getTypeParameters().isEmpty()) {
+            source.append(' ');
+        }
+        if (method.getReturnType() == null) {
+            source.append("void");
+        } else {
+            appendDataType(source, method.getReturnType());
+        }
+        source.append(' ').append(method.getName()).append('(');
+        String separator = "";
+        for (ExtractedParameter parameter : method.getParameters()) {
+            source.append(separator);
+            appendDataType(source, parameter);
+            source.append(' ').append(parameter.getIdentifier());
+            separator = ", ";
+        }
+        source.append(')');
+        appendDataTypes(source, " throws ", method.getThrowsDeclarations());
+        if (method.isAbstract()) {
+            source.append(";\n");
+        } else if (method.getReturnType() == null) {
+            source.append(" {\n").append(indentation).append("}\n");
+        } else {
+            source.append(" {\n").append(indentation).append(INDENTATION).append("return ").append(defaultValue(method.getReturnType()));
+            source.append(";\n").append(indentation).append("}\n");
+        }
+    }
+
+    /**
+     * Appends a type declaration with all members and inner types.
+     */
+    private void appendType(StringBuilder source, ExtractedType type, List<ExtractedType> innerTypes, boolean inner, String indentation) {
+        source.append(indentation).append("public ").append(inner ? "static " : "");
+        if (type instanceof ExtractedClass && ((ExtractedClass) type).isAbstract()) {
+            source.append("abstract ");
+        }
+        source.append(keyword(type)).append(' ').append(type.getName());
+        appendTypeParameters(source, type.getTypeParameters());
+        if (type instanceof ExtractedClass && ((ExtractedClass) type).getSuperClass() != null) {
+            source.append(" extends ");
+            appendDataType(source, ((ExtractedClass) type).getSuperClass());
+        }
+        appendDataTypes(source, type instanceof ExtractedInterface ? " extends " : " implements ", type.getSuperInterfaces());
+        source.append(" {\n");
+        String memberIndentation = indentation + INDENTATION;
+        if (type instanceof ExtractedEnum) {
+            List<String> constants = new ArrayList<String>();
+            for (ExtractedEnumConstant constant : ((ExtractedEnum) type).getConstants()) {
+                constants.add(constant.getName());
+            }
+            source.append(memberIndentation).append(String.join(", ", constants)).append(";\n");
+        }
+        for (ExtractedField field : type.getFields()) {
+            appendField(source, field, memberIndentation);
+        }
+        for (ExtractedMethod method : type.getMethods()) {
+            appendMethod(source, method, type instanceof ExtractedInterface, memberIndentation);
+        }
+        for (ExtractedType innerType : innerTypes) {
+            if (type.getFullName().equals(innerType.getOuterType())) {
+                appendType(source, innerType, innerTypes, true, memberIndentation);
+            }
+        }
+        source.append(indentation).append("}\n");
+    }
+
+    /**
+     * Appends type parameters with their bounds, if there are any.
+     */
+    private void appendTypeParameters(StringBuilder source, List<ExtractedTypeParameter> typeParameters) {
+        if (!typeParameters.isEmpty()) {
+            source.append('<');
+            String separator = "";
+            for (ExtractedTypeParameter typeParameter : typeParameters) {
+                source.append(separator).append(typeParameter.getIdentifier());
+                String boundSeparator = " extends ";
+                for (ExtractedDataType bound : typeParameter.getBounds()) {
+                    source.append(boundSeparator);
+                    appendDataType(source, bound);
+                    boundSeparator = " & ";
+                }
+                separator = ", ";
+            }
+            source.append('>');
+        }
+    }
+
+    /**
+     * Returns a default value for a data type.
+     */
+    private String defaultValue(ExtractedDataType dataType) {
+        String name = dataType.getFullType();
+        if ("boolean".equals(name)) {
+            return "false";
+        } else if (name.matches("byte|short|char|int|long|float|double")) {
+            return "(" + name + ") 0";
+        }
+        return "null";
+    }
+
+    /**
+     * Returns the keyword of the declaration of a type.
+     */
+    private String keyword(ExtractedType type) {
+        if (type instanceof ExtractedInterface) {
+            return "interface";
+        } else if (type instanceof ExtractedEnum) {
+            return "enum";
+        }
+        return "class";
+    }
+
+    /**
+     * Returns the Java keyword of an {@link AccessLevelModifier} with a trailing space.
+     */
+    private String modifier(AccessLevelModifier modifier) {
+        if (modifier == AccessLevelModifier.NO_MODIFIER) {
+            return "";
+        }
+        return modifier.name().toLowerCase() + " ";
+    }
+
+    /**
+     * Writes a top-level type and its inner types into a file.
+     */
+    private void writeFile(ExtractedType type, ExtractedPackage extractedPackage, File file) throws IOException {
+        List<ExtractedType> innerTypes = new ArrayList<ExtractedType>();
+        for (ExtractedType candidate : extractedPackage.getTypes()) {
+            if (candidate.isInnerType() && candidate.getFullName().startsWith(type.getFullName() + '.')) {
+                innerTypes.add(candidate);
+            }
+        }
+        StringBuilder source = new StringBuilder("package ").append(extractedPackage.getFullName()).append(";\n\n");
+        appendType(source, type, innerTypes, false, "");
+        try (Writer writer = new OutputStreamWriter(Files.newOutputStream(file.toPath()), StandardCharsets.UTF_8)) {
+            writer.write(source.toString());
+        }
+    }
+}
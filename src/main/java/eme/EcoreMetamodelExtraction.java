@@ -1,6 +1,18 @@
 package eme;
 
+import static eme.properties.BinaryProperty.ASYNCHRONOUS_SAVING;
 import static eme.properties.BinaryProperty.CUSTOM_EXTRACTION_SCOPE;
+import static eme.properties.BinaryProperty.EARLY_SCOPE;
+import static eme.properties.BinaryProperty.EXTRACTION_REPORT;
+import static eme.properties.BinaryProperty.SIGNATURE_REFERENCES;
+import static eme.properties.BinaryProperty.STREAMING_OUTPUT;
+import static eme.properties.BinaryProperty.TEST_SOURCES;
+import static eme.properties.TextProperty.EXCLUDED_SOURCE_ROOTS;
+import static eme.properties.TextProperty.ROOT_TYPES;
+import static eme.properties.TextProperty.SCOPE_PROFILE;
+
+import java.util.ArrayList;
+import java.util.List;
 
 import org.apache.log4j.LogManager;
 import org.apache.log4j.Logger;
@@ -11,8 +23,13 @@ import org.eclipse.jdt.core.JavaCore;
 import eme.extractor.JavaProjectExtractor;
 import eme.generator.EcoreMetamodelGenerator;
 import eme.generator.GeneratedEcoreMetamodel;
+import eme.generator.saving.SavingInformation;
 import eme.model.IntermediateModel;
 import eme.properties.ExtractionProperties;
+import eme.report.ExtractionPhase;
+import eme.report.ExtractionReport;
+import eme.scope.ExtractionScope;
+import eme.scope.SourceRootFilter;
 import eme.ui.SelectionWindow;
 
 /**
@@ -46,11 +63,41 @@ public class EcoreMetamodelExtraction {
         logger.info("Started extraction of project " + project.getName());
         check(project); // check if valid.
         IJavaProject javaProject = JavaCore.create(project); // create java project
-        IntermediateModel model = extractor.buildIntermediateModel(javaProject);
-        selectExtractionScope(model); // select scope if enabled in properties
-        GeneratedEcoreMetamodel metamodel = generator.generateMetamodel(model);
-        generator.saveMetamodel(); // save metamodel
-        return metamodel;
+        ExtractionReport report = new ExtractionReport(project.getName());
+        try {
+            ExtractionScope scope = ExtractionScope.fromProfile(properties.get(SCOPE_PROFILE));
+            extractor.setScope(properties.get(EARLY_SCOPE) ? scope : new ExtractionScope()); // skip excluded units early
+            extractor.setSourceRootFilter(SourceRootFilter.create(properties.get(TEST_SOURCES), properties.get(EXCLUDED_SOURCE_ROOTS)));
+            extractor.setRootTypes(getRootTypes(), properties.get(SIGNATURE_REFERENCES));
+            IntermediateModel model = extractor.buildIntermediateModel(javaProject, report);
+            report.start(ExtractionPhase.SELECTION);
+            selectExtractionScope(model, scope); // select scope if enabled in properties
+            report.stop(ExtractionPhase.SELECTION);
+            GeneratedEcoreMetamodel metamodel;
+            if (properties.get(STREAMING_OUTPUT)) { // write metamodel without building it
+                report.start(ExtractionPhase.SAVING);
+                metamodel = generator.streamMetamodel(model);
+                report.stop(ExtractionPhase.SAVING);
+                metamodel.setReport(report);
+            } else {
+                metamodel = generator.generateMetamodel(model, report);
+                report.start(ExtractionPhase.SAVING);
+                if (properties.get(ASYNCHRONOUS_SAVING)) { // save metamodel while the next extraction starts
+                    metamodel.setSavingFuture(generator.saveMetamodelAsync().whenComplete((information, exception) -> {
+                        report.stop(ExtractionPhase.SAVING); // measured on the saving thread
+                        finishReport(report, information);
+                    })); // the saving information is available when the report is finished
+                    return metamodel;
+                }
+                generator.saveMetamodel(); // save metamodel
+                report.stop(ExtractionPhase.SAVING);
+            }
+            finishReport(report, metamodel.getSavingInformation());
+            return metamodel;
+        } catch (RuntimeException | Error exception) {
+            report.finish(); // end the heap sampling of the failed run
+            throw exception;
+        }
     }
 
     /**
@@ -74,11 +121,40 @@ public class EcoreMetamodelExtraction {
     }
 
     /**
-     * Opens a window for specifying a custom extraction scope. The scope is manifested in the correlating
-     * {@link IntermediateModel} through enabling and disabling specific model elements.
+     * Finishes the {@link ExtractionReport} of an extraction run after the metamodel was saved and writes it as JSON
+     * file next to the metamodel if enabled in the properties. There is no saving information if the saving failed.
+     */
+    private void finishReport(ExtractionReport report, SavingInformation information) {
+        report.finish();
+        if (properties.get(EXTRACTION_REPORT) && information != null) {
+            report.save(information.getFilePath() + information.getFileName() + ".report.json");
+        }
+    }
+
+    /**
+     * Returns the full names of the root types from the comma separated list in the properties.
+     */
+    private List<String> getRootTypes() {
+        List<String> rootTypes = new ArrayList<String>();
+        for (String rootType : properties.get(ROOT_TYPES).split(",")) {
+            if (!rootType.trim().isEmpty()) {
+                rootTypes.add(rootType.trim());
+            }
+        }
+        return rootTypes;
+    }
+
+    /**
+     * Applies the {@link ExtractionScope} of the configured scope profile and opens a window for specifying a custom
+     * extraction scope. The scope is manifested in the correlating {@link IntermediateModel} through enabling and
+     * disabling specific model elements.
      * @param model is the {@link IntermediateModel} for which the extraction scope is specified.
+     * @param scope is the {@link ExtractionScope} of the scope profile.
      */
-    private void selectExtractionScope(IntermediateModel model) {
+    private void selectExtractionScope(IntermediateModel model, ExtractionScope scope) {
+        if (!scope.isEmpty()) {
+            scope.apply(model); // select scope in bulk
+        }
         if (properties.get(CUSTOM_EXTRACTION_SCOPE)) {
             new SelectionWindow().open(model);
         }
@@ -1,12 +1,20 @@
 package eme.extractor;
 
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
 
 import org.apache.log4j.LogManager;
 import org.apache.log4j.Logger;
+import org.eclipse.jdt.core.IClasspathAttribute;
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.IPackageFragment;
@@ -14,40 +22,175 @@ import org.eclipse.jdt.core.IPackageFragmentRoot;
 import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.JavaModelException;
 
+import eme.model.ExtractedClass;
+import eme.model.ExtractedMethod;
 import eme.model.ExtractedPackage;
+import eme.model.ExtractedType;
 import eme.model.IntermediateModel;
+import eme.model.datatypes.ExtractedDataType;
+import eme.model.datatypes.ExtractedField;
+import eme.profiling.CompilationUnitEvent;
+import eme.profiling.Profiling;
+import eme.report.ExtractionPhase;
+import eme.report.ExtractionReport;
+import eme.scope.ExtractionScope;
+import eme.scope.SourceRootFilter;
 
 /**
  * The class analyzes java projects and builds intermediate models with the help of the {@link JavaTypeExtractor},
- * {@link JavaMemberExtractor} and {@link DataTypeExtractor}.
+ * {@link JavaMemberExtractor} and {@link DataTypeExtractor}. Source roots that are excluded by the
+ * {@link SourceRootFilter} and compilation units whose types are excluded by the {@link ExtractionScope} are skipped
+ * before they are parsed. If root types are set, only the types that are reachable from the root types are extracted.
  * @author Timur Saglam
  */
 public class JavaProjectExtractor {
     private static final Logger logger = LogManager.getLogger(JavaProjectExtractor.class.getName());
+    private static final String JAVA_SUFFIX = ".java";
+    private static final String TEST_ATTRIBUTE = "test"; // IClasspathAttribute.TEST of newer JDT versions
     private IntermediateModel currentModel;
     private ExtractedPackage currentPackage;
     private DataTypeExtractor dataTypeExtractor;
     private int packageCounter;
+    private ExtractionReport report;
+    private List<String> rootTypes;
+    private ExtractionScope scope;
+    private boolean signatureReferences;
+    private SourceRootFilter sourceRootFilter;
     private JavaTypeExtractor typeExtractor;
 
+    /**
+     * Basic constructor, creates an extractor that extracts every source root and every compilation unit.
+     */
+    public JavaProjectExtractor() {
+        rootTypes = Collections.emptyList();
+        scope = new ExtractionScope();
+        sourceRootFilter = new SourceRootFilter(true);
+    }
+
     /**
      * Analyzes a {@link IJavaProject} and builds an {@link IntermediateModel}.
      * @param project is the {@link IJavaProject} to analyze.
      * @return an intermediate model that was extracted from the project.
      */
     public IntermediateModel buildIntermediateModel(IJavaProject project) {
+        ExtractionReport report = new ExtractionReport(project.getElementName());
+        try {
+            return buildIntermediateModel(project, report);
+        } catch (RuntimeException exception) {
+            report.finish(); // end the heap sampling of the failed extraction
+            throw exception;
+        }
+    }
+
+    /**
+     * Analyzes a {@link IJavaProject} and builds an {@link IntermediateModel}. Measures the extraction phases and
+     * counts the extracted elements.
+     * @param project is the {@link IJavaProject} to analyze.
+     * @param report is the {@link ExtractionReport} of the extraction run.
+     * @return an intermediate model that was extracted from the project.
+     */
+    public IntermediateModel buildIntermediateModel(IJavaProject project, ExtractionReport report) {
+        this.report = report;
         setup(project);
         try {
-            extractPackages(project); // extract from project
+            if (rootTypes.isEmpty()) {
+                extractPackages(project); // extract from project
+            } else {
+                extractReachableTypes(); // extract only the closure of the root types
+            }
+            report.start(ExtractionPhase.EXTERNAL_TYPES);
             typeExtractor.extractExternalTypes(dataTypeExtractor.getDataTypes()); // extract potential external
+            report.stop(ExtractionPhase.EXTERNAL_TYPES);
         } catch (JavaModelException exception) {
             throw new ExtractionException("Error while extracting the model.", exception);
         }
+        report.start(ExtractionPhase.SORTING);
         currentModel.sort(); // sort model content
+        report.stop(ExtractionPhase.SORTING);
+        report.start(ExtractionPhase.FREEZING);
+        currentModel.freeze(); // compact and immutable from now on
+        report.stop(ExtractionPhase.FREEZING);
         currentModel.print(); // print intermediate model.
+        report.addModelCounts(currentModel);
+        report.count("dataTypes", dataTypeExtractor.getDataTypes().size());
         return currentModel;
     }
 
+    /**
+     * Sets the root types of the extraction. If root types are set, only the root types and the types that are
+     * transitively reachable from them are extracted, which are their super types and field types and optionally the
+     * types of their method signatures. Types are found on demand, which means the other compilation units are never
+     * parsed. An empty list extracts the whole project.
+     * @param rootTypes is the list of full names of the root types.
+     * @param signatureReferences determines whether parameter and return types are followed.
+     */
+    public void setRootTypes(List<String> rootTypes, boolean signatureReferences) {
+        this.rootTypes = rootTypes;
+        this.signatureReferences = signatureReferences;
+    }
+
+    /**
+     * Sets the {@link ExtractionScope} which decides which compilation units and types are extracted. The default scope
+     * includes everything.
+     * @param scope is the {@link ExtractionScope}.
+     */
+    public void setScope(ExtractionScope scope) {
+        this.scope = scope;
+    }
+
+    /**
+     * Sets the {@link SourceRootFilter} which decides which source roots are extracted. The default filter includes every
+     * source root.
+     * @param sourceRootFilter is the {@link SourceRootFilter}.
+     */
+    public void setSourceRootFilter(SourceRootFilter sourceRootFilter) {
+        this.sourceRootFilter = sourceRootFilter;
+    }
+
+    /**
+     * Adds the name of a referenced data type and of its generic arguments to the worklist.
+     */
+    private void addReference(ExtractedDataType dataType, Deque<String> worklist) {
+        if (dataType != null) { // super class and return type can be null
+            worklist.add(dataType.getFullArrayType());
+            for (ExtractedDataType argument : dataType.getGenericArguments()) {
+                addReference(argument, worklist);
+            }
+        }
+    }
+
+    /**
+     * Adds the names of all types referenced by an {@link ExtractedType} to the worklist.
+     */
+    private void addReferences(ExtractedType type, Deque<String> worklist) {
+        if (type instanceof ExtractedClass) {
+            addReference(((ExtractedClass) type).getSuperClass(), worklist);
+        }
+        for (ExtractedDataType superInterface : type.getSuperInterfaces()) {
+            addReference(superInterface, worklist);
+        }
+        for (ExtractedField field : type.getFields()) {
+            addReference(field, worklist);
+        }
+        if (signatureReferences) {
+            for (ExtractedMethod method : type.getMethods()) {
+                addReference(method.getReturnType(), worklist);
+                method.getParameters().forEach(parameter -> addReference(parameter, worklist));
+            }
+        }
+    }
+
+    /**
+     * Adds a package and all of its parent packages to the model if they are not added yet.
+     */
+    private ExtractedPackage addPackage(String name) {
+        for (int index = name.indexOf('.'); index >= 0; index = name.indexOf('.', index + 1)) {
+            currentModel.add(new ExtractedPackage(name.substring(0, index))); // parent packages first
+        }
+        currentModel.add(new ExtractedPackage(name));
+        return currentModel.getPackage(name);
+    }
+
     /**
      * Extracts all compilation units from a list of package fragments. It then extracts all ICompilationUnits while
      * updating the current package.
@@ -57,23 +200,43 @@ public class JavaProjectExtractor {
             currentPackage = currentModel.getPackage(fragment.getElementName()); // model package
             reportProgress(fragments.size());
             for (ICompilationUnit unit : fragment.getCompilationUnits()) { // get compilation units
-                for (IType type : unit.getAllTypes()) { // for all types
-                    currentModel.addTo(typeExtractor.extractType(type), currentPackage);
+                if (scope.includes(getTypeName(fragment, unit))) { // decided before the unit is parsed
+                    extractCompilationUnit(fragment, unit);
+                } else {
+                    report.count("skippedCompilationUnits", 1);
                 }
             }
         }
     }
 
+    /**
+     * Extracts all types of a compilation unit which are included in the {@link ExtractionScope}.
+     */
+    private void extractCompilationUnit(IPackageFragment fragment, ICompilationUnit unit) throws JavaModelException {
+        CompilationUnitEvent event = Profiling.ENABLED ? new CompilationUnitEvent() : null;
+        IType[] types = unit.getAllTypes();
+        for (IType type : types) { // for all types
+            if (scope.includes(type.getFullyQualifiedName('.'))) { // nested types can be excluded separately
+                currentModel.addTo(typeExtractor.extractType(type), currentPackage);
+            }
+        }
+        if (event != null) {
+            event.complete(fragment.getElementName(), unit.getElementName(), types.length);
+        }
+    }
+
     /**
      * The method takes an {@link IJavaProject} and extracts the package structure of the project. It continues by
      * parsing the {@link IPackageFragment}s. The method creates the packages from a set of package names to avoid the
      * problem of duplicate default packages. But all other parsing calls are done with a list of fragments.
      */
     private void extractPackages(IJavaProject project) throws JavaModelException {
+        report.start(ExtractionPhase.PACKAGE_DISCOVERY);
         SortedSet<String> packageNames = new TreeSet<String>(); // set to avoid duplicates
         List<IPackageFragment> fragments = new LinkedList<IPackageFragment>();
+        Map<IPackageFragmentRoot, Boolean> includedRoots = new HashMap<IPackageFragmentRoot, Boolean>();
         for (IPackageFragment fragment : project.getPackageFragments()) {
-            if (isSourcePackage(fragment)) { // only source packages, no binary packages.
+            if (isSourcePackage(fragment) && isIncluded(fragment, includedRoots)) {
                 fragments.add(fragment); // reuse fragments for class extraction
                 packageNames.add(fragment.getElementName()); // add name to set.
             }
@@ -81,7 +244,67 @@ public class JavaProjectExtractor {
         for (String name : packageNames) {
             currentModel.add(new ExtractedPackage(name)); // build model packages first
         }
+        report.stop(ExtractionPhase.PACKAGE_DISCOVERY);
+        report.start(ExtractionPhase.COMPILATION_UNITS);
         extractCompilationUnits(fragments); // then continue parsing
+        report.stop(ExtractionPhase.COMPILATION_UNITS);
+    }
+
+    /**
+     * Extracts the root types and all types that are reachable from them with a worklist. Every type is found and
+     * extracted on demand, types that are no source types of the project are left to the external type extraction.
+     */
+    private void extractReachableTypes() throws JavaModelException {
+        report.start(ExtractionPhase.COMPILATION_UNITS);
+        currentModel.add(new ExtractedPackage("")); // default package is the root
+        Map<IPackageFragmentRoot, Boolean> includedRoots = new HashMap<IPackageFragmentRoot, Boolean>();
+        Deque<String> worklist = new ArrayDeque<String>(rootTypes);
+        Set<String> visited = new HashSet<String>();
+        while (!worklist.isEmpty()) {
+            String typeName = worklist.poll();
+            if (visited.add(typeName)) { // every type is only looked up once
+                IType type = typeExtractor.findSourceType(typeName);
+                if (type != null && scope.includes(typeName) && isIncluded(type.getPackageFragment(), includedRoots)) {
+                    ExtractedType extractedType = typeExtractor.extractType(type);
+                    currentModel.addTo(extractedType, addPackage(type.getPackageFragment().getElementName()));
+                    addReferences(extractedType, worklist);
+                } else if (rootTypes.contains(typeName)) {
+                    logger.warn("Could not extract root type " + typeName);
+                }
+            }
+        }
+        report.count("visitedTypeNames", visited.size());
+        report.stop(ExtractionPhase.COMPILATION_UNITS);
+    }
+
+    /**
+     * Returns the full name of the primary type of a compilation unit without parsing it.
+     */
+    private String getTypeName(IPackageFragment fragment, ICompilationUnit unit) {
+        String name = unit.getElementName();
+        if (name.endsWith(JAVA_SUFFIX)) {
+            name = name.substring(0, name.length() - JAVA_SUFFIX.length());
+        }
+        return fragment.isDefaultPackage() ? name : fragment.getElementName() + '.' + name;
+    }
+
+    /**
+     * Checks if the source root of a package fragment is included by the {@link SourceRootFilter}. The decision is cached per root, because all
+     * package fragments of a root share it.
+     */
+    private boolean isIncluded(IPackageFragment fragment, Map<IPackageFragmentRoot, Boolean> includedRoots) throws JavaModelException {
+        IPackageFragmentRoot root = (IPackageFragmentRoot) fragment.getParent();
+        Boolean included = includedRoots.get(root);
+        if (included == null) {
+            String path = root.getPath().makeRelativeTo(fragment.getJavaProject().getPath()).toString();
+            included = sourceRootFilter.includes(path, isTestRoot(root));
+            includedRoots.put(root, included);
+            if (!included) {
+                logger.info("Skipping source root " + path);
+                report.count("skippedSourceRoots", 1);
+            }
+        }
+        return included;
     }
 
     /**
@@ -91,6 +314,18 @@ public class JavaProjectExtractor {
         return packageFragment.getKind() == IPackageFragmentRoot.K_SOURCE;
     }
 
+    /**
+     * Checks if a source root is marked as test source root in the class path of the project.
+     */
+    private boolean isTestRoot(IPackageFragmentRoot root) throws JavaModelException {
+        for (IClasspathAttribute attribute : root.getRawClasspathEntry().getExtraAttributes()) {
+            if (TEST_ATTRIBUTE.equals(attribute.getName()) && Boolean.parseBoolean(attribute.getValue())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Reports on the parsing progress by logging the current package.
      */
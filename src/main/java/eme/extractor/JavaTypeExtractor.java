@@ -21,6 +21,9 @@ import eme.model.ExtractedEnumConstant;
 import eme.model.ExtractedInterface;
 import eme.model.ExtractedType;
 import eme.model.IntermediateModel;
+import eme.profiling.ExternalTypeEvent;
+import eme.profiling.Profiling;
+import eme.profiling.TypeExtractionEvent;
 
 /**
  * Extractor class for Java types (classes, interfaces, enumerations). This class uses the {@link JavaMemberExtractor}
@@ -58,12 +61,31 @@ public class JavaTypeExtractor {
     public void extractExternalTypes(Set<String> externalTypes) throws JavaModelException {
         logger.info("Parsing external types...");
         for (String typeName : externalTypes) { // for every potential external type
+            ExternalTypeEvent event = Profiling.ENABLED ? new ExternalTypeEvent() : null;
             if (model.contains(typeName)) { // if is a true external type
                 extractPseudoExternal(typeName);
             } else {
                 extractExternal(typeName);
             }
+            if (event != null) {
+                event.complete(typeName, model.containsExternal(typeName));
+            }
+        }
+    }
+
+    /**
+     * Finds a type of the extracted project by its full name, which allows to extract types on demand. Only source types
+     * of the project are returned, binary types and types of other projects are treated as external types.
+     * @param typeName is the full name of the type.
+     * @return the {@link IType} or null if it is not a source type of the project.
+     * @throws JavaModelException if there are problem with the JDT API.
+     */
+    public IType findSourceType(String typeName) throws JavaModelException {
+        IType type = project.findType(typeName);
+        if (type != null && !type.isBinary() && project.equals(type.getJavaProject())) {
+            return type;
         }
+        return null;
     }
 
     /**
@@ -73,6 +95,7 @@ public class JavaTypeExtractor {
      * @throws JavaModelException if there are problem with the JDT API.
      */
     public ExtractedType extractType(IType type) throws JavaModelException {
+        TypeExtractionEvent event = Profiling.ENABLED ? new TypeExtractionEvent() : null;
         ExtractedType extractedType = null;
         if (type.isClass()) {
             extractedType = extractClass(type); // create class
@@ -88,6 +111,9 @@ public class JavaTypeExtractor {
         for (String signature : type.getSuperInterfaceTypeSignatures()) {
             extractedType.addInterface(dataTypeExtractor.extractDataType(signature, type)); // add interface
         }
+        if (event != null) {
+            event.complete(extractedType.getFullName(), extractedType.getFields().size(), extractedType.getMethods().size());
+        }
         return extractedType;
     }
 
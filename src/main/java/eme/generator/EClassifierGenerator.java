@@ -19,8 +19,12 @@ import eme.model.ExtractedEnum;
 import eme.model.ExtractedEnumConstant;
 import eme.model.ExtractedInterface;
 import eme.model.ExtractedType;
-import eme.model.IntermediateModel;
+import eme.model.TypeVisitor;
 import eme.model.datatypes.ExtractedDataType;
+import eme.profiling.ClassCompletionEvent;
+import eme.profiling.ClassifierGenerationEvent;
+import eme.profiling.Profiling;
+import eme.report.ExtractionReport;
 
 /**
  * Generator class for Ecore classifiers ({@link EClassifier}s).
@@ -29,42 +33,60 @@ import eme.model.datatypes.ExtractedDataType;
 public class EClassifierGenerator {
     private static final Logger logger = LogManager.getLogger(EClassifierGenerator.class.getName());
     private final Map<EClass, ExtractedType> bareEClasses;
+    private long cacheHits;
+    private final TypeVisitor<EClassifier> classifierVisitor;
     private final Map<String, EClassifier> eClassifierMap;
     private final EcoreFactory ecoreFactory;
     private final ExternalTypeHierarchy externalTypes;
     private final EMemberGenerator memberGenerator;
-    private final IntermediateModel model;
-    private final SelectionHelper selector;
+    private final PrunedModel model;
     private final EDataTypeGenerator typeGenerator;
 
     /**
      * Basic constructor.
-     * @param model is the {@link IntermediateModel} which is used to extract a metamodel.
+     * @param model is the {@link PrunedModel} which is used to extract a metamodel.
      * @param root is the root {@link EPackage} of the metamodel.
      * @param selector is the {@link SelectionHelper} instance.
      */
-    public EClassifierGenerator(IntermediateModel model, EPackage root, SelectionHelper selector) {
+    public EClassifierGenerator(PrunedModel model, EPackage root, SelectionHelper selector) {
         this.model = model;
-        this.selector = selector;
         ecoreFactory = EcoreFactory.eINSTANCE;
         eClassifierMap = new HashMap<String, EClassifier>();
         bareEClasses = new HashMap<EClass, ExtractedType>();
+        classifierVisitor = new ClassifierVisitor();
         externalTypes = new ExternalTypeHierarchy(root, selector.getProperties());
         typeGenerator = new EDataTypeGenerator(model, eClassifierMap, externalTypes);
         memberGenerator = new EMemberGenerator(typeGenerator, selector, eClassifierMap);
     }
 
+    /**
+     * Adds the counts of the generated classifiers and the lookups of the classifier and data type caches to an
+     * {@link ExtractionReport}.
+     * @param report is the {@link ExtractionReport}.
+     */
+    public void addCounts(ExtractionReport report) {
+        report.count("generatedClassifiers", eClassifierMap.size());
+        report.count("generatedClasses", bareEClasses.size());
+        report.addCacheLookups("classifiers", cacheHits, eClassifierMap.size());
+        typeGenerator.addCacheLookups(report);
+    }
+
     /**
      * Completes the generation of the {@link EClassifier} objects. Adds methods and attributes to {@link EClass}
      * objects, adds type parameters and super interfaces and sorts the external types.
      */
     public void completeEClassifiers() {
         for (EClass eClass : bareEClasses.keySet()) { // for every generated EClass
+            ClassCompletionEvent event = Profiling.ENABLED ? new ClassCompletionEvent() : null;
             ExtractedType extractedType = bareEClasses.get(eClass);
             typeGenerator.addTypeParameters(eClass, extractedType); // IMPORTANT: call after EClassifiers are created.
-            memberGenerator.addFields(extractedType, eClass); // add attributes
-            memberGenerator.addOperations(extractedType, eClass); // add methods
+            memberGenerator.addFields(model.getFields(extractedType), eClass); // add attributes
+            memberGenerator.addOperations(model.getMethods(extractedType), eClass); // add methods
             addSuperInterfaces(extractedType, eClass); // IMPORTANT: needs to be called after type parameters are built
+            if (event != null) {
+                event.complete(extractedType.getFullName(), eClass.getEStructuralFeatures().size(), eClass.getEOperations().size(),
+                        eClass.getEGenericSuperTypes().size());
+            }
         }
         externalTypes.sort();
     }
@@ -89,20 +111,16 @@ public class EClassifierGenerator {
     public EClassifier generateEClassifier(ExtractedType type) {
         String fullName = type.getFullName();
         if (eClassifierMap.containsKey(fullName)) { // if already created:
+            cacheHits++;
             return eClassifierMap.get(fullName); // just return from map.
         }
-        EClassifier eClassifier = null; // TODO (LOW) Use visitor pattern.
-        if (type.getClass() == ExtractedInterface.class) { // build interface:
-            eClassifier = generateEClass(type, true, true);
-        } else if (type.getClass() == ExtractedClass.class) { // build class:
-            EClass eClass = generateEClass(type, ((ExtractedClass) type).isAbstract(), false);
-            addSuperClass((ExtractedClass) type, eClass); // IMPORTANT: needs to be called after type params are built
-            eClassifier = eClass;
-        } else if (type.getClass() == ExtractedEnum.class) { // build enum:
-            eClassifier = generateEEnum((ExtractedEnum) type);
-        }
+        ClassifierGenerationEvent event = Profiling.ENABLED ? new ClassifierGenerationEvent() : null;
+        EClassifier eClassifier = type.accept(classifierVisitor); // build class, interface or enum
         eClassifier.setName(type.getName()); // set name
         eClassifierMap.put(fullName, eClassifier); // store created classifier
+        if (event != null) {
+            event.complete(fullName, eClassifier.eClass().getName(), eClassifier.getETypeParameters().size());
+        }
         return eClassifier;
     }
 
@@ -147,12 +165,9 @@ public class EClassifierGenerator {
         String superTypeName = superType.getFullType();
         if (eClassifierMap.containsKey(superTypeName)) { // if is already created:
             generateSuperRelation(eClass, (EClass) eClassifierMap.get(superTypeName), superType);
-        } else if (model.contains(superTypeName)) { // if is not created yet
-            ExtractedType extractedType = model.getType(superTypeName);
-            if (selector.allowsGenerating(extractedType)) { // is super type can be generated
-                generateSuperRelation(eClass, (EClass) generateEClassifier(extractedType), superType);
-            }
-        } else { // is external type
+        } else if (model.getGeneratedType(superTypeName) != null) { // if is not created yet, but can be generated
+            generateSuperRelation(eClass, (EClass) generateEClassifier(model.getGeneratedType(superTypeName)), superType);
+        } else if (!model.isUngeneratedType(superTypeName)) { // is external type
             logger.warn("Could not use external type as super type: " + superTypeName);
         }
     }
@@ -195,4 +210,26 @@ public class EClassifierGenerator {
             }
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * {@link TypeVisitor} that builds the bare {@link EClassifier} for the kind of an {@link ExtractedType}.
+     */
+    private class ClassifierVisitor implements TypeVisitor<EClassifier> {
+        @Override
+        public EClassifier visit(ExtractedClass extractedClass) {
+            EClass eClass = generateEClass(extractedClass, extractedClass.isAbstract(), false);
+            addSuperClass(extractedClass, eClass); // IMPORTANT: needs to be called after type params are built
+            return eClass;
+        }
+
+        @Override
+        public EClassifier visit(ExtractedEnum extractedEnum) {
+            return generateEEnum(extractedEnum);
+        }
+
+        @Override
+        public EClassifier visit(ExtractedInterface extractedInterface) {
+            return generateEClass(extractedInterface, true, true);
+        }
+    }
+}
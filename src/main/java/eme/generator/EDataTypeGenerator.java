@@ -20,10 +20,10 @@ import org.eclipse.emf.ecore.EcorePackage;
 import eme.generator.hierarchies.ExternalTypeHierarchy;
 import eme.model.ExtractedMethod;
 import eme.model.ExtractedType;
-import eme.model.IntermediateModel;
 import eme.model.datatypes.ExtractedDataType;
 import eme.model.datatypes.ExtractedTypeParameter;
 import eme.model.datatypes.WildcardStatus;
+import eme.report.ExtractionReport;
 
 /**
  * Generator class for the generation of Ecore data types ({@link EDataType})
@@ -31,19 +31,21 @@ import eme.model.datatypes.WildcardStatus;
  */
 public class EDataTypeGenerator {
     private static final Logger logger = LogManager.getLogger(EDataTypeGenerator.class.getName());
+    private long cacheHits;
+    private long cacheMisses;
     private final Map<String, EDataType> dataTypeMap;
     private final Map<String, EClassifier> eClassifierMap;
     private final EcoreFactory ecoreFactory;
-    private final IntermediateModel model;
+    private final PrunedModel model;
     private final ExternalTypeHierarchy typeHierarchy;
 
     /**
      * Basic constructor, builds the type maps.
-     * @param model is the {@link IntermediateModel}.
+     * @param model is the {@link PrunedModel}.
      * @param eClassifierMap is the list of created {@link EClassifier}s. This is needed to get custom data types.
      * @param typeHierarchy is the external type package hierarchy.
      */
-    public EDataTypeGenerator(IntermediateModel model, Map<String, EClassifier> eClassifierMap, ExternalTypeHierarchy typeHierarchy) {
+    public EDataTypeGenerator(PrunedModel model, Map<String, EClassifier> eClassifierMap, ExternalTypeHierarchy typeHierarchy) {
         this.model = model;
         this.eClassifierMap = eClassifierMap; // set eClassifier map.
         this.typeHierarchy = typeHierarchy;
@@ -52,6 +54,16 @@ public class EDataTypeGenerator {
         fillMap(); // fill type map.
     }
 
+    /**
+     * Adds the lookups of data types to an {@link ExtractionReport}. A lookup is a hit if the data type was already
+     * generated or is an Ecore data type and a miss if a new external data type was generated.
+     * @param report is the {@link ExtractionReport}.
+     */
+    public void addCacheLookups(ExtractionReport report) {
+        report.addCacheLookups("dataTypes", cacheHits, cacheMisses);
+        report.count("generatedDataTypes", cacheMisses);
+    }
+
     /**
      * Adds data type (Either {@link EClassifier} or {@link EGenericType}) to an {@link ETypedElement} from an
      * {@link ExtractedDataType}.
@@ -109,8 +121,7 @@ public class EDataTypeGenerator {
      * @param type is the extracted type.
      */
     public void addTypeParameters(EClassifier eClassifier, ExtractedType type) {
-        eClassifier.getETypeParameters().addAll(generateETypeParameters(type.getTypeParameters()));
-        finishTypeParameters(eClassifier.getETypeParameters(), type.getTypeParameters(), new TypeParameterSource(eClassifier));
+        addTypeParameters(eClassifier, type.getTypeParameters());
     }
 
     /**
@@ -123,6 +134,14 @@ public class EDataTypeGenerator {
         finishTypeParameters(eOperation.getETypeParameters(), method.getTypeParameters(), new TypeParameterSource(eOperation));
     }
 
+    /**
+     * Adds a list of generic type parameters to a {@link EClassifier}.
+     */
+    private void addTypeParameters(EClassifier eClassifier, List<ExtractedTypeParameter> typeParameters) {
+        eClassifier.getETypeParameters().addAll(generateETypeParameters(typeParameters));
+        finishTypeParameters(eClassifier.getETypeParameters(), typeParameters, new TypeParameterSource(eClassifier));
+    }
+
     /**
      * Adds all bounds of an {@link ExtractedTypeParameter} to a {@link ETypeParameter}.
      */
@@ -199,10 +218,13 @@ public class EDataTypeGenerator {
         EDataType eDataType;
         String fullName = extractedDataType.getFullType();
         if (eClassifierMap.containsKey(fullName)) { // if is custom classifier (1.)
+            cacheHits++;
             return eClassifierMap.get(fullName);
         } else if (dataTypeMap.containsKey(fullName)) { // if is basic type or already known EDataType (3.)
+            cacheHits++;
             return dataTypeMap.get(fullName); // access EDataType
         } else { // if its an external type (2.)
+            cacheMisses++;
             eDataType = generateExternalType(extractedDataType); // create new EDataType
             typeHierarchy.add(eDataType);
             return eDataType;
@@ -248,10 +270,9 @@ public class EDataTypeGenerator {
         eDataType.setInstanceTypeName(extractedDataType.getFullType()); // set full name
         String dataTypeName = extractedDataType.getFullArrayType(); // get type name without array brackets.
         dataTypeMap.put(extractedDataType.getFullType(), eDataType); // store in map for later use
-        if (model.containsExternal(dataTypeName)) { // external type
-            addTypeParameters(eDataType, model.getExternalType(dataTypeName)); // add parameters from external type
-        } else if (model.contains(dataTypeName)) { // internal type, but not selected
-            addTypeParameters(eDataType, model.getType(dataTypeName)); // add parameters from external type
+        List<ExtractedTypeParameter> typeParameters = model.getTypeParameters(dataTypeName);
+        if (typeParameters != null) { // external type or internal type, but not selected
+            addTypeParameters(eDataType, typeParameters); // add parameters from known type
         } else if (!extractedDataType.getGenericArguments().isEmpty()) { // if external type is unknown
             logger.error("Can not resolve type parameters for " + extractedDataType.toString());
         }
@@ -4,7 +4,9 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.apache.log4j.LogManager;
 import org.apache.log4j.Logger;
@@ -15,8 +17,11 @@ import org.eclipse.core.resources.IFolder;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IProjectDescription;
 import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.IWorkspaceRoot;
+import org.eclipse.core.resources.IWorkspaceRunnable;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.Path;
 import org.eclipse.jdt.core.IClasspathEntry;
 import org.eclipse.jdt.core.IJavaProject;
@@ -41,29 +46,57 @@ public final class EMFProjectGenerator {
     /**
      * Generate a new empty EMFProjectGeneratorproject with a specified name. If a project with that name already exits
      * the new project uses the same name and a number. The actual used name can be received from the returned IProject.
+     * The project is created in a single workspace operation, which means there is only one resource change event and
+     * one build for the whole creation. The unused name is found inside of that operation, which means no other job can
+     * claim the name before the project is created.
      * @param projectName is the name of the new project.
-     * @return the project as IProject object.
+     * @return the project as IProject object, or null if it could not be created.
      */
     public static IProject createProject(String projectName) {
-        IProject project = null;
         IWorkspace workspace = ResourcesPlugin.getWorkspace();
-        int version = 2;
-        String finalName = projectName;
-        project = workspace.getRoot().getProject(projectName);
-        while (project.exists()) { // to avoid duplicates:
-            finalName = projectName + version;
-            version++;
-            project = workspace.getRoot().getProject(finalName);
-        }
-        IJavaProject javaProject = JavaCore.create(project);
-        IProjectDescription description = ResourcesPlugin.getWorkspace().newProjectDescription(finalName);
-        description.setLocation(null);
+        IProject[] createdProject = new IProject[1]; // set by the workspace operation
+        IWorkspaceRunnable creation = monitor -> {
+            String finalName = findUnusedName(workspace.getRoot(), projectName);
+            IProject project = workspace.getRoot().getProject(finalName);
+            project.create(createDescription(workspace, finalName), monitor);
+            project.open(monitor);
+            IFolder srcContainer = project.getFolder("src");
+            if (!srcContainer.exists()) {
+                srcContainer.create(false, true, monitor);
+            }
+            createClasspath(JavaCore.create(project), srcContainer, finalName, monitor);
+            createManifest(finalName, project);
+            createdProject[0] = project;
+        };
         try {
-            project.create(description, null);
+            workspace.run(creation, workspace.getRoot(), IWorkspace.AVOID_UPDATE, null);
         } catch (CoreException exception) {
-            logger.error("Error while creating project resource in workspace", exception);
+            logger.error("Error while creating project " + projectName + " in workspace", exception);
         }
+        return createdProject[0];
+    }
+
+    /**
+     * Sets the classpath and the output location of the java project.
+     */
+    private static void createClasspath(IJavaProject javaProject, IFolder srcContainer, String projectName, IProgressMonitor monitor)
+            throws JavaModelException {
         List<IClasspathEntry> classpathEntries = new ArrayList<IClasspathEntry>();
+        classpathEntries.add(JavaCore.newSourceEntry(srcContainer.getFullPath()));
+        classpathEntries.add(JavaCore.newContainerEntry(
+                new Path("org.eclipse.jdt.launching.JRE_CONTAINER/org.eclipse.jdt.internal.debug.ui.launcher.StandardVMType/" + JAVA_VERSION)));
+        classpathEntries.add(JavaCore.newContainerEntry(new Path("org.eclipse.pde.core.requiredPlugins")));
+        javaProject.setRawClasspath(classpathEntries.toArray(new IClasspathEntry[classpathEntries.size()]), monitor);
+        javaProject.setOutputLocation(new Path("/" + projectName + "/bin"), monitor);
+    }
+
+    /**
+     * Creates the project description with natures and build specification, which allows to create the project in one
+     * step instead of changing its description afterwards.
+     */
+    private static IProjectDescription createDescription(IWorkspace workspace, String projectName) {
+        IProjectDescription description = workspace.newProjectDescription(projectName);
+        description.setLocation(null);
         description.setNatureIds(new String[] { JavaCore.NATURE_ID, "org.eclipse.pde.PluginNature" });
         ICommand java = description.newCommand();
         java.setBuilderName(JavaCore.BUILDER_ID);
@@ -73,30 +106,25 @@ public final class EMFProjectGenerator {
         schema.setBuilderName("org.eclipse.pde.SchemaBuilder");
         ICommand oaw = description.newCommand();
         description.setBuildSpec(new ICommand[] { java, manifest, schema, oaw });
-        IFolder srcContainer = null;
-        try {
-            project.open(null);
-            project.setDescription(description, null);
-            srcContainer = project.getFolder("src");
-            if (!srcContainer.exists()) {
-                srcContainer.create(false, true, null);
-            }
-        } catch (CoreException exception) {
-            logger.error("Error while building project description & source folder", exception);
+        return description;
+    }
+
+    /**
+     * Finds a project name that is not used in the workspace. Uses the project name and a number if the name is
+     * already used. The names of the existing projects are collected once.
+     */
+    private static String findUnusedName(IWorkspaceRoot root, String projectName) {
+        Set<String> usedNames = new HashSet<String>();
+        for (IProject project : root.getProjects()) {
+            usedNames.add(project.getName());
         }
-        IClasspathEntry srcClasspathEntry = JavaCore.newSourceEntry(srcContainer.getFullPath());
-        classpathEntries.add(0, srcClasspathEntry);
-        classpathEntries.add(JavaCore.newContainerEntry(
-                new Path("org.eclipse.jdt.launching.JRE_CONTAINER/org.eclipse.jdt.internal.debug.ui.launcher.StandardVMType/" + JAVA_VERSION)));
-        classpathEntries.add(JavaCore.newContainerEntry(new Path("org.eclipse.pde.core.requiredPlugins")));
-        try {
-            javaProject.setRawClasspath(classpathEntries.toArray(new IClasspathEntry[classpathEntries.size()]), null);
-            javaProject.setOutputLocation(new Path("/" + finalName + "/bin"), null);
-        } catch (JavaModelException exception) {
-            logger.error("Error while building classpath & output location", exception);
+        String finalName = projectName;
+        int version = 2;
+        while (usedNames.contains(finalName)) { // to avoid duplicates:
+            finalName = projectName + version;
+            version++;
         }
-        createManifest(finalName, project);
-        return project;
+        return finalName;
     }
 
     private static IFile createFile(String name, IContainer container, String content, String charSet) throws CoreException, IOException {
@@ -46,28 +46,24 @@ public class EMemberGenerator {
     }
 
     /**
-     * Adds any {@link ExtractedField} of an {@link ExtractedType} to a specific {@link EClass}.
-     * @param type is the {@link ExtractedType}
+     * Adds the generated {@link ExtractedField}s of an {@link ExtractedType} to a specific {@link EClass}.
+     * @param fields are the {@link ExtractedField}s, which were already pruned by the {@link PrunedModel}.
      * @param eClass is the {@link EClass}.
      */
-    public void addFields(ExtractedType type, EClass eClass) {
-        for (ExtractedField field : type.getFields()) { // for every field
-            if (selector.allowsGenerating(field)) { // if it is selected
-                addField(field, eClass); // add to EClass by creating an Ecore representation
-            }
+    public void addFields(List<ExtractedField> fields, EClass eClass) {
+        for (ExtractedField field : fields) { // for every generated field
+            addField(field, eClass); // add to EClass by creating an Ecore representation
         }
     }
 
     /**
-     * Adds any {@link ExtractedMethod} of an {@link ExtractedType} to an {@link EClass}.
-     * @param type is the {@link ExtractedType}.
+     * Adds the generated {@link ExtractedMethod}s of an {@link ExtractedType} to an {@link EClass}.
+     * @param methods are the {@link ExtractedMethod}s, which were already pruned by the {@link PrunedModel}.
      * @param eClass is the {@link EClass}.
      */
-    public void addOperations(ExtractedType type, EClass eClass) {
-        for (ExtractedMethod method : type.getMethods()) { // for every method
-            if (selector.allowsGenerating(method)) { // if should be generated.
-                addOperation(method, eClass);
-            }
+    public void addOperations(List<ExtractedMethod> methods, EClass eClass) {
+        for (ExtractedMethod method : methods) { // for every generated method
+            addOperation(method, eClass);
         }
     }
 
@@ -10,21 +10,25 @@ import org.eclipse.emf.ecore.EClassifier;
 import org.eclipse.emf.ecore.EPackage;
 import org.eclipse.emf.ecore.EcoreFactory;
 
+import eme.generator.PrunedModel.PrunedPackage;
 import eme.generator.hierarchies.InnerTypeHierarchy;
 import eme.model.ExtractedPackage;
 import eme.model.ExtractedType;
 import eme.model.IntermediateModel;
 import eme.properties.ExtractionProperties;
 import eme.properties.TextProperty;
+import eme.report.ExtractionPhase;
+import eme.report.ExtractionReport;
 
 /**
- * Generator class for Ecore packages ({@link EPackage}).
+ * Generator class for Ecore packages ({@link EPackage}). The generation is based on a {@link PrunedModel}, which means
+ * it only iterates over the elements that are actually generated.
  * @author Timur Saglam
  */
 public class EPackageGenerator {
     private EClassifierGenerator classGenerator;
     private final EcoreFactory ecoreFactory;
-    private IntermediateModel model;
+    private PrunedModel model;
     private final ExtractionProperties properties;
     private final SelectionHelper selector;
 
@@ -44,46 +48,64 @@ public class EPackageGenerator {
      * @return the root {@link EPackage} of the Ecore metamodel.
      */
     public EPackage generate(IntermediateModel model) {
-        this.model = model; // set model
-        EPackage eRoot = generateEPackage(model.getRoot()); // generate base model:
+        return generate(model, new ExtractionReport(model.getProjectName()));
+    }
+
+    /**
+     * Generates an Ecore metamodel from an {@link IntermediateModel}. Measures the generation phases and counts the
+     * generated elements.
+     * @param model is the {@link IntermediateModel}.
+     * @param report is the {@link ExtractionReport} of the extraction run.
+     * @return the root {@link EPackage} of the Ecore metamodel.
+     */
+    public EPackage generate(IntermediateModel model, ExtractionReport report) {
+        selector.initialize(); // snapshot the current properties
+        report.start(ExtractionPhase.PRUNING);
+        this.model = PrunedModel.prune(model, selector); // decide once what is generated
+        report.stop(ExtractionPhase.PRUNING);
+        report.start(ExtractionPhase.CLASSIFIER_GENERATION);
+        EPackage eRoot = generateEPackage(this.model.getRoot()); // generate base model:
+        report.stop(ExtractionPhase.CLASSIFIER_GENERATION);
+        report.start(ExtractionPhase.COMPLETION);
         classGenerator.completeEClassifiers(); // complete EClasses
+        report.stop(ExtractionPhase.COMPLETION);
+        classGenerator.addCounts(report);
         selector.generateReport(); // print reports
+        this.model = null; // the generator does not keep the pruned view
         return eRoot; // return Ecore metamodel root package
     }
 
     /**
      * Adds subpackages to the {@link EPackage}.
      */
-    private void addSubpackages(EPackage ePackage, ExtractedPackage extractedPackage) {
-        for (ExtractedPackage subpackage : extractedPackage.getSubpackages()) { // for all packages
-            if (selector.allowsGenerating(subpackage)) { // if is allowed to
-                ePackage.getESubpackages().add(generateEPackage(subpackage)); // extract
-            }
+    private void addSubpackages(EPackage ePackage, PrunedPackage prunedPackage) {
+        for (PrunedPackage subpackage : prunedPackage.getSubpackages()) { // for all generated packages
+            ePackage.getESubpackages().add(generateEPackage(subpackage)); // extract
         }
     }
 
     /**
      * Adds types to the package with the help of the {@link EClassifierGenerator}.
      */
-    private void addTypes(EPackage ePackage, ExtractedPackage extractedPackage) {
-        for (ExtractedType type : extractedPackage.getTypes()) { // for all types
-            if (selector.allowsGenerating(type)) { // if is allowed to
-                EClassifier eClassifier = classGenerator.generateEClassifier(type);
-                if (type.isInnerType()) { // get relative path of inner type to current package:
-                    String relativePath = type.getFullName().replace(extractedPackage.getFullName() + '.', "");
-                    new InnerTypeHierarchy(ePackage, properties).add(eClassifier, relativePath); // add inner type
-                } else { // add normal type directly
-                    ePackage.getEClassifiers().add(eClassifier); // extract
-                }
+    private void addTypes(EPackage ePackage, PrunedPackage prunedPackage) {
+        String packageName = prunedPackage.getPackage().getFullName();
+        for (ExtractedType type : prunedPackage.getTypes()) { // for all generated types
+            EClassifier eClassifier = classGenerator.generateEClassifier(type);
+            if (type.isInnerType()) { // get relative path of inner type to current package:
+                String relativePath = type.getFullName().replace(packageName + '.', "");
+                new InnerTypeHierarchy(ePackage, properties).add(eClassifier, relativePath); // add inner type
+            } else { // add normal type directly
+                ePackage.getEClassifiers().add(eClassifier); // extract
             }
         }
     }
 
     /**
-     * Generates an {@link EPackage} from an {@link ExtractedPackage}. Recursively calls this method to all contained
+     * Generates an {@link EPackage} from a {@link PrunedPackage}. Recursively calls this method to all contained
      * elements.
      */
-    private EPackage generateEPackage(ExtractedPackage extractedPackage) {
+    private EPackage generateEPackage(PrunedPackage prunedPackage) {
+        ExtractedPackage extractedPackage = prunedPackage.getPackage();
         EPackage ePackage;
         if (extractedPackage.isRoot()) { // set root name & prefix:
             ePackage = generateRoot();
@@ -93,8 +115,8 @@ public class EPackageGenerator {
             ePackage.setNsPrefix(extractedPackage.getName());
             ePackage.setNsURI(getURI(extractedPackage));
         }
-        addSubpackages(ePackage, extractedPackage);
-        addTypes(ePackage, extractedPackage);
+        addSubpackages(ePackage, prunedPackage);
+        addTypes(ePackage, prunedPackage);
         return ePackage;
     }
 
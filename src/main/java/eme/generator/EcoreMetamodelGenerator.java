@@ -1,5 +1,11 @@
 package eme.generator;
 
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
 import org.apache.log4j.LogManager;
 import org.apache.log4j.Logger;
 import org.eclipse.emf.ecore.EPackage;
@@ -10,11 +16,15 @@ import eme.generator.saving.CustomPathSaving;
 import eme.generator.saving.ExistingProjectSaving;
 import eme.generator.saving.NewProjectSaving;
 import eme.generator.saving.OriginalProjectSaving;
+import eme.generator.saving.OutputFormat;
 import eme.generator.saving.SavingInformation;
+import eme.generator.saving.SavingOptions;
 import eme.model.ExtractedPackage;
 import eme.model.IntermediateModel;
+import eme.properties.BinaryProperty;
 import eme.properties.ExtractionProperties;
 import eme.properties.TextProperty;
+import eme.report.ExtractionReport;
 
 /**
  * This class generates an Ecore Metamodel from an {@link IntermediateModel}. It also allows to save a generated
@@ -24,11 +34,14 @@ import eme.properties.TextProperty;
 public class EcoreMetamodelGenerator {
     private static final Logger logger = LogManager.getLogger(EcoreMetamodelGenerator.class.getName());
     private static final String OUTPUT_PROJECT = "EME-Generator-Output";
+    private static final int SAVING_QUEUE_CAPACITY = 2; // pending metamodels
+    private static final ExecutorService savingExecutor = createSavingExecutor();
     private final EPackageGenerator ePackageGenerator;
     private GeneratedEcoreMetamodel metamodel;
     private String projectName;
     private final ExtractionProperties properties;
     private AbstractSavingStrategy savingStrategy;
+    private final StreamingEcoreWriter streamingWriter;
 
     /**
      * Basic constructor.
@@ -37,6 +50,7 @@ public class EcoreMetamodelGenerator {
     public EcoreMetamodelGenerator(ExtractionProperties properties) {
         this.properties = properties;
         ePackageGenerator = new EPackageGenerator(properties); // build generators
+        streamingWriter = new StreamingEcoreWriter(properties);
     }
 
     /**
@@ -51,13 +65,25 @@ public class EcoreMetamodelGenerator {
         } else if (isStrategy(CustomPathSaving.class, strategyName)) {
             savingStrategy = new CustomPathSaving();
         } else if (isStrategy(CopyProjectSaving.class, strategyName)) {
-            savingStrategy = new CopyProjectSaving(properties.get(TextProperty.PROJECT_SUFFIX));
+            savingStrategy = new CopyProjectSaving(properties.get(TextProperty.PROJECT_SUFFIX), properties.get(BinaryProperty.LIGHTWEIGHT_COPY),
+                    properties.get(BinaryProperty.LINK_SOURCES));
         } else if (isStrategy(NewProjectSaving.class, strategyName)) {
             savingStrategy = new NewProjectSaving();
         } else {
             logger.error("Unknown saving strategy: " + strategyName);
             savingStrategy = new NewProjectSaving();
         }
+        savingStrategy.setOutputFormat(OutputFormat.fromName(properties.get(TextProperty.OUTPUT_FORMAT)));
+        SavingOptions savingOptions = SavingOptions.fromProfile(properties.get(TextProperty.SAVING_PROFILE));
+        if (properties.get(BinaryProperty.USE_FILE_BUFFER)) {
+            savingOptions.setUseFileBuffer(true);
+        }
+        if (properties.get(BinaryProperty.SAVE_ONLY_IF_CHANGED)) {
+            savingOptions.setSaveOnlyIfChanged(true);
+        }
+        savingStrategy.setSavingOptions(savingOptions);
+        savingStrategy.setSplitResources(properties.get(BinaryProperty.SPLIT_RESOURCES));
+        savingStrategy.setSkipUnchanged(properties.get(BinaryProperty.SKIP_UNCHANGED));
     }
 
     /**
@@ -66,6 +92,23 @@ public class EcoreMetamodelGenerator {
      * @return the root element of the metamodel, an {@link EPackage}.
      */
     public GeneratedEcoreMetamodel generateMetamodel(IntermediateModel model) {
+        ExtractionReport report = new ExtractionReport(model.getProjectName());
+        try {
+            return generateMetamodel(model, report);
+        } catch (RuntimeException exception) {
+            report.finish(); // end the heap sampling of the failed generation
+            throw exception;
+        }
+    }
+
+    /**
+     * Method starts the Ecore metamodel generation. The generation phases are measured in an {@link ExtractionReport},
+     * which is attached to the generated metamodel.
+     * @param model is the {@link IntermediateModel} that is the source for the generator.
+     * @param report is the {@link ExtractionReport} of the extraction run.
+     * @return the root element of the metamodel, an {@link EPackage}.
+     */
+    public GeneratedEcoreMetamodel generateMetamodel(IntermediateModel model, ExtractionReport report) {
         changeSavingStrategy(properties.get(TextProperty.SAVING_STRATEGY)); // set saving strategy
         logger.info("Started generating the metamodel...");
         ExtractedPackage root = model.getRoot(); // get root package.
@@ -73,8 +116,9 @@ public class EcoreMetamodelGenerator {
             throw new IllegalArgumentException("The root of an model can't be null or deselected: " + model.toString());
         }
         projectName = model.getProjectName(); // store project name.
-        EPackage eRoot = ePackageGenerator.generate(model); // generate model model.
+        EPackage eRoot = ePackageGenerator.generate(model, report); // generate model model.
         metamodel = new GeneratedEcoreMetamodel(eRoot, model);
+        metamodel.setReport(report);
         return metamodel;
     }
 
@@ -92,6 +136,74 @@ public class EcoreMetamodelGenerator {
         return savingInformation;
     }
 
+    /**
+     * Saves the metamodel as an Ecore file asynchronously. The metamodel is saved by a dedicated I/O thread, which
+     * allows to extract and generate the next metamodel while the current one is saved. Only a small number of
+     * metamodels can wait for being saved. If that number is reached, the calling thread saves the metamodel itself.
+     * Metamodels whose saving strategy does not support asynchronous saving are saved immediately. The I/O thread saves
+     * the generated packages themselves instead of a copy, which would double the memory of the metamodel. Because saving
+     * attaches the packages to resources, {@link GeneratedEcoreMetamodel#getRoot()} waits until the saving is finished.
+     * @return the future of the saving information, which is also accessible through the
+     * {@link GeneratedEcoreMetamodel}.
+     */
+    public CompletableFuture<SavingInformation> saveMetamodelAsync() {
+        if (metamodel == null) {
+            throw new IllegalStateException("Cannot save Ecore metamodel before extracting one.");
+        }
+        if (!savingStrategy.supportsAsynchronousSaving()) {
+            logger.info(savingStrategy.getName() + " saving does not support asynchronous saving.");
+            return CompletableFuture.completedFuture(saveMetamodel());
+        }
+        logger.info("Started saving the metamodel asynchronously");
+        AbstractSavingStrategy strategy = savingStrategy; // the fields change with the next generation
+        EPackage root = metamodel.getRoot(); // owned by the I/O thread until the saving is finished
+        String name = projectName;
+        CompletableFuture<SavingInformation> future = CompletableFuture.supplyAsync(() -> strategy.save(root, name), savingExecutor);
+        future.whenComplete((information, exception) -> {
+            if (exception != null) {
+                logger.error("Error while saving the metamodel of " + name, exception);
+            }
+        });
+        metamodel.setSavingFuture(future);
+        return future;
+    }
+
+    /**
+     * Generates the Ecore metamodel of an {@link IntermediateModel} and saves it in one step, without building the EMF
+     * object graph, see {@link StreamingEcoreWriter}. This needs much less memory for large models, but the returned
+     * {@link GeneratedEcoreMetamodel} has no root package and the metamodel can not be saved again.
+     * @param model is the {@link IntermediateModel} that is the source for the generator.
+     * @return the {@link GeneratedEcoreMetamodel}, which contains the saving information.
+     */
+    public GeneratedEcoreMetamodel streamMetamodel(IntermediateModel model) {
+        changeSavingStrategy(properties.get(TextProperty.SAVING_STRATEGY)); // set saving strategy
+        logger.info("Started streaming the metamodel...");
+        ExtractedPackage root = model.getRoot(); // get root package.
+        if (root == null || !root.isSelected()) { // check if valid.
+            throw new IllegalArgumentException("The root of an model can't be null or deselected: " + model.toString());
+        }
+        projectName = model.getProjectName(); // store project name.
+        metamodel = null; // there is no metamodel which could be saved again
+        GeneratedEcoreMetamodel streamedMetamodel = new GeneratedEcoreMetamodel(null, model);
+        streamedMetamodel.setSavingInformation(savingStrategy.save(model, streamingWriter));
+        return streamedMetamodel;
+    }
+
+    /**
+     * Creates the executor for asynchronous saving. It uses a single daemon thread, because saving is limited by I/O
+     * and the workspace, and a bounded queue. If the queue is full, the caller saves the metamodel itself.
+     */
+    private static ExecutorService createSavingExecutor() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 30, TimeUnit.SECONDS, new ArrayBlockingQueue<Runnable>(SAVING_QUEUE_CAPACITY),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "EME-Saving");
+                    thread.setDaemon(true); // don't prevent shutdown
+                    return thread;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
     /**
      * Checks whether a strategy class fits to a strategy name.
      */
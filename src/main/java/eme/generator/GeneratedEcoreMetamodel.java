@@ -1,19 +1,24 @@
 package eme.generator;
 
+import java.util.concurrent.CompletableFuture;
+
 import org.eclipse.emf.ecore.EPackage;
 
 import eme.generator.saving.SavingInformation;
 import eme.model.IntermediateModel;
+import eme.report.ExtractionReport;
 
 /**
  * This is a container class for generated Ecore metamodels. It contains a reference to the metamodels root element and
- * the metamodels intermediate model. Additionally, it can contain saving information.
+ * the metamodels intermediate model. Additionally, it can contain saving information, which might still be computed
+ * by an asynchronous saving process.
  * @author Timur Saglam
  */
 public class GeneratedEcoreMetamodel {
     private final IntermediateModel intermediateModel;
+    private ExtractionReport report;
     private final EPackage root;
-    private SavingInformation savingInformation;
+    private CompletableFuture<SavingInformation> savingFuture;
 
     /**
      * Basic constructor.
@@ -34,31 +39,71 @@ public class GeneratedEcoreMetamodel {
     }
 
     /**
-     * Accessor for the root {@link EPackage}.
-     * @return the root.
+     * Accessor for the {@link ExtractionReport} of the extraction run, which contains the phase timings and counters. If
+     * the metamodel is saved asynchronously, the report is finished when the saving future is completed.
+     * @return the report, or null if there is none.
+     */
+    public ExtractionReport getReport() {
+        return report;
+    }
+
+    /**
+     * Accessor for the root {@link EPackage}. If the metamodel is saved asynchronously, this method waits until the
+     * saving is finished, because the saving thread attaches the packages to resources.
+     * @return the root, or null if the metamodel was streamed directly into a file.
      */
     public EPackage getRoot() {
+        if (savingFuture != null && !savingFuture.isDone()) {
+            savingFuture.exceptionally(exception -> null).join(); // failed saving is reported by the future itself
+        }
         return root;
     }
 
     /**
-     * Accessor for the {@link SavingInformation} object.
+     * Accessor for the {@link SavingInformation} object. If the metamodel is saved asynchronously, this method waits
+     * until the saving is finished.
      * @return the savingInformation
+     * @throws java.util.concurrent.CompletionException if the asynchronous saving failed.
      */
     public SavingInformation getSavingInformation() {
-        if (savingInformation == null) {
+        if (savingFuture == null) {
             throw new IllegalStateException("Generated Ecore Metamodel was not saved. There is no saving information available.");
         }
-        return savingInformation;
+        return savingFuture.join();
+    }
+
+    /**
+     * Accessor for the future of the {@link SavingInformation}, which allows to react on the completion of an
+     * asynchronous saving process.
+     * @return the future, or null if the metamodel is not saved.
+     */
+    public CompletableFuture<SavingInformation> getSavingFuture() {
+        return savingFuture;
     }
 
     /**
      * Checks whether this metamodel was already saved. This means is contains saving informations (a
-     * {@link SavingInformation} object).
+     * {@link SavingInformation} object). Returns false while the metamodel is saved asynchronously.
      * @return true if it was.
      */
     public boolean isSaved() {
-        return savingInformation != null;
+        return savingFuture != null && savingFuture.isDone() && !savingFuture.isCompletedExceptionally();
+    }
+
+    /**
+     * Mutator for the {@link ExtractionReport} of the extraction run.
+     * @param report is the report.
+     */
+    public void setReport(ExtractionReport report) {
+        this.report = report;
+    }
+
+    /**
+     * Mutator for the future of the {@link SavingInformation}, which is used for asynchronous saving.
+     * @param savingFuture is the future of the saving information.
+     */
+    public void setSavingFuture(CompletableFuture<SavingInformation> savingFuture) {
+        this.savingFuture = savingFuture;
     }
 
     /**
@@ -66,6 +111,6 @@ public class GeneratedEcoreMetamodel {
      * @param savingInformation the savingInformation to set
      */
     public void setSavingInformation(SavingInformation savingInformation) {
-        this.savingInformation = savingInformation;
+        savingFuture = CompletableFuture.completedFuture(savingInformation);
     }
 }
\ No newline at end of file
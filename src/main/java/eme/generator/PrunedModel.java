@@ -0,0 +1,240 @@
+package eme.generator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import eme.model.ExtractedMethod;
+import eme.model.ExtractedPackage;
+import eme.model.ExtractedType;
+import eme.model.IntermediateModel;
+import eme.model.datatypes.ExtractedField;
+import eme.model.datatypes.ExtractedTypeParameter;
+
+/**
+ * Compact and immutable view of the elements of an {@link IntermediateModel} that are actually generated. The view is
+ * built in a single pass by asking the {@link SelectionHelper} exactly once per element, which means the generators
+ * iterate only over what they emit and do not need to check the selection again. Types that are not generated are only
+ * retained with their names and type parameters, which are needed to generate data types for them. The view references
+ * the extracted elements instead of copying them, which means it does not reduce the memory consumption: The
+ * {@link IntermediateModel} stays reachable as long as the view or the generated metamodel is used.
+ * @author Timur Saglam
+ */
+public class PrunedModel {
+    private final Map<ExtractedType, List<ExtractedField>> fields;
+    private final Map<String, ExtractedType> generatedTypes;
+    private final Map<ExtractedType, List<ExtractedMethod>> methods;
+    private final String projectName;
+    private final PrunedPackage root;
+    private final Map<String, List<ExtractedTypeParameter>> typeParameters;
+    private final Set<String> ungeneratedTypes;
+
+    /**
+     * Private constructor, use {@link #prune(IntermediateModel, SelectionHelper)}.
+     */
+    private PrunedModel(IntermediateModel model, SelectionHelper selector) {
+        projectName = model.getProjectName();
+        fields = new IdentityHashMap<ExtractedType, List<ExtractedField>>();
+        methods = new IdentityHashMap<ExtractedType, List<ExtractedMethod>>();
+        generatedTypes = new HashMap<String, ExtractedType>();
+        typeParameters = new HashMap<String, List<ExtractedTypeParameter>>();
+        ungeneratedTypes = new HashSet<String>();
+        for (ExtractedType type : model.getTypes()) {
+            if (selector.allowsGenerating(type)) {
+                generatedTypes.put(type.getFullName(), type);
+                fields.put(type, pruneFields(type, selector));
+                methods.put(type, pruneMethods(type, selector));
+            } else { // not generated, but can still be used as data type
+                ungeneratedTypes.add(type.getFullName());
+                typeParameters.put(type.getFullName(), type.getTypeParameters());
+            }
+        }
+        for (ExtractedType type : model.getExternalTypes()) { // external types take precedence
+            typeParameters.put(type.getFullName(), type.getTypeParameters());
+        }
+        root = prune(model.getRoot(), selector);
+    }
+
+    /**
+     * Builds the pruned view of an {@link IntermediateModel}.
+     * @param model is the {@link IntermediateModel}.
+     * @param selector is the initialized {@link SelectionHelper} that decides which elements are generated.
+     * @return the pruned view.
+     */
+    public static PrunedModel prune(IntermediateModel model, SelectionHelper selector) {
+        return new PrunedModel(model, selector);
+    }
+
+    /**
+     * Accessor for the generated {@link ExtractedField}s of a generated {@link ExtractedType}.
+     * @param type is the generated {@link ExtractedType}.
+     * @return the unmodifiable list of fields, which is empty if the type is not generated.
+     */
+    public List<ExtractedField> getFields(ExtractedType type) {
+        return fields.getOrDefault(type, Collections.emptyList());
+    }
+
+    /**
+     * Returns the generated {@link ExtractedType} with a specific full name.
+     * @param fullName is the full name.
+     * @return the {@link ExtractedType} or null if there is no generated type with that name.
+     */
+    public ExtractedType getGeneratedType(String fullName) {
+        return generatedTypes.get(fullName);
+    }
+
+    /**
+     * Accessor for the generated {@link ExtractedMethod}s of a generated {@link ExtractedType}.
+     * @param type is the generated {@link ExtractedType}.
+     * @return the unmodifiable list of methods, which is empty if the type is not generated.
+     */
+    public List<ExtractedMethod> getMethods(ExtractedType type) {
+        return methods.getOrDefault(type, Collections.emptyList());
+    }
+
+    /**
+     * Accessor for the name of the project.
+     * @return the name.
+     */
+    public String getProjectName() {
+        return projectName;
+    }
+
+    /**
+     * Accessor for the root {@link PrunedPackage}, which is always generated.
+     * @return the root package.
+     */
+    public PrunedPackage getRoot() {
+        return root;
+    }
+
+    /**
+     * Returns the type parameters of an external or internal type, which are needed to use the type as data type.
+     * @param fullName is the full name of the type.
+     * @return the list of {@link ExtractedTypeParameter}s or null if the type is unknown.
+     */
+    public List<ExtractedTypeParameter> getTypeParameters(String fullName) {
+        List<ExtractedTypeParameter> parameters = typeParameters.get(fullName);
+        if (parameters == null && generatedTypes.containsKey(fullName)) {
+            return generatedTypes.get(fullName).getTypeParameters();
+        }
+        return parameters;
+    }
+
+    /**
+     * Checks whether the model contains an internal type with a specific full name which is not generated.
+     * @param fullName is the full name.
+     * @return true if there is such type.
+     */
+    public boolean isUngeneratedType(String fullName) {
+        return ungeneratedTypes.contains(fullName);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " of " + projectName + ": [GeneratedTypes=" + generatedTypes.size() + "]";
+    }
+
+    /**
+     * Prunes a package and its subpackages recursively.
+     */
+    private PrunedPackage prune(ExtractedPackage extractedPackage, SelectionHelper selector) {
+        ArrayList<PrunedPackage> subpackages = new ArrayList<PrunedPackage>();
+        for (ExtractedPackage subpackage : extractedPackage.getSubpackages()) {
+            if (selector.allowsGenerating(subpackage)) {
+                subpackages.add(prune(subpackage, selector));
+            }
+        }
+        ArrayList<ExtractedType> types = new ArrayList<ExtractedType>();
+        for (ExtractedType type : extractedPackage.getTypes()) {
+            if (fields.containsKey(type)) { // is generated
+                types.add(type);
+            }
+        }
+        return new PrunedPackage(extractedPackage, compact(subpackages), compact(types));
+    }
+
+    /**
+     * Returns the fields of a type that may be generated.
+     */
+    private List<ExtractedField> pruneFields(ExtractedType type, SelectionHelper selector) {
+        ArrayList<ExtractedField> prunedFields = new ArrayList<ExtractedField>();
+        for (ExtractedField field : type.getFields()) {
+            if (selector.allowsGenerating(field)) {
+                prunedFields.add(field);
+            }
+        }
+        return compact(prunedFields);
+    }
+
+    /**
+     * Returns the methods of a type that may be generated.
+     */
+    private List<ExtractedMethod> pruneMethods(ExtractedType type, SelectionHelper selector) {
+        ArrayList<ExtractedMethod> prunedMethods = new ArrayList<ExtractedMethod>();
+        for (ExtractedMethod method : type.getMethods()) {
+            if (selector.allowsGenerating(method)) {
+                prunedMethods.add(method);
+            }
+        }
+        return compact(prunedMethods);
+    }
+
+    /**
+     * Trims a list to its exact size and makes it unmodifiable, empty lists share a single instance.
+     */
+    private static <T> List<T> compact(ArrayList<T> list) {
+        if (list.isEmpty()) {
+            return Collections.emptyList();
+        }
+        list.trimToSize();
+        return Collections.unmodifiableList(list);
+    }
+
+    /**
+     * Pruned view of an {@link ExtractedPackage}, which contains only the generated subpackages and types.
+     */
+    public static class PrunedPackage {
+        private final ExtractedPackage extractedPackage;
+        private final List<PrunedPackage> subpackages;
+        private final List<ExtractedType> types;
+
+        /**
+         * Creates a pruned package.
+         */
+        PrunedPackage(ExtractedPackage extractedPackage, List<PrunedPackage> subpackages, List<ExtractedType> types) {
+            this.extractedPackage = extractedPackage;
+            this.subpackages = subpackages;
+            this.types = types;
+        }
+
+        /**
+         * Accessor for the original {@link ExtractedPackage}.
+         * @return the package.
+         */
+        public ExtractedPackage getPackage() {
+            return extractedPackage;
+        }
+
+        /**
+         * Accessor for the generated subpackages.
+         * @return the unmodifiable list of subpackages.
+         */
+        public List<PrunedPackage> getSubpackages() {
+            return subpackages;
+        }
+
+        /**
+         * Accessor for the generated types.
+         * @return the unmodifiable list of types.
+         */
+        public List<ExtractedType> getTypes() {
+            return types;
+        }
+    }
+}
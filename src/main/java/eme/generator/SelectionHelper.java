@@ -4,12 +4,34 @@ import static eme.model.datatypes.AccessLevelModifier.NO_MODIFIER;
 import static eme.model.datatypes.AccessLevelModifier.PRIVATE;
 import static eme.model.datatypes.AccessLevelModifier.PROTECTED;
 import static eme.model.datatypes.AccessLevelModifier.PUBLIC;
+import static eme.properties.BinaryProperty.ABSTRACT_METHODS;
+import static eme.properties.BinaryProperty.ACCESS_METHODS;
+import static eme.properties.BinaryProperty.CLASSES;
+import static eme.properties.BinaryProperty.CONSTRUCTORS;
+import static eme.properties.BinaryProperty.DEFAULT_FIELDS;
+import static eme.properties.BinaryProperty.DEFAULT_METHODS;
+import static eme.properties.BinaryProperty.EMPTY_PACKAGES;
+import static eme.properties.BinaryProperty.ENUMS;
+import static eme.properties.BinaryProperty.FIELD_MULTIPLICITIES;
+import static eme.properties.BinaryProperty.FINAL_AS_UNCHANGEABLE;
+import static eme.properties.BinaryProperty.INTERFACES;
+import static eme.properties.BinaryProperty.NESTED_TYPES;
+import static eme.properties.BinaryProperty.PARAMETER_MULTIPLICITIES;
+import static eme.properties.BinaryProperty.PRIVATE_FIELDS;
+import static eme.properties.BinaryProperty.PRIVATE_METHODS;
+import static eme.properties.BinaryProperty.PROTECTED_FIELDS;
+import static eme.properties.BinaryProperty.PROTECTED_METHODS;
+import static eme.properties.BinaryProperty.PUBLIC_FIELDS;
+import static eme.properties.BinaryProperty.PUBLIC_METHODS;
+import static eme.properties.BinaryProperty.RETURN_TYPE_MULTIPLICITIES;
+import static eme.properties.BinaryProperty.STATIC_FIELDS;
+import static eme.properties.BinaryProperty.STATIC_METHODS;
+import static eme.properties.BinaryProperty.THROWABLES;
 
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.LinkedList;
+import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.List;
-import java.util.Map;
+import java.util.Set;
 
 import org.apache.log4j.LogManager;
 import org.apache.log4j.Logger;
@@ -30,21 +52,30 @@ import eme.properties.ExtractionProperties;
 
 /**
  * This class helps to decide whether a extracted element may be generated or not. It combines rules from a properties
- * class with the selection states of the model elements themselves.
+ * class with the selection states of the model elements themselves. The rules are compiled from a snapshot of the
+ * properties, which is taken when the helper is initialized.
  * @author Timur Saglam
  */
 public class SelectionHelper {
     private static final Logger logger = LogManager.getLogger(SelectionHelper.class.getName());
+    private final boolean[] fieldModifiers;
+    private final boolean[] methodModifiers;
+    private final boolean[] methodTypes;
     private final ExtractionProperties properties;
-    private final Map<String, Integer> reportMap;
+    private final int[] reportCounters;
+    private Set<BinaryProperty> snapshot;
 
     /**
-     * Simple constructor, sets the {@link ExtractionProperties} object.
+     * Simple constructor, sets the {@link ExtractionProperties} object and initializes the helper.
      * @param properties are the extraction properties.
      */
     public SelectionHelper(ExtractionProperties properties) {
         this.properties = properties;
-        reportMap = new HashMap<String, Integer>();
+        fieldModifiers = new boolean[AccessLevelModifier.values().length];
+        methodModifiers = new boolean[AccessLevelModifier.values().length];
+        methodTypes = new boolean[MethodType.values().length];
+        reportCounters = new int[ReportedElement.values().length];
+        initialize();
     }
 
     /**
@@ -53,13 +84,9 @@ public class SelectionHelper {
      * @return true if it may be generated.
      */
     public boolean allowsGenerating(ExtractedField attribute) {
-        AccessLevelModifier modifier = attribute.getModifier();
-        boolean allowed = !attribute.isStatic() || properties.get(BinaryProperty.STATIC_FIELDS);
-        allowed &= modifier != PUBLIC || properties.get(BinaryProperty.PUBLIC_FIELDS);
-        allowed &= modifier != NO_MODIFIER || properties.get(BinaryProperty.DEFAULT_FIELDS);
-        allowed &= modifier != PROTECTED || properties.get(BinaryProperty.PROTECTED_FIELDS);
-        allowed &= modifier != PRIVATE || properties.get(BinaryProperty.PRIVATE_FIELDS);
-        return report("attribute", allowed);
+        boolean allowed = fieldModifiers[attribute.getModifier().ordinal()];
+        allowed &= !attribute.isStatic() || snapshot.contains(STATIC_FIELDS);
+        return report(ReportedElement.ATTRIBUTE, allowed);
     }
 
     /**
@@ -68,19 +95,11 @@ public class SelectionHelper {
      * @return true if it may be generated.
      */
     public boolean allowsGenerating(ExtractedMethod method) {
-        AccessLevelModifier modifier = method.getModifier();
         MethodType type = method.getMethodType();
-        boolean allowed = method.isSelected();
-        allowed &= type != MethodType.CONSTRUCTOR || properties.get(BinaryProperty.CONSTRUCTORS);
-        allowed &= !method.isAbstract() || properties.get(BinaryProperty.ABSTRACT_METHODS);
-        allowed &= !method.isStatic() || properties.get(BinaryProperty.STATIC_METHODS);
-        allowed &= modifier != NO_MODIFIER || properties.get(BinaryProperty.DEFAULT_METHODS);
-        allowed &= modifier != PUBLIC || properties.get(BinaryProperty.PUBLIC_METHODS);
-        allowed &= modifier != PROTECTED || properties.get(BinaryProperty.PROTECTED_METHODS);
-        allowed &= modifier != PRIVATE || properties.get(BinaryProperty.PRIVATE_METHODS);
-        allowed &= type != MethodType.ACCESSOR || properties.get(BinaryProperty.ACCESS_METHODS);
-        allowed &= type != MethodType.MUTATOR || properties.get(BinaryProperty.ACCESS_METHODS);
-        return report(type.toString(), allowed);
+        boolean allowed = method.isSelected() && methodTypes[type.ordinal()] && methodModifiers[method.getModifier().ordinal()];
+        allowed &= !method.isAbstract() || snapshot.contains(ABSTRACT_METHODS);
+        allowed &= !method.isStatic() || snapshot.contains(STATIC_METHODS);
+        return report(ReportedElement.of(type), allowed);
     }
 
     /**
@@ -90,8 +109,8 @@ public class SelectionHelper {
      */
     public boolean allowsGenerating(ExtractedPackage subpackage) {
         boolean allowed = subpackage.isSelected();
-        allowed &= !subpackage.isEmpty() || properties.get(BinaryProperty.EMPTY_PACKAGES);
-        return report("package", allowed);
+        allowed &= !subpackage.isEmpty() || snapshot.contains(EMPTY_PACKAGES);
+        return report(ReportedElement.PACKAGE, allowed);
     }
 
     /**
@@ -100,16 +119,16 @@ public class SelectionHelper {
      * @return true if it may be generated.
      */
     public boolean allowsGenerating(ExtractedType type) {
-        boolean allowed = type.isSelected() && (!type.isInnerType() || properties.get(BinaryProperty.NESTED_TYPES));
+        boolean allowed = type.isSelected() && (!type.isInnerType() || snapshot.contains(NESTED_TYPES));
         if (type instanceof ExtractedClass) {
-            allowed &= properties.get(BinaryProperty.CLASSES);
-            allowed &= !((ExtractedClass) type).isThrowable() || properties.get(BinaryProperty.THROWABLES);
+            allowed &= snapshot.contains(CLASSES) && (!((ExtractedClass) type).isThrowable() || snapshot.contains(THROWABLES));
+            return report(ReportedElement.CLASS, allowed);
         } else if (type instanceof ExtractedInterface) {
-            allowed &= properties.get(BinaryProperty.INTERFACES);
+            return report(ReportedElement.INTERFACE, allowed && snapshot.contains(INTERFACES));
         } else if (type instanceof ExtractedEnum) {
-            allowed &= properties.get(BinaryProperty.ENUMS);
+            return report(ReportedElement.ENUM, allowed && snapshot.contains(ENUMS));
         }
-        return report(type.getClass().getSimpleName().substring(9).toLowerCase(), allowed); // class, interface, enum
+        return allowed;
     }
 
     /**
@@ -121,11 +140,11 @@ public class SelectionHelper {
      */
     public boolean allowsMultiplicities(ExtractedDataType dataType) {
         if (dataType instanceof ExtractedField) {
-            return properties.get(BinaryProperty.FIELD_MULTIPLICITIES);
+            return snapshot.contains(FIELD_MULTIPLICITIES);
         } else if (dataType instanceof ExtractedParameter) {
-            return properties.get(BinaryProperty.PARAMETER_MULTIPLICITIES);
+            return snapshot.contains(PARAMETER_MULTIPLICITIES);
         } else {
-            return properties.get(BinaryProperty.RETURN_TYPE_MULTIPLICITIES);
+            return snapshot.contains(RETURN_TYPE_MULTIPLICITIES);
         }
     }
 
@@ -134,7 +153,7 @@ public class SelectionHelper {
      * @return true if they are.
      */
     public boolean allowsUnchangeable() {
-        return properties.get(BinaryProperty.FINAL_AS_UNCHANGEABLE);
+        return snapshot.contains(FINAL_AS_UNCHANGEABLE);
     }
 
     /**
@@ -142,16 +161,16 @@ public class SelectionHelper {
      * intermediate models how many of them were not generated due to selection or properties.
      */
     public void generateReport() {
-        if (reportMap.isEmpty()) {
+        if (Arrays.stream(reportCounters).allMatch(counter -> counter == 0)) {
             logger.info("There were no ungenerated elements.");
         } else {
             logger.info("There were ungenerated elements because of selection and/or properties:");
-            LinkedList<String> list = new LinkedList<String>(reportMap.keySet());
-            Collections.sort(list); // sort keys
-            String pluralSuffix;
-            for (String element : list) { // for every reported element
-                pluralSuffix = element.endsWith("s") ? "es" : "s"; // add plural suffix
-                logger.info("   " + element + pluralSuffix + ": " + reportMap.get(element)); // print
+            for (ReportedElement element : ReportedElement.values()) { // already in alphabetical order
+                int counter = reportCounters[element.ordinal()];
+                if (counter > 0) {
+                    String pluralSuffix = element.label.endsWith("s") ? "es" : "s"; // add plural suffix
+                    logger.info("   " + element.label + pluralSuffix + ": " + counter); // print
+                }
             }
         }
     }
@@ -164,20 +183,96 @@ public class SelectionHelper {
         return properties;
     }
 
+    /**
+     * Takes a snapshot of the binary {@link ExtractionProperties} and compiles the selection rules for every kind of
+     * element from it. Also resets the report. Call this before generating a metamodel, because the properties can
+     * change between two generations.
+     */
+    public final void initialize() {
+        EnumSet<BinaryProperty> enabledProperties = EnumSet.noneOf(BinaryProperty.class);
+        for (BinaryProperty property : BinaryProperty.values()) {
+            if (properties.get(property)) {
+                enabledProperties.add(property);
+            }
+        }
+        snapshot = enabledProperties;
+        compile(fieldModifiers, PUBLIC_FIELDS, DEFAULT_FIELDS, PROTECTED_FIELDS, PRIVATE_FIELDS);
+        compile(methodModifiers, PUBLIC_METHODS, DEFAULT_METHODS, PROTECTED_METHODS, PRIVATE_METHODS);
+        Arrays.fill(methodTypes, true); // main and normal methods are always allowed
+        methodTypes[MethodType.CONSTRUCTOR.ordinal()] = snapshot.contains(CONSTRUCTORS);
+        methodTypes[MethodType.ACCESSOR.ordinal()] = snapshot.contains(ACCESS_METHODS);
+        methodTypes[MethodType.MUTATOR.ordinal()] = snapshot.contains(ACCESS_METHODS);
+        Arrays.fill(reportCounters, 0);
+    }
+
+    /**
+     * Compiles the rules for the access level modifiers of a member kind into a lookup table, which is indexed by the
+     * ordinal of the {@link AccessLevelModifier}.
+     */
+    private void compile(boolean[] table, BinaryProperty publicMembers, BinaryProperty defaultMembers, BinaryProperty protectedMembers,
+            BinaryProperty privateMembers) {
+        table[PUBLIC.ordinal()] = snapshot.contains(publicMembers);
+        table[NO_MODIFIER.ordinal()] = snapshot.contains(defaultMembers);
+        table[PROTECTED.ordinal()] = snapshot.contains(protectedMembers);
+        table[PRIVATE.ordinal()] = snapshot.contains(privateMembers);
+    }
+
     /**
      * Increases the number of ungenerated features for a specific type of features.
+     * @param element is the specific type of features.
      * @param allowed specifies whether the generation should be allowed or not.
-     * @param feature is the specific type of features.
      * @return the value of the parameter allowed
      */
-    private boolean report(String feature, boolean allowed) {
+    private boolean report(ReportedElement element, boolean allowed) {
         if (!allowed) { // if generating was not allowed:
-            if (reportMap.containsKey(feature)) { // if has already reported on feature
-                reportMap.put(feature, reportMap.get(feature) + 1); // increase
-            } else { // if never reported on feature
-                reportMap.put(feature, 1); // create new entry for feature
-            }
+            reportCounters[element.ordinal()]++; // increase
         }
         return allowed; // return whether it was allowed or not.
     }
-}
\ No newline at end of file
+
+    /**
+     * The kinds of elements that are counted in the report. The constants are declared in alphabetical order of their
+     * labels, which is the order of the report.
+     */
+    private enum ReportedElement {
+        ACCESSOR_METHOD(MethodType.ACCESSOR),
+        ATTRIBUTE("attribute"),
+        CLASS("class"),
+        CONSTRUCTOR_METHOD(MethodType.CONSTRUCTOR),
+        ENUM("enum"),
+        INTERFACE("interface"),
+        MAIN_METHOD(MethodType.MAIN),
+        MUTATOR_METHOD(MethodType.MUTATOR),
+        NORMAL_METHOD(MethodType.NORMAL),
+        PACKAGE("package");
+
+        private static final ReportedElement[] METHODS = new ReportedElement[MethodType.values().length];
+        private final String label;
+        private final MethodType methodType;
+
+        static {
+            for (ReportedElement element : values()) {
+                if (element.methodType != null) {
+                    METHODS[element.methodType.ordinal()] = element;
+                }
+            }
+        }
+
+        ReportedElement(MethodType methodType) {
+            this.label = methodType.toString();
+            this.methodType = methodType;
+        }
+
+        ReportedElement(String label) {
+            this.label = label;
+            this.methodType = null;
+        }
+
+        /**
+         * Returns the reported element for a {@link MethodType}.
+         */
+        static ReportedElement of(MethodType methodType) {
+            return METHODS[methodType.ordinal()];
+        }
+    }
+}
@@ -0,0 +1,964 @@
+package eme.generator;
+
+import static eme.properties.BinaryProperty.DUMMY_CLASS;
+import static eme.properties.BinaryProperty.ROOT_CONTAINER;
+import static eme.properties.TextProperty.DATATYPE_PACKAGE;
+import static eme.properties.TextProperty.DEFAULT_PACKAGE;
+import static eme.properties.TextProperty.DUMMY_NAME;
+import static eme.properties.TextProperty.NESTED_TYPE_PACKAGE;
+import static eme.properties.TextProperty.ROOT_NAME;
+
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+import org.apache.log4j.LogManager;
+import org.apache.log4j.Logger;
+
+import eme.model.ExtractedClass;
+import eme.model.ExtractedEnum;
+import eme.model.ExtractedEnumConstant;
+import eme.model.ExtractedInterface;
+import eme.model.ExtractedMethod;
+import eme.model.ExtractedPackage;
+import eme.model.ExtractedType;
+import eme.model.IntermediateModel;
+import eme.model.datatypes.ExtractedDataType;
+import eme.model.datatypes.ExtractedField;
+import eme.model.datatypes.ExtractedParameter;
+import eme.model.datatypes.ExtractedTypeParameter;
+import eme.model.datatypes.WildcardStatus;
+import eme.properties.ExtractionProperties;
+
+/**
+ * Low-memory alternative to the {@link EPackageGenerator}. Writes an Ecore metamodel from an {@link IntermediateModel}
+ * directly as XMI into a stream, without building the EMF object graph. It applies the same mapping rules as the
+ * {@link EPackageGenerator}, the {@link EDataTypeGenerator} and the {@link EMemberGenerator}, including generics,
+ * multiplicities, nested type packages and the external data type package.
+ * <p>
+ * The writer uses three passes: The first pass computes the URI fragments of all generated types, the second pass
+ * writes all types into a discarding stream to find the used external types, and the third pass writes the actual file
+ * package by package. Only names and URI fragments are kept in memory, the members of a type are written directly.
+ * <p>
+ * The output is the same as the one of the {@link EPackageGenerator}, including its order dependency: The generic
+ * arguments of a super class are resolved while the subclass is generated, which means classifiers that are generated
+ * later and the type parameters of the subclass are used as external data types. The second pass therefore starts with
+ * the super classes in the generation order of the {@link EPackageGenerator}.
+ * @author Timur Saglam
+ */
+public class StreamingEcoreWriter {
+    private static final String ECORE_NS = "http://www.eclipse.org/emf/2002/Ecore";
+    private static final String ECORE_PREFIX = "ecore";
+    private static final Logger logger = LogManager.getLogger(StreamingEcoreWriter.class.getName());
+    private static final String XMI_NS = "http://www.omg.org/XMI";
+    private static final String XSI_NS = "http://www.w3.org/2001/XMLSchema-instance";
+    private final Map<String, String> basicTypes;
+    private boolean collecting;
+    private String dataTypeFragment;
+    private Set<String> eClasses;
+    private Map<String, ExternalType> externalTypes;
+    private Map<String, Integer> generationOrder;
+    private Map<ExtractedPackage, InnerTypePackage> innerTypePackages;
+    private IntermediateModel model;
+    private Map<ExtractedPackage, String> packageFragments;
+    private final ExtractionProperties properties;
+    private DataTypePackage dataTypes;
+    private final SelectionHelper selector;
+    private Map<String, String> typeFragments;
+    private List<ExtractedType> types;
+    private XMLStreamWriter writer;
+
+    /**
+     * Basic constructor, sets the properties.
+     * @param properties is the {@link ExtractionProperties} class for the extraction.
+     */
+    public StreamingEcoreWriter(ExtractionProperties properties) {
+        this.properties = properties;
+        selector = new SelectionHelper(properties);
+        basicTypes = new HashMap<String, String>();
+        fillMap();
+    }
+
+    /**
+     * Writes the Ecore metamodel of an {@link IntermediateModel} into a stream. The stream is not closed.
+     * @param model is the {@link IntermediateModel}.
+     * @param stream is the stream for the XMI content of the Ecore file.
+     * @throws XMLStreamException if the content could not be written.
+     */
+    public void write(IntermediateModel model, OutputStream stream) throws XMLStreamException {
+        this.model = model;
+        selector.initialize(); // snapshot the current properties
+        eClasses = new HashSet<String>();
+        externalTypes = new LinkedHashMap<String, ExternalType>();
+        generationOrder = new LinkedHashMap<String, Integer>();
+        innerTypePackages = new HashMap<ExtractedPackage, InnerTypePackage>();
+        packageFragments = new HashMap<ExtractedPackage, String>();
+        typeFragments = new HashMap<String, String>();
+        types = new ArrayList<ExtractedType>();
+        try {
+            layout(model.getRoot(), "/", createRootSegments()); // first pass
+            collecting = true;
+            writer = XMLOutputFactory.newInstance().createXMLStreamWriter(new DiscardingStream());
+            resolveSuperClasses(); // second pass
+            for (ExtractedType type : types) {
+                writeClassifier(type, "");
+            }
+            selector.generateReport();
+            layoutDataTypes();
+            collecting = false;
+            writer = XMLOutputFactory.newInstance().createXMLStreamWriter(stream, "UTF-8");
+            writeDocument(); // third pass
+        } finally { // release the model:
+            writer = null;
+            types = null;
+            typeFragments = null;
+            externalTypes = null;
+            generationOrder = null;
+            innerTypePackages = null;
+            packageFragments = null;
+            dataTypes = null;
+        }
+    }
+
+    /**
+     * Adds all generic arguments from an {@link ExtractedDataType} to a {@link GenericType}, mirrors
+     * {@link EDataTypeGenerator#addGenericArguments}.
+     */
+    private void addGenericArguments(GenericType genericType, ExtractedDataType dataType, TypeScope scope) {
+        for (ExtractedDataType genericArgument : dataType.getGenericArguments()) {
+            GenericType argument = new GenericType();
+            if (genericArgument.isWildcard()) { // wildcard argument:
+                WildcardStatus status = genericArgument.getWildcardStatus();
+                if (status == WildcardStatus.LOWER_BOUND) {
+                    argument.lowerBound = createBound(genericArgument, scope);
+                } else if (status != WildcardStatus.UNBOUND) {
+                    argument.upperBound = createBound(genericArgument, scope);
+                }
+            } else { // normal argument or type parameter
+                setBoundType(argument, genericArgument, scope);
+            }
+            addGenericArguments(argument, genericArgument, scope); // recursively add generic arguments
+            genericType.arguments.add(argument);
+        }
+    }
+
+    /**
+     * Adds the {@link GenericType} of a super type to a list if the super type is generated.
+     */
+    private void addSuperType(List<GenericType> genericTypes, ExtractedDataType superType, TypeScope scope) {
+        if (eClasses.contains(superType.getFullType())) { // super type is generated
+            genericTypes.add(createDataType(superType, scope));
+        } else if (!model.contains(superType.getFullType()) && collecting) { // report only once
+            logger.warn("Could not use external type as super type: " + superType.getFullType());
+        }
+    }
+
+    /**
+     * Creates a {@link GenericType} that is a bound of a type parameter or a wild card.
+     */
+    private GenericType createBound(ExtractedDataType bound, TypeScope scope) {
+        GenericType genericType = new GenericType();
+        setBoundType(genericType, bound, scope);
+        return genericType;
+    }
+
+    /**
+     * Creates the {@link GenericType} of a typed element, mirrors {@link EDataTypeGenerator#addDataType}.
+     */
+    private GenericType createDataType(ExtractedDataType dataType, TypeScope scope) {
+        GenericType genericType = createBound(dataType, scope);
+        addGenericArguments(genericType, dataType, scope);
+        return genericType;
+    }
+
+    /**
+     * Creates the segment counter of the root package, which already contains the root element.
+     */
+    private SegmentCounter createRootSegments() {
+        SegmentCounter segments = new SegmentCounter();
+        String rootElement = getRootElementName();
+        if (rootElement != null) {
+            segments.next(rootElement);
+        }
+        return segments;
+    }
+
+    /**
+     * Creates the {@link GenericType}s of the super types of an {@link ExtractedType}, mirrors
+     * {@link EClassifierGenerator}: The super class is resolved while the classifier is generated, the super interfaces
+     * when it is completed.
+     */
+    private List<GenericType> createSuperTypes(ExtractedType type, TypeScope scope) {
+        List<GenericType> genericTypes = new ArrayList<GenericType>();
+        if (type instanceof ExtractedClass && ((ExtractedClass) type).getSuperClass() != null) {
+            addSuperType(genericTypes, ((ExtractedClass) type).getSuperClass(), new TypeScope(generationOrder.get(type.getFullName())));
+        }
+        for (ExtractedDataType superInterface : type.getSuperInterfaces()) {
+            addSuperType(genericTypes, superInterface, scope);
+        }
+        return genericTypes;
+    }
+
+    /**
+     * Default data type map entries, mirrors the map of the {@link EDataTypeGenerator}.
+     */
+    private void fillMap() {
+        basicTypes.put("boolean", "EBoolean");
+        basicTypes.put("byte", "EByte");
+        basicTypes.put("char", "EChar");
+        basicTypes.put("double", "EDouble");
+        basicTypes.put("float", "EFloat");
+        basicTypes.put("int", "EInt");
+        basicTypes.put("long", "ELong");
+        basicTypes.put("short", "EShort");
+        basicTypes.put("java.lang.Boolean", "EBooleanObject");
+        basicTypes.put("java.lang.Byte", "EByteObject");
+        basicTypes.put("java.lang.Character", "ECharacterObject");
+        basicTypes.put("java.lang.Double", "EDoubleObject");
+        basicTypes.put("java.lang.Float", "EFloatObject");
+        basicTypes.put("java.lang.Integer", "EIntegerObject");
+        basicTypes.put("java.lang.Long", "ELongObject");
+        basicTypes.put("java.lang.Short", "EShortObject");
+        basicTypes.put("java.lang.String", "EString");
+        basicTypes.put("java.lang.Object", "EJavaObject");
+        basicTypes.put("java.lang.Class", "EJavaClass");
+    }
+
+    /**
+     * Returns the relevant data type of a data type, mirrors {@link EMemberGenerator}: The type of the list elements if
+     * the data type is represented through multiplicities, or the data type itself.
+     */
+    private ExtractedDataType getRelevantDataType(ExtractedDataType dataType) {
+        if (isMultiplicityRepresentable(dataType)) {
+            return dataType.getGenericArguments().get(0);
+        }
+        return dataType;
+    }
+
+    /**
+     * Returns the name of the root element, or null if there is none.
+     */
+    private String getRootElementName() {
+        if (properties.get(ROOT_CONTAINER)) {
+            return properties.get(ROOT_NAME);
+        } else if (properties.get(DUMMY_CLASS)) {
+            return properties.get(DUMMY_NAME);
+        }
+        return null;
+    }
+
+    /**
+     * Checks whether a data type is represented through multiplicities.
+     */
+    private boolean isMultiplicityRepresentable(ExtractedDataType dataType) {
+        return dataType.isListType() && !dataType.getGenericArguments().get(0).isWildcard() && selector.allowsMultiplicities(dataType);
+    }
+
+    /**
+     * First pass: Decides which packages and types are generated and computes their URI fragments. Uses the order of
+     * the third pass, because fragments contain an index if there are multiple elements with the same name.
+     */
+    private void layout(ExtractedPackage extractedPackage, String fragment, SegmentCounter segments) {
+        packageFragments.put(extractedPackage, fragment);
+        InnerTypePackage innerTypes = new InnerTypePackage(null);
+        for (ExtractedType type : extractedPackage.getTypes()) {
+            if (selector.allowsGenerating(type)) {
+                types.add(type);
+                if (!(type instanceof ExtractedEnum)) {
+                    eClasses.add(type.getFullName());
+                }
+                if (type.isInnerType()) { // relative path of inner type to current package:
+                    innerTypes.add(type, type.getFullName().replace(extractedPackage.getFullName() + '.', ""), properties.get(NESTED_TYPE_PACKAGE));
+                } else {
+                    typeFragments.put(type.getFullName(), fragment + '/' + segments.next(type.getName()));
+                }
+            }
+        }
+        if (extractedPackage.isRoot()) {
+            dataTypeFragment = fragment + '/' + segments.next(properties.get(DATATYPE_PACKAGE)); // first subpackage
+        }
+        for (ExtractedPackage subpackage : extractedPackage.getSubpackages()) {
+            if (selector.allowsGenerating(subpackage)) {
+                layout(subpackage, fragment + '/' + segments.next(subpackage.getName()), new SegmentCounter());
+            }
+        }
+        if (!innerTypes.subpackages.isEmpty()) {
+            innerTypePackages.put(extractedPackage, innerTypes);
+            for (InnerTypePackage innerTypePackage : innerTypes.subpackages.values()) {
+                layout(innerTypePackage, fragment, segments);
+            }
+        }
+    }
+
+    /**
+     * Computes the URI fragments of an inner type package, its types and its subpackages.
+     */
+    private void layout(InnerTypePackage innerTypePackage, String parentFragment, SegmentCounter parentSegments) {
+        String fragment = parentFragment + '/' + parentSegments.next(innerTypePackage.name);
+        SegmentCounter segments = new SegmentCounter();
+        for (ExtractedType type : innerTypePackage.types) {
+            typeFragments.put(type.getFullName(), fragment + '/' + segments.next(type.getName()));
+        }
+        for (InnerTypePackage subpackage : innerTypePackage.subpackages.values()) {
+            layout(subpackage, fragment, segments);
+        }
+    }
+
+    /**
+     * Builds the sorted external type package hierarchy and computes the URI fragments of the external types, mirrors
+     * the {@link eme.generator.hierarchies.ExternalTypeHierarchy}.
+     */
+    private void layoutDataTypes() {
+        String name = properties.get(DATATYPE_PACKAGE);
+        dataTypes = new DataTypePackage(name, getRootURI() + "." + name);
+        for (ExternalType externalType : externalTypes.values()) {
+            DataTypePackage current = dataTypes;
+            for (String segment : packagePath(externalType.instanceTypeName)) {
+                current = current.getSubpackage(segment);
+            }
+            current.types.put(externalType.name, externalType);
+        }
+        layoutDataTypes(dataTypes, dataTypeFragment);
+    }
+
+    /**
+     * Computes the URI fragments of a data type package, its types and its subpackages.
+     */
+    private void layoutDataTypes(DataTypePackage dataTypePackage, String fragment) {
+        SegmentCounter segments = new SegmentCounter();
+        for (ExternalType externalType : dataTypePackage.types.values()) {
+            externalType.fragment = fragment + '/' + segments.next(externalType.name);
+        }
+        for (DataTypePackage subpackage : dataTypePackage.subpackages.values()) {
+            layoutDataTypes(subpackage, fragment + '/' + segments.next(subpackage.name));
+        }
+    }
+
+    /**
+     * Computes the order in which the {@link EPackageGenerator} generates the classifiers of a package: The
+     * subpackages first, then the types of the package.
+     */
+    private void orderGeneration(ExtractedPackage extractedPackage, Map<String, ExtractedType> generatedTypes) {
+        for (ExtractedPackage subpackage : extractedPackage.getSubpackages()) {
+            if (packageFragments.containsKey(subpackage)) {
+                orderGeneration(subpackage, generatedTypes);
+            }
+        }
+        for (ExtractedType type : extractedPackage.getTypes()) {
+            if (generatedTypes.containsKey(type.getFullName())) {
+                orderGeneration(type, generatedTypes);
+            }
+        }
+    }
+
+    /**
+     * Adds a type to the generation order. The super class of a class is generated right before the class.
+     */
+    private void orderGeneration(ExtractedType type, Map<String, ExtractedType> generatedTypes) {
+        if (!generationOrder.containsKey(type.getFullName())) {
+            if (type instanceof ExtractedClass && ((ExtractedClass) type).getSuperClass() != null) {
+                ExtractedType superClass = generatedTypes.get(((ExtractedClass) type).getSuperClass().getFullType());
+                if (superClass != null) {
+                    orderGeneration(superClass, generatedTypes);
+                }
+            }
+            generationOrder.put(type.getFullName(), generationOrder.size());
+        }
+    }
+
+    /**
+     * Extracts the package path from an full name (e.g. "java.lang.String" => ["java", "lang"]).
+     */
+    private String[] packagePath(String name) {
+        if (name.contains(".")) {
+            return name.substring(0, name.lastIndexOf('.')).split("\\.");
+        }
+        return new String[] {};
+    }
+
+    /**
+     * Returns the reference to the classifier of a data type, which is either a generated classifier, an Ecore data
+     * type or an external data type. Mirrors the generation of the {@link EDataTypeGenerator}, which means unknown
+     * external types are registered. Generated classifiers are only used if they are generated in the scope.
+     */
+    private String reference(ExtractedDataType dataType, TypeScope scope) {
+        String fullName = dataType.getFullType();
+        if (typeFragments.containsKey(fullName) && generationOrder.get(fullName) < scope.generatedTypes) { // custom classifier
+            return "#" + typeFragments.get(fullName);
+        } else if (basicTypes.containsKey(fullName)) { // basic type
+            return ECORE_PREFIX + ":EDataType " + ECORE_NS + "#//" + basicTypes.get(fullName);
+        }
+        ExternalType externalType = externalTypes.get(fullName);
+        if (externalType == null) { // new external type
+            externalType = registerExternalType(dataType, scope.generatedTypes);
+        }
+        return "#" + externalType.fragment;
+    }
+
+    /**
+     * Registers an external data type, mirrors {@link EDataTypeGenerator}. The bounds of its type parameters are
+     * resolved with the classifiers that are generated at that time.
+     */
+    private ExternalType registerExternalType(ExtractedDataType dataType, int generatedTypes) {
+        if (!collecting) {
+            throw new IllegalStateException("External type was not found in the first passes: " + dataType);
+        }
+        ExternalType externalType = new ExternalType(dataType.getType(), dataType.getFullType());
+        externalTypes.put(dataType.getFullType(), externalType); // store before resolving the type parameters
+        String typeName = dataType.getFullArrayType();
+        if (model.containsExternal(typeName)) { // external type
+            externalType.typeParameters = model.getExternalType(typeName).getTypeParameters();
+        } else if (model.contains(typeName)) { // internal type, but not selected
+            externalType.typeParameters = model.getType(typeName).getTypeParameters();
+        } else if (!dataType.getGenericArguments().isEmpty()) { // if external type is unknown
+            logger.error("Can not resolve type parameters for " + dataType.toString());
+        }
+        TypeScope scope = new TypeScope(null, externalType.typeParameters, generatedTypes);
+        for (ExtractedTypeParameter typeParameter : externalType.typeParameters) {
+            for (ExtractedDataType bound : typeParameter.getBounds()) {
+                createTypeParameterBound(bound, scope); // registers the types of the bounds
+            }
+        }
+        return externalType;
+    }
+
+    /**
+     * Creates the bound of a type parameter, or null for the ignored object bound.
+     */
+    private GenericType createTypeParameterBound(ExtractedDataType bound, TypeScope scope) {
+        if (Object.class.getName().equals(bound.getFullType())) {
+            return null; // ignore object bound
+        }
+        GenericType genericType = createBound(bound, scope);
+        addGenericArguments(genericType, bound, scope);
+        return genericType;
+    }
+
+    /**
+     * Returns the URI of the root package.
+     */
+    private String getRootURI() {
+        return model.getProjectName() + "/" + properties.get(DEFAULT_PACKAGE);
+    }
+
+    /**
+     * Resolves the generic arguments of the generated super classes in the order of the {@link EPackageGenerator}.
+     * The {@link EClassifierGenerator} resolves them while it generates the subclass, which means that only the
+     * classifiers that were generated before are known and the type parameters of the subclass are not built yet. All
+     * other types are used as external data types, which are registered here before any other use.
+     */
+    private void resolveSuperClasses() {
+        Map<String, ExtractedType> generatedTypes = new HashMap<String, ExtractedType>();
+        for (ExtractedType type : types) {
+            generatedTypes.put(type.getFullName(), type);
+        }
+        orderGeneration(model.getRoot(), generatedTypes);
+        for (String fullName : generationOrder.keySet()) {
+            ExtractedType type = generatedTypes.get(fullName);
+            if (type instanceof ExtractedClass && ((ExtractedClass) type).getSuperClass() != null) {
+                ExtractedDataType superClass = ((ExtractedClass) type).getSuperClass();
+                if (eClasses.contains(superClass.getFullType())) {
+                    createDataType(superClass, new TypeScope(generationOrder.get(fullName)));
+                }
+            }
+        }
+    }
+
+    /**
+     * Sets the type of a {@link GenericType}, which is either a type parameter from the {@link TypeScope} or a
+     * classifier.
+     */
+    private void setBoundType(GenericType genericType, ExtractedDataType boundType, TypeScope scope) {
+        String typeParameter = scope.find(boundType);
+        if (typeParameter == null) {
+            genericType.classifier = reference(boundType, scope);
+        } else {
+            genericType.typeParameter = typeParameter;
+        }
+    }
+
+    /**
+     * Writes the XMI attribute of a list of simple generic types or, if any of them is not simple, nothing.
+     * @return true if the attribute was written.
+     */
+    private boolean writeAttribute(String name, List<GenericType> genericTypes) throws XMLStreamException {
+        StringBuilder value = new StringBuilder();
+        for (GenericType genericType : genericTypes) {
+            if (!genericType.isSimple()) {
+                return false;
+            }
+            value.append(value.length() == 0 ? "" : " ").append(genericType.classifier);
+        }
+        if (value.length() > 0) {
+            writer.writeAttribute(name, value.toString());
+        }
+        return true;
+    }
+
+    /**
+     * Writes an {@link ExtractedType} as classifier with all its members.
+     */
+    private void writeClassifier(ExtractedType type, String fragment) throws XMLStreamException {
+        TypeScope scope = new TypeScope(fragment, type.getTypeParameters());
+        if (type instanceof ExtractedEnum) {
+            writeStartClassifier("EEnum", type.getName());
+            writeTypeParameters(type.getTypeParameters(), scope);
+            int value = 0;
+            for (ExtractedEnumConstant constant : ((ExtractedEnum) type).getConstants()) {
+                writer.writeEmptyElement("eLiterals");
+                writer.writeAttribute("name", constant.getName());
+                if (value > 0) {
+                    writer.writeAttribute("value", Integer.toString(value));
+                }
+                value++;
+            }
+        } else {
+            boolean isInterface = type instanceof ExtractedInterface;
+            writeStartClassifier("EClass", type.getName());
+            if (isInterface || ((ExtractedClass) type).isAbstract()) {
+                writer.writeAttribute("abstract", "true");
+            }
+            if (isInterface) {
+                writer.writeAttribute("interface", "true");
+            }
+            List<GenericType> superTypes = createSuperTypes(type, scope);
+            boolean simpleSuperTypes = writeAttribute("eSuperTypes", superTypes);
+            writeTypeParameters(type.getTypeParameters(), scope);
+            SegmentCounter segments = new SegmentCounter();
+            for (ExtractedTypeParameter typeParameter : type.getTypeParameters()) {
+                segments.next(typeParameter.getIdentifier());
+            }
+            for (ExtractedMethod method : type.getMethods()) {
+                if (selector.allowsGenerating(method)) {
+                    writeOperation(method, new TypeScope(scope, fragment + '/' + segments.next(method.getName()), method.getTypeParameters()));
+                }
+            }
+            for (ExtractedField field : type.getFields()) {
+                if (selector.allowsGenerating(field)) {
+                    writeField(field, scope);
+                }
+            }
+            if (!simpleSuperTypes) {
+                for (GenericType superType : superTypes) {
+                    writeGenericType("eGenericSuperTypes", superType);
+                }
+            }
+        }
+        writer.writeEndElement();
+    }
+
+    /**
+     * Writes the external data types.
+     */
+    private void writeDataTypePackage(DataTypePackage dataTypePackage) throws XMLStreamException {
+        writeStartPackage("eSubpackages", dataTypePackage.name, dataTypePackage.nsURI);
+        for (ExternalType externalType : dataTypePackage.types.values()) {
+            writeStartClassifier("EDataType", externalType.name);
+            writer.writeAttribute("instanceClassName", externalType.instanceTypeName);
+            writeTypeParameters(externalType.typeParameters, new TypeScope(externalType.fragment, externalType.typeParameters));
+            writer.writeEndElement();
+        }
+        for (DataTypePackage subpackage : dataTypePackage.subpackages.values()) {
+            writeDataTypePackage(subpackage);
+        }
+        writer.writeEndElement();
+    }
+
+    /**
+     * Third pass: Writes the whole document.
+     */
+    private void writeDocument() throws XMLStreamException {
+        String name = properties.get(DEFAULT_PACKAGE);
+        writer.writeStartDocument("UTF-8", "1.0");
+        writer.writeStartElement(ECORE_PREFIX, "EPackage", ECORE_NS);
+        writer.writeNamespace("xmi", XMI_NS);
+        writer.writeNamespace("xsi", XSI_NS);
+        writer.writeNamespace(ECORE_PREFIX, ECORE_NS);
+        writer.writeAttribute("xmi", XMI_NS, "version", "2.0");
+        writer.writeAttribute("name", name);
+        writer.writeAttribute("nsURI", getRootURI());
+        writer.writeAttribute("nsPrefix", name);
+        writeRootElement();
+        writePackageContent(model.getRoot());
+        writer.writeEndElement();
+        writer.writeEndDocument();
+        writer.flush();
+    }
+
+    /**
+     * Writes an {@link ExtractedField} as attribute or reference, mirrors {@link EMemberGenerator}.
+     */
+    private void writeField(ExtractedField field, TypeScope scope) throws XMLStreamException {
+        ExtractedDataType dataType = getRelevantDataType(field);
+        GenericType genericType = createDataType(dataType, scope);
+        writer.writeStartElement("eStructuralFeatures");
+        boolean isReference = eClasses.contains(dataType.getFullType());
+        writer.writeAttribute("xsi", XSI_NS, "type", ECORE_PREFIX + (isReference ? ":EReference" : ":EAttribute"));
+        writer.writeAttribute("name", field.getIdentifier());
+        if (field.isFinal() && selector.allowsUnchangeable()) {
+            writer.writeAttribute("changeable", "false");
+        }
+        writeTypedElementContent(field, genericType);
+        writer.writeEndElement();
+    }
+
+    /**
+     * Writes a generic type as element with the given name.
+     */
+    private void writeGenericType(String elementName, GenericType genericType) throws XMLStreamException {
+        writer.writeStartElement(elementName);
+        if (genericType.typeParameter != null) {
+            writer.writeAttribute("eTypeParameter", genericType.typeParameter);
+        } else if (genericType.classifier != null) {
+            writer.writeAttribute("eClassifier", genericType.classifier);
+        }
+        if (genericType.upperBound != null) {
+            writeGenericType("eUpperBound", genericType.upperBound);
+        }
+        for (GenericType argument : genericType.arguments) {
+            writeGenericType("eTypeArguments", argument);
+        }
+        if (genericType.lowerBound != null) {
+            writeGenericType("eLowerBound", genericType.lowerBound);
+        }
+        writer.writeEndElement();
+    }
+
+    /**
+     * Writes the inner type packages.
+     */
+    private void writeInnerTypePackage(InnerTypePackage innerTypePackage, String nsURI) throws XMLStreamException {
+        String packageURI = nsURI + "." + innerTypePackage.name;
+        writeStartPackage("eSubpackages", innerTypePackage.name, packageURI);
+        for (ExtractedType type : innerTypePackage.types) {
+            writeClassifier(type, typeFragments.get(type.getFullName()));
+        }
+        for (InnerTypePackage subpackage : innerTypePackage.subpackages.values()) {
+            writeInnerTypePackage(subpackage, packageURI);
+        }
+        writer.writeEndElement();
+    }
+
+    /**
+     * Writes an {@link ExtractedMethod} as operation, mirrors {@link EMemberGenerator}.
+     */
+    private void writeOperation(ExtractedMethod method, TypeScope scope) throws XMLStreamException {
+        writer.writeStartElement("eOperations");
+        writer.writeAttribute("name", method.getName());
+        List<GenericType> exceptions = new ArrayList<GenericType>();
+        for (ExtractedDataType exception : method.getThrowsDeclarations()) {
+            exceptions.add(createBound(exception, scope));
+        }
+        boolean simpleExceptions = writeAttribute("eExceptions", exceptions);
+        ExtractedDataType returnType = method.getReturnType();
+        if (returnType == null) { // void method
+            writeTypeParameters(method.getTypeParameters(), scope);
+        } else {
+            GenericType genericType = createDataType(getRelevantDataType(returnType), scope);
+            if (isMultiplicityRepresentable(returnType)) {
+                writer.writeAttribute("upperBound", "-1");
+            }
+            if (genericType.isSimple()) {
+                writer.writeAttribute("eType", genericType.classifier);
+            } else {
+                writeGenericType("eGenericType", genericType);
+            }
+            writeTypeParameters(method.getTypeParameters(), scope);
+        }
+        for (ExtractedParameter parameter : method.getParameters()) {
+            writer.writeStartElement("eParameters");
+            writer.writeAttribute("name", parameter.getIdentifier());
+            writeTypedElementContent(parameter, createDataType(getRelevantDataType(parameter), scope));
+            writer.writeEndElement();
+        }
+        if (!simpleExceptions) {
+            for (GenericType exception : exceptions) {
+                writeGenericType("eGenericExceptions", exception);
+            }
+        }
+        writer.writeEndElement();
+    }
+
+    /**
+     * Writes the classifiers and subpackages of an {@link ExtractedPackage}.
+     */
+    private void writePackageContent(ExtractedPackage extractedPackage) throws XMLStreamException {
+        String nsURI = extractedPackage.isRoot() ? getRootURI() : getRootURI() + "." + extractedPackage.getFullName();
+        for (ExtractedType type : extractedPackage.getTypes()) {
+            if (!type.isInnerType() && typeFragments.containsKey(type.getFullName())) {
+                writeClassifier(type, typeFragments.get(type.getFullName()));
+            }
+        }
+        if (extractedPackage.isRoot()) {
+            writeDataTypePackage(dataTypes);
+        }
+        for (ExtractedPackage subpackage : extractedPackage.getSubpackages()) {
+            if (packageFragments.containsKey(subpackage)) {
+                writeStartPackage("eSubpackages", subpackage.getName(), getRootURI() + "." + subpackage.getFullName());
+                writePackageContent(subpackage);
+                writer.writeEndElement();
+            }
+        }
+        InnerTypePackage innerTypes = innerTypePackages.get(extractedPackage);
+        if (innerTypes != null) {
+            for (InnerTypePackage innerTypePackage : innerTypes.subpackages.values()) {
+                writeInnerTypePackage(innerTypePackage, nsURI);
+            }
+        }
+    }
+
+    /**
+     * Writes the root container or the dummy class, mirrors {@link EPackageGenerator}.
+     */
+    private void writeRootElement() throws XMLStreamException {
+        String name = getRootElementName();
+        if (name != null) {
+            writeStartClassifier("EClass", name);
+            if (properties.get(ROOT_CONTAINER)) { // root container reference
+                writer.writeEmptyElement("eStructuralFeatures");
+                writer.writeAttribute("xsi", XSI_NS, "type", ECORE_PREFIX + ":EReference");
+                writer.writeAttribute("name", "containedElements");
+                writer.writeAttribute("upperBound", "-1");
+                writer.writeAttribute("eType", ECORE_PREFIX + ":EClass " + ECORE_NS + "#//EObject");
+                writer.writeAttribute("containment", "true");
+            }
+            writer.writeEndElement();
+        }
+    }
+
+    /**
+     * Writes the start element of a classifier.
+     */
+    private void writeStartClassifier(String type, String name) throws XMLStreamException {
+        writer.writeStartElement("eClassifiers");
+        writer.writeAttribute("xsi", XSI_NS, "type", ECORE_PREFIX + ":" + type);
+        writer.writeAttribute("name", name);
+    }
+
+    /**
+     * Writes the start element of a package.
+     */
+    private void writeStartPackage(String elementName, String name, String nsURI) throws XMLStreamException {
+        writer.writeStartElement(elementName);
+        writer.writeAttribute("name", name);
+        writer.writeAttribute("nsURI", nsURI);
+        writer.writeAttribute("nsPrefix", name);
+    }
+
+    /**
+     * Writes the attributes and the content of a typed element, which is the upper bound and the type.
+     */
+    private void writeTypedElementContent(ExtractedDataType dataType, GenericType genericType) throws XMLStreamException {
+        if (isMultiplicityRepresentable(dataType)) {
+            writer.writeAttribute("upperBound", "-1");
+        }
+        if (genericType.isSimple()) {
+            writer.writeAttribute("eType", genericType.classifier);
+        } else {
+            writeGenericType("eGenericType", genericType);
+        }
+    }
+
+    /**
+     * Writes the type parameters and their bounds.
+     */
+    private void writeTypeParameters(List<ExtractedTypeParameter> typeParameters, TypeScope scope) throws XMLStreamException {
+        for (ExtractedTypeParameter typeParameter : typeParameters) {
+            writer.writeStartElement("eTypeParameters");
+            writer.writeAttribute("name", typeParameter.getIdentifier());
+            for (ExtractedDataType bound : typeParameter.getBounds()) {
+                GenericType genericType = createTypeParameterBound(bound, scope);
+                if (genericType != null) {
+                    writeGenericType("eBounds", genericType);
+                }
+            }
+            writer.writeEndElement();
+        }
+    }
+
+    /**
+     * Package of the external data type hierarchy.
+     */
+    private static class DataTypePackage {
+        private final String name;
+        private final String nsURI;
+        private final Map<String, DataTypePackage> subpackages;
+        private final Map<String, ExternalType> types;
+
+        DataTypePackage(String name, String nsURI) {
+            this.name = name;
+            this.nsURI = nsURI;
+            subpackages = new TreeMap<String, DataTypePackage>(String.CASE_INSENSITIVE_ORDER);
+            types = new TreeMap<String, ExternalType>(String.CASE_INSENSITIVE_ORDER);
+        }
+
+        DataTypePackage getSubpackage(String subpackageName) {
+            DataTypePackage subpackage = subpackages.get(subpackageName);
+            if (subpackage == null) {
+                subpackage = new DataTypePackage(subpackageName, nsURI + "." + subpackageName);
+                subpackages.put(subpackageName, subpackage);
+            }
+            return subpackage;
+        }
+    }
+
+    /**
+     * Output stream that discards everything, which is used for the second pass.
+     */
+    private static class DiscardingStream extends OutputStream {
+        @Override
+        public void write(byte[] bytes, int offset, int length) {
+            // discard
+        }
+
+        @Override
+        public void write(int value) {
+            // discard
+        }
+    }
+
+    /**
+     * External data type of the metamodel.
+     */
+    private static class ExternalType {
+        private String fragment;
+        private final String instanceTypeName;
+        private final String name;
+        private List<ExtractedTypeParameter> typeParameters;
+
+        ExternalType(String name, String instanceTypeName) {
+            this.name = name;
+            this.instanceTypeName = instanceTypeName;
+            typeParameters = new ArrayList<ExtractedTypeParameter>();
+        }
+    }
+
+    /**
+     * Lightweight representation of an Ecore generic type, which only lives while its typed element is written.
+     */
+    private static class GenericType {
+        private final List<GenericType> arguments = new ArrayList<GenericType>();
+        private String classifier;
+        private GenericType lowerBound;
+        private String typeParameter;
+        private GenericType upperBound;
+
+        /**
+         * A generic type is simple if it can be written as plain classifier reference.
+         */
+        boolean isSimple() {
+            return typeParameter == null && arguments.isEmpty() && lowerBound == null && upperBound == null;
+        }
+    }
+
+    /**
+     * Package of the nested type hierarchy, mirrors the {@link eme.generator.hierarchies.InnerTypeHierarchy}.
+     */
+    private static class InnerTypePackage {
+        private final String name;
+        private final Map<String, InnerTypePackage> subpackages;
+        private final List<ExtractedType> types;
+
+        InnerTypePackage(String name) {
+            this.name = name;
+            subpackages = new LinkedHashMap<String, InnerTypePackage>();
+            types = new ArrayList<ExtractedType>();
+        }
+
+        void add(ExtractedType type, String relativePath, String suffix) {
+            String[] path = relativePath.replace(".", suffix + ".").split("\\.");
+            InnerTypePackage current = this;
+            for (int i = 0; i < path.length - 1; i++) { // without the type name
+                InnerTypePackage subpackage = current.subpackages.get(path[i]);
+                if (subpackage == null) {
+                    subpackage = new InnerTypePackage(path[i]);
+                    current.subpackages.put(path[i], subpackage);
+                }
+                current = subpackage;
+            }
+            current.types.add(type);
+        }
+    }
+
+    /**
+     * Counts the names of the elements of a container to create URI fragment segments. An element whose name is already
+     * used by a previous element of the same container gets an index, as in EMF.
+     */
+    private static class SegmentCounter {
+        private final Map<String, Integer> counts = new HashMap<String, Integer>();
+
+        String next(String name) {
+            int count = counts.merge(name, 1, Integer::sum) - 1;
+            return count == 0 ? name : name + '.' + count;
+        }
+    }
+
+    /**
+     * Scope of the type parameters of a classifier and optionally an operation, mirrors the
+     * {@link TypeParameterSource}. Also contains the number of classifiers that are generated when the scope is used,
+     * which is only limited while the classifiers are generated.
+     */
+    private static class TypeScope {
+        private final String classFragment;
+        private final Set<String> classParameters;
+        private final int generatedTypes;
+        private final String operationFragment;
+        private final Set<String> operationParameters;
+
+        TypeScope(int generatedTypes) { // scope of a super class, the type parameters are not built yet
+            this(null, new HashSet<String>(), null, new HashSet<String>(), generatedTypes);
+        }
+
+        TypeScope(String classFragment, List<ExtractedTypeParameter> typeParameters) {
+            this(classFragment, typeParameters, Integer.MAX_VALUE);
+        }
+
+        TypeScope(String classFragment, List<ExtractedTypeParameter> typeParameters, int generatedTypes) {
+            this(classFragment, identifiers(typeParameters), null, new HashSet<String>(), generatedTypes);
+        }
+
+        TypeScope(TypeScope classScope, String operationFragment, List<ExtractedTypeParameter> typeParameters) {
+            this(classScope.classFragment, classScope.classParameters, operationFragment, identifiers(typeParameters), classScope.generatedTypes);
+        }
+
+        private TypeScope(String classFragment, Set<String> classParameters, String operationFragment, Set<String> operationParameters,
+                int generatedTypes) {
+            this.classFragment = classFragment;
+            this.classParameters = classParameters;
+            this.operationFragment = operationFragment;
+            this.operationParameters = operationParameters;
+            this.generatedTypes = generatedTypes;
+        }
+
+        /**
+         * Returns the reference to the type parameter that matches a data type, or null if there is none.
+         */
+        String find(ExtractedDataType dataType) {
+            String name = dataType.getFullType();
+            if (operationParameters.contains(name)) {
+                return "#" + operationFragment + '/' + name;
+            } else if (classParameters.contains(name)) {
+                return "#" + classFragment + '/' + name;
+            }
+            return null;
+        }
+
+        private static Set<String> identifiers(List<ExtractedTypeParameter> typeParameters) {
+            Set<String> identifiers = new HashSet<String>();
+            for (ExtractedTypeParameter typeParameter : typeParameters) {
+                identifiers.add(typeParameter.getIdentifier());
+            }
+            return identifiers;
+        }
+    }
+}
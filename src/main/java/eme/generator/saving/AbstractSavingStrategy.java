@@ -1,26 +1,41 @@
 package eme.generator.saving;
 
+import java.io.BufferedOutputStream;
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+
+import javax.xml.stream.XMLStreamException;
 
 import org.apache.log4j.LogManager;
 import org.apache.log4j.Logger;
-import org.eclipse.core.resources.IContainer;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IWorkspace;
 import org.eclipse.core.resources.IWorkspaceRoot;
+import org.eclipse.core.resources.IWorkspaceRunnable;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.Path;
+import org.eclipse.core.runtime.jobs.ISchedulingRule;
+import org.eclipse.core.runtime.jobs.MultiRule;
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.EPackage;
-import org.eclipse.emf.ecore.EcorePackage;
 import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emf.ecore.resource.ResourceSet;
 import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
-import org.eclipse.emf.ecore.xmi.impl.XMIResourceFactoryImpl;
+
+import eme.generator.StreamingEcoreWriter;
+import eme.model.IntermediateModel;
+import eme.profiling.Profiling;
+import eme.profiling.ResourceSavingEvent;
 
 /**
  * This is the abstract super class for all saving strategies.
@@ -28,16 +43,24 @@ import org.eclipse.emf.ecore.xmi.impl.XMIResourceFactoryImpl;
  */
 public abstract class AbstractSavingStrategy {
     private static final Logger logger = LogManager.getLogger(AbstractSavingStrategy.class.getName());
+    private static final char SALT_SEPARATOR = '|';
     protected static final char SLASH = File.separatorChar;
+    private static final int STREAMING_BUFFER_SIZE = 1 << 16; // bytes
+    private OutputFormat outputFormat;
     private final boolean saveInProject;
+    private SavingOptions savingOptions;
+    private boolean skipUnchanged;
+    private boolean splitResources;
 
     /**
      * Basic constructor. Takes the name of the project.
-     * @param saveInProject determines whether the folder where the file is saved should be refreshed in the Eclipse
+     * @param saveInProject determines whether the saved files should be refreshed in the Eclipse
      * IDE. Set this true if the file is saved in a project in the IDE.
      */
     public AbstractSavingStrategy(boolean saveInProject) {
         this.saveInProject = saveInProject;
+        outputFormat = OutputFormat.XMI;
+        savingOptions = SavingOptions.createDefault();
     }
 
     /**
@@ -48,6 +71,38 @@ public abstract class AbstractSavingStrategy {
         return getClass().getSimpleName().replace("Saving", "");
     }
 
+    /**
+     * Accessor for the {@link OutputFormat} of the saved files.
+     * @return the output format.
+     */
+    public OutputFormat getOutputFormat() {
+        return outputFormat;
+    }
+
+    /**
+     * Accessor for the {@link SavingOptions} which are used to save the files.
+     * @return the saving options.
+     */
+    public SavingOptions getSavingOptions() {
+        return savingOptions;
+    }
+
+    /**
+     * Checks whether saving is skipped for metamodels which did not change since they were saved the last time.
+     * @return true if it is.
+     */
+    public boolean isSkipUnchanged() {
+        return skipUnchanged;
+    }
+
+    /**
+     * Checks whether the top-level packages are saved into separate resources.
+     * @return true if they are.
+     */
+    public boolean isSplitResources() {
+        return splitResources;
+    }
+
     /**
      * Saves an {@link EPackage} as an Ecore file. The method calls the methods filePath() and fileName() to get the
      * information it needs to save the metamodel. If the default saving behavior is not wanted, this method has to be
@@ -57,49 +112,225 @@ public abstract class AbstractSavingStrategy {
      * @return the saving information.
      */
     public SavingInformation save(EPackage ePackage, String projectName) {
+        resolveTarget(projectName);
+        String extension = outputFormat.getFileExtension();
+        boolean skipping = skipUnchanged && supportsSkipUnchanged();
+        FingerprintRegistry registry = null;
+        String fingerprint = null;
+        if (skipping) { // check whether the metamodel changed before the target is prepared:
+            registry = new FingerprintRegistry(getFilePath());
+            fingerprint = MetamodelFingerprint.compute(ePackage, createFingerprintSalt());
+            String previousName = registry.getFileName(getTargetName(), fingerprint);
+            if (previousName != null && new File(getFilePath() + previousName + '.' + extension).exists()) {
+                logger.info("The extracted metamodel is unchanged and was not saved again: " + getFilePath() + previousName);
+                return new SavingInformation(getFilePath(), previousName, extension);
+            }
+        } else if (skipUnchanged) {
+            logger.warn(getName() + " saving always uses a new target, unchanged metamodels are saved anyway.");
+        }
         beforeSaving(projectName);
         ePackage.eClass(); // Initialize the EPackage:
-        Resource.Factory.Registry registry = Resource.Factory.Registry.INSTANCE;
-        Map<String, Object> map = registry.getExtensionToFactoryMap();
-        map.put(EcorePackage.eNAME, new XMIResourceFactoryImpl());  // add default extension
+        Map<String, Object> map = Resource.Factory.Registry.INSTANCE.getExtensionToFactoryMap();
+        map.put(extension, outputFormat.createFactory()); // add extension of the format
         ResourceSet resourceSet = new ResourceSetImpl(); // get new resource set
         Resource resource = null; // create a resource:
         String fileName = getFileName(); // get name
         String filePath = getFilePath(); // get path
         try {
-            resource = resourceSet.createResource(URI.createFileURI(filePath + fileName + ".ecore"));
+            resource = resourceSet.createResource(URI.createFileURI(filePath + fileName + '.' + extension));
         } catch (IllegalArgumentException exception) {
             logger.error("Error while saving the metamodel.", exception);
         }
         resource.getContents().add(ePackage); // add the EPackage as root.
+        List<String> savedFiles = new ArrayList<String>();
         try { // save the content:
-            resource.save(Collections.EMPTY_MAP);
+            if (splitResources) {
+                savedFiles.addAll(new SplitResourceSaver(outputFormat, savingOptions).save(resource, filePath, fileName));
+            } else {
+                ResourceSavingEvent event = Profiling.ENABLED ? new ResourceSavingEvent() : null;
+                resource.save(savingOptions.toMap());
+                savedFiles.add(filePath + fileName + '.' + extension);
+                if (event != null) {
+                    event.complete(filePath + fileName + '.' + extension);
+                }
+            }
+            if (skipping) { // remember the fingerprint of the saved metamodel
+                registry.put(getTargetName(), fingerprint, fileName);
+                savedFiles.add(registry.getFilePath());
+            }
         } catch (IOException exception) {
             logger.error("Error while saving the metamodel.", exception);
         }
         if (saveInProject) {
-            refreshFolder(getFilePath());
+            refreshFiles(savedFiles);
         }
         logger.info("The extracted metamodel was saved under: " + getFilePath());
-        return new SavingInformation(filePath, fileName);
+        return new SavingInformation(filePath, fileName, extension);
     }
 
     /**
-     * Refreshes a specific folder in the Eclipse IDE
-     * @param folderPath is the path of the folder.
+     * Saves the metamodel of an {@link IntermediateModel} as an Ecore file by streaming it with a
+     * {@link StreamingEcoreWriter}, without building the EMF object graph. The file is always written as uncompressed
+     * XMI with UTF-8 encoding. Split resources and skipping unchanged metamodels are not supported, because both need
+     * the metamodel graph. A warning is logged for every setting of the strategy that is ignored.
+     * @param model is the {@link IntermediateModel} to save the metamodel of.
+     * @param writer is the {@link StreamingEcoreWriter} which writes the metamodel.
+     * @return the saving information.
      */
-    private void refreshFolder(String folderPath) {
-        IWorkspaceRoot root = ResourcesPlugin.getWorkspace().getRoot();
-        IContainer folder = root.getContainerForLocation(new Path(folderPath));
+    public SavingInformation save(IntermediateModel model, StreamingEcoreWriter writer) {
+        warnIgnoredSettings();
+        resolveTarget(model.getProjectName());
+        beforeSaving(model.getProjectName());
+        String fileName = getFileName();
+        String filePath = getFilePath();
+        String extension = OutputFormat.XMI.getFileExtension();
+        File file = new File(filePath + fileName + '.' + extension);
+        file.getParentFile().mkdirs();
+        ResourceSavingEvent event = Profiling.ENABLED ? new ResourceSavingEvent() : null;
+        try (OutputStream stream = new BufferedOutputStream(new FileOutputStream(file), STREAMING_BUFFER_SIZE)) {
+            writer.write(model, stream);
+        } catch (IOException | XMLStreamException exception) {
+            logger.error("Error while streaming the metamodel.", exception);
+        }
+        if (event != null) {
+            event.complete(file.getPath());
+        }
+        if (saveInProject) {
+            refreshFiles(Collections.singletonList(file.getPath()));
+        }
+        logger.info("The extracted metamodel was streamed to: " + filePath);
+        return new SavingInformation(filePath, fileName, extension);
+    }
+
+    /**
+     * Checks whether the strategy can save metamodels outside of the UI thread. Strategies that interact with the user
+     * have to override this.
+     * @return true if it can.
+     */
+    public boolean supportsAsynchronousSaving() {
+        return true;
+    }
+
+    /**
+     * Checks whether the strategy can skip saving unchanged metamodels, see {@link #setSkipUnchanged(boolean)}. This
+     * requires that the saving target is known after {@link #resolveTarget(String)}, before anything is created.
+     * Strategies that create a new target for every saving have to override this.
+     * @return true if it can.
+     */
+    public boolean supportsSkipUnchanged() {
+        return true;
+    }
+
+    /**
+     * Mutator for the {@link OutputFormat} of the saved files. The default format is {@link OutputFormat#XMI}.
+     * @param outputFormat is the new output format.
+     */
+    public void setOutputFormat(OutputFormat outputFormat) {
+        this.outputFormat = outputFormat;
+    }
+
+    /**
+     * Mutator for the {@link SavingOptions} which are used to save the files. The default options are the
+     * default options of EMF, see {@link SavingOptions#createDefault()}.
+     * @param savingOptions are the new saving options.
+     */
+    public void setSavingOptions(SavingOptions savingOptions) {
+        this.savingOptions = savingOptions;
+    }
+
+    /**
+     * Mutator for skipping unchanged metamodels. If enabled, a structural fingerprint of every saved metamodel is
+     * stored in the output folder, see {@link MetamodelFingerprint}. A metamodel is not saved again if it has the same
+     * fingerprint as the last metamodel of the same saving target and if that file still exists. This is disabled by
+     * default and has no effect for strategies that do not support it, see {@link #supportsSkipUnchanged()}.
+     * @param skipUnchanged determines whether unchanged metamodels are skipped.
+     */
+    public void setSkipUnchanged(boolean skipUnchanged) {
+        this.skipUnchanged = skipUnchanged;
+    }
+
+    /**
+     * Mutator for saving the top-level packages into separate resources, see {@link SplitResourceSaver}. This is
+     * disabled by default.
+     * @param splitResources determines whether the top-level packages are saved into separate resources.
+     */
+    public void setSplitResources(boolean splitResources) {
+        this.splitResources = splitResources;
+    }
+
+    /**
+     * Creates the salt of the fingerprint from the settings that change the content of the saved files, in a fixed
+     * order. Options that only influence how the files are written, like the flush threshold, are not part of it.
+     */
+    private String createFingerprintSalt() {
+        StringBuilder salt = new StringBuilder(outputFormat.getFileExtension());
+        salt.append(SALT_SEPARATOR).append(splitResources);
+        salt.append(SALT_SEPARATOR).append(savingOptions.getEncoding());
+        salt.append(SALT_SEPARATOR).append(savingOptions.isZip());
+        return salt.toString();
+    }
+
+    /**
+     * Refreshes the saved files in the Eclipse IDE. Only the files themselves are refreshed, or the topmost folder
+     * which was created while saving. All refreshes are batched into a single workspace operation, which means there is
+     * only one resource change event.
+     * @param files are the paths of the saved files.
+     */
+    private void refreshFiles(List<String> files) {
+        IWorkspace workspace = ResourcesPlugin.getWorkspace();
+        Set<IResource> resources = new LinkedHashSet<IResource>();
+        for (String file : files) {
+            IResource resource = workspace.getRoot().getFileForLocation(new Path(file));
+            if (resource != null) { // is inside of the workspace
+                while (!resource.getParent().exists()) { // find topmost new folder
+                    resource = resource.getParent();
+                }
+                resources.add(resource);
+            }
+        }
+        List<ISchedulingRule> rules = new ArrayList<ISchedulingRule>();
+        for (IResource resource : resources) {
+            rules.add(workspace.getRuleFactory().refreshRule(resource));
+        }
+        IWorkspaceRunnable refresh = monitor -> {
+            for (IResource resource : resources) {
+                resource.refreshLocal(resource.getType() == IResource.FILE ? IResource.DEPTH_ZERO : IResource.DEPTH_INFINITE, monitor);
+            }
+        };
         try {
-            folder.refreshLocal(IResource.DEPTH_INFINITE, null);
+            workspace.run(refresh, MultiRule.combine(rules.toArray(new ISchedulingRule[rules.size()])), IWorkspace.AVOID_UPDATE, null);
         } catch (CoreException exception) {
-            logger.warn("Could not refresh output folder. Try that manually.", exception);
+            logger.warn("Could not refresh the saved files. Try that manually.", exception);
+        }
+    }
+
+    /**
+     * Logs a warning for the settings that are ignored by the streaming output, which always writes a single
+     * uncompressed XMI file with UTF-8 encoding.
+     */
+    private void warnIgnoredSettings() {
+        List<String> ignored = new ArrayList<String>();
+        if (outputFormat != OutputFormat.XMI) {
+            ignored.add("OutputFormat=" + outputFormat);
+        }
+        if (splitResources) {
+            ignored.add("SplitResources");
+        }
+        if (skipUnchanged) {
+            ignored.add("SkipUnchangedMetamodels");
+        }
+        String encoding = savingOptions.getEncoding();
+        if (savingOptions.isZip() || savingOptions.isSaveOnlyIfChanged() || encoding != null && !"UTF-8".equalsIgnoreCase(encoding)) {
+            ignored.add("SavingProfile and SaveOnlyIfChanged (" + savingOptions + ")");
+        }
+        if (!ignored.isEmpty()) {
+            logger.warn("The streaming output ignores the settings " + String.join(", ", ignored) + ". The metamodel is saved as XMI file.");
         }
     }
 
     /**
-     * Can be used to prepare the saving itself.
+     * Can be used to prepare the saving itself, e.g. by creating the project where the metamodel is saved. Is called
+     * after {@link #resolveTarget(String)} and only if the metamodel is actually saved.
      * @param projectName is the name of the project where the metamodel was extracted.
      */
     protected abstract void beforeSaving(String projectName);
@@ -148,6 +379,26 @@ public abstract class AbstractSavingStrategy {
      */
     protected abstract String getFilePath();
 
+    /**
+     * Returns the name of the saving target, which identifies the metamodels that replace each other when they are
+     * saved. By default this is the file name. Strategies that use a different file name for every saving have to
+     * override this.
+     * @return the name of the saving target.
+     */
+    protected String getTargetName() {
+        return getFileName();
+    }
+
+    /**
+     * Resolves the saving target without creating anything, which means {@link #getFilePath()} and
+     * {@link #getTargetName()} can be used afterwards. Is called before {@link #beforeSaving(String)}. Does nothing by
+     * default.
+     * @param projectName is the name of the project where the metamodel was extracted.
+     */
+    protected void resolveTarget(String projectName) {
+        // no target to resolve by default
+    }
+
     /**
      * Check whether the output project exists.
      * @param name is the name of the project.
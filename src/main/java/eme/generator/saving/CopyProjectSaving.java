@@ -1,32 +1,76 @@
 package eme.generator.saving;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
 import org.apache.log4j.LogManager;
 import org.apache.log4j.Logger;
+import org.eclipse.core.resources.ICommand;
+import org.eclipse.core.resources.IFolder;
 import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IProjectDescription;
+import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.IWorkspace;
 import org.eclipse.core.resources.IWorkspaceRoot;
+import org.eclipse.core.resources.IWorkspaceRunnable;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.Path;
+import org.eclipse.jdt.core.IClasspathEntry;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.JavaCore;
 
 /**
- * Saving strategy that copies the original project and saves the ecore file in the copy.
+ * Saving strategy that copies the original project and saves the ecore file in the copy. The copy can either be a full
+ * copy or a lightweight copy, which only contains the project metadata and optionally links to the original sources.
  * @author Timur Saglam
  */
 public class CopyProjectSaving extends OriginalProjectSaving {
     private static final Logger logger = LogManager.getLogger(CopyProjectSaving.class.getName());
+    private static final Set<String> METADATA = new HashSet<String>(Arrays.asList(".settings", "META-INF", "build.properties", "plugin.xml"));
+    private final boolean lightweight;
+    private final boolean linkSources;
     private IProject projectCopy;
     private final String projectSuffix;
 
     /**
-     * Basic constructor.
+     * Basic constructor, creates a strategy that copies the full project.
      * @param projectSuffix is the suffix of the name of the copied project.
      */
     public CopyProjectSaving(String projectSuffix) {
+        this(projectSuffix, false, false);
+    }
+
+    /**
+     * Constructor that allows to use lightweight copies. A lightweight copy is a new project with the natures and the
+     * build specification of the original project, which only contains the project metadata (e.g. hidden files,
+     * settings and the plug-in manifest). This way the cost of saving does not depend on the size of the original
+     * project. If the source folders are linked, the Java builder is removed from the build specification of the copy,
+     * because it would compile all linked sources of the original project again.
+     * @param projectSuffix is the suffix of the name of the copied project.
+     * @param lightweight determines whether a lightweight copy is created instead of a full copy.
+     * @param linkSources determines whether the source folders of a lightweight copy are linked to the source folders
+     * of the original project.
+     */
+    public CopyProjectSaving(String projectSuffix, boolean lightweight, boolean linkSources) {
         super(); // refresh folder.
         this.projectSuffix = projectSuffix;
+        this.lightweight = lightweight;
+        this.linkSources = linkSources;
+    }
+
+    /**
+     * Every saving creates a new copy of the project, which means there is no previous metamodel to compare with.
+     */
+    @Override
+    public boolean supportsSkipUnchanged() {
+        return false;
     }
 
     /**
@@ -47,6 +91,43 @@ public class CopyProjectSaving extends OriginalProjectSaving {
         return copy;
     }
 
+    /**
+     * Creates a lightweight copy of an specific {@link IProject} in a single workspace operation. The unused name of the
+     * copy is found inside of that operation, which means no other job can claim the name before the copy is created.
+     * @param project is the specific {@link IProject} to copy to.
+     * @return the copy of the original {@link IProject}, or null if it could not be created.
+     */
+    private IProject copyLightweight(IProject project) {
+        IWorkspace workspace = ResourcesPlugin.getWorkspace();
+        IProject[] createdCopy = new IProject[1]; // set by the workspace operation
+        IWorkspaceRunnable creation = monitor -> {
+            IProject copy = workspace.getRoot().getProject(createPath(project).lastSegment());
+            IProjectDescription description = project.getDescription(); // same natures and build specification
+            description.setName(copy.getName());
+            description.setLocation(null);
+            if (linkSources) {
+                description.setBuildSpec(withoutJavaBuilder(description.getBuildSpec()));
+            }
+            copy.create(description, monitor);
+            copy.open(monitor);
+            for (IResource member : project.members()) {
+                if (isMetadata(member)) {
+                    member.copy(copy.getFullPath().append(member.getName()), true, monitor);
+                }
+            }
+            if (linkSources) {
+                linkSourceFolders(project, copy, monitor);
+            }
+            createdCopy[0] = copy;
+        };
+        try {
+            workspace.run(creation, workspace.getRoot(), IWorkspace.AVOID_UPDATE, null);
+        } catch (CoreException exception) {
+            logger.fatal(exception);
+        }
+        return createdCopy[0];
+    }
+
     /**
      * Creates the {@link IPath} of the copy.
      */
@@ -74,6 +155,51 @@ public class CopyProjectSaving extends OriginalProjectSaving {
         return null;
     }
 
+    /**
+     * Checks whether a top-level resource of a project is project metadata, which is copied into a lightweight copy.
+     * The project description itself is not copied, because it is created with the new project.
+     */
+    private boolean isMetadata(IResource member) {
+        String name = member.getName();
+        if (member.getType() == IResource.FILE && name.startsWith(".")) {
+            return !IProjectDescription.DESCRIPTION_FILE_NAME.equals(name);
+        }
+        return METADATA.contains(name);
+    }
+
+    /**
+     * Links the top-level folders of the source folders of the copy to the folders of the original project. Uses the
+     * same folder names, which means the copied classpath stays valid.
+     */
+    private void linkSourceFolders(IProject project, IProject copy, IProgressMonitor monitor) throws CoreException {
+        IJavaProject javaProject = JavaCore.create(project);
+        if (!javaProject.exists()) {
+            return; // nothing to link
+        }
+        for (IClasspathEntry entry : javaProject.getRawClasspath()) {
+            IPath path = entry.getPath().removeFirstSegments(1); // path relative to the project
+            if (entry.getEntryKind() == IClasspathEntry.CPE_SOURCE && path.segmentCount() > 0) {
+                IFolder folder = copy.getFolder(path.segment(0));
+                if (!folder.exists()) {
+                    folder.createLink(project.getFolder(path.segment(0)).getLocation(), IResource.ALLOW_MISSING_LOCAL, monitor);
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes the Java builder from a build specification.
+     */
+    private ICommand[] withoutJavaBuilder(ICommand[] buildSpec) {
+        List<ICommand> commands = new ArrayList<ICommand>();
+        for (ICommand command : buildSpec) {
+            if (!JavaCore.BUILDER_ID.equals(command.getBuilderName())) {
+                commands.add(command);
+            }
+        }
+        return commands.toArray(new ICommand[commands.size()]);
+    }
+
     /*
      * @see eme.generator.saving.AbstractSavingStrategy#beforeSaving(java.lang.String)
      */
@@ -81,7 +207,10 @@ public class CopyProjectSaving extends OriginalProjectSaving {
     protected void beforeSaving(String projectName) {
         super.projectName = projectName;
         IProject project = getProject(projectName);
-        projectCopy = copy(project);
+        projectCopy = lightweight ? copyLightweight(project) : copy(project);
+        if (projectCopy == null) { // the metamodel can not be saved into another project
+            throw new IllegalStateException("Could not copy the project " + projectName);
+        }
     }
 
     /*
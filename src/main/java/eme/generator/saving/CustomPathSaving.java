@@ -21,25 +21,19 @@ public class CustomPathSaving extends AbstractSavingStrategy {
     }
 
     /**
-     * Opens a saving dialog and sets the path and the name.
+     * The file dialog needs the UI thread, so this strategy cannot save asynchronously.
+     */
+    @Override
+    public boolean supportsAsynchronousSaving() {
+        return false;
+    }
+
+    /*
+     * @see eme.generator.saving.AbstractSavingStrategy#beforeSaving(java.lang.String)
      */
     @Override
     protected void beforeSaving(String projectName) {
-        Display display = Display.getCurrent();
-        Shell shell = new Shell(display);
-        shell.open();
-        String result = null;
-        while (result == null) {
-            FileDialog dialog = new FileDialog(shell, SWT.SAVE);
-            dialog.setFilterNames(new String[] { "Ecore File" });
-            dialog.setFilterExtensions(new String[] { "*.ecore" });
-            dialog.setFileName(projectName + ".ecore");
-            result = dialog.open(); // calculate result:
-        }
-        int index = result.lastIndexOf(SLASH) + 1;
-        path = result.substring(0, index);
-        name = result.substring(index, result.lastIndexOf('.'));
-        shell.close();
+        // the path was chosen when the target was resolved
     }
 
     /*
@@ -57,4 +51,27 @@ public class CustomPathSaving extends AbstractSavingStrategy {
     protected String getFilePath() {
         return path;
     }
+
+    /**
+     * Opens a saving dialog and sets the path and the name.
+     */
+    @Override
+    protected void resolveTarget(String projectName) {
+        Display display = Display.getCurrent();
+        Shell shell = new Shell(display);
+        shell.open();
+        String result = null;
+        String extension = getOutputFormat().getFileExtension();
+        while (result == null) {
+            FileDialog dialog = new FileDialog(shell, SWT.SAVE);
+            dialog.setFilterNames(new String[] { "Ecore File" });
+            dialog.setFilterExtensions(new String[] { "*." + extension });
+            dialog.setFileName(projectName + '.' + extension);
+            result = dialog.open(); // calculate result:
+        }
+        int index = result.lastIndexOf(SLASH) + 1;
+        path = result.substring(0, index);
+        name = result.substring(index, result.lastIndexOf('.'));
+        shell.close();
+    }
 }
\ No newline at end of file
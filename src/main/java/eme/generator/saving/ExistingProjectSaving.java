@@ -33,7 +33,7 @@ public class ExistingProjectSaving extends AbstractSavingStrategy {
      */
     @Override
     protected void beforeSaving(String projectName) {
-        this.projectName = projectName;
+        // the output project already exists
     }
 
     /*
@@ -52,4 +52,20 @@ public class ExistingProjectSaving extends AbstractSavingStrategy {
         IWorkspaceRoot root = ResourcesPlugin.getWorkspace().getRoot();
         return root.getLocation().toFile().getPath() + SLASH + outputProjectName + SLASH + "model" + SLASH;
     }
+
+    /**
+     * Uses the project name, because every file name contains a time stamp.
+     */
+    @Override
+    protected String getTargetName() {
+        return projectName;
+    }
+
+    /*
+     * @see eme.generator.saving.AbstractSavingStrategy#resolveTarget(java.lang.String)
+     */
+    @Override
+    protected void resolveTarget(String projectName) {
+        this.projectName = projectName;
+    }
 }
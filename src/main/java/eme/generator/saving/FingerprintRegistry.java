@@ -0,0 +1,80 @@
+package eme.generator.saving;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Properties;
+
+import org.apache.log4j.LogManager;
+import org.apache.log4j.Logger;
+
+/**
+ * Stores the fingerprints of the last saved metamodels of an output folder, see {@link MetamodelFingerprint}. The
+ * fingerprints are stored per saving target in a small file inside the output folder, together with the name of the
+ * file the metamodel was saved in.
+ * @author Timur Saglam
+ */
+public class FingerprintRegistry {
+    private static final String FILE_NAME = ".eme-fingerprints";
+    private static final Logger logger = LogManager.getLogger(FingerprintRegistry.class.getName());
+    private static final char SEPARATOR = ':';
+    private final File file;
+    private final Properties fingerprints;
+
+    /**
+     * Basic constructor, loads the fingerprints of an output folder if there are any.
+     * @param filePath is the path of the output folder.
+     */
+    public FingerprintRegistry(String filePath) {
+        file = new File(filePath, FILE_NAME);
+        fingerprints = new Properties();
+        if (file.exists()) {
+            try (InputStream stream = new FileInputStream(file)) {
+                fingerprints.load(stream);
+            } catch (IOException exception) {
+                logger.warn("Could not load the metamodel fingerprints, saving anyway.", exception);
+            }
+        }
+    }
+
+    /**
+     * Returns the path of the file where the fingerprints are stored.
+     * @return the path of the file.
+     */
+    public String getFilePath() {
+        return file.getPath();
+    }
+
+    /**
+     * Returns the name of the file where the metamodel of a saving target was saved, if the metamodel had a specific
+     * fingerprint.
+     * @param target is the name of the saving target.
+     * @param fingerprint is the fingerprint of the metamodel.
+     * @return the name of the file or null if the last saved metamodel of the target had another fingerprint.
+     */
+    public String getFileName(String target, String fingerprint) {
+        String entry = fingerprints.getProperty(target);
+        if (entry != null && entry.startsWith(fingerprint + SEPARATOR)) {
+            return entry.substring(fingerprint.length() + 1);
+        }
+        return null;
+    }
+
+    /**
+     * Stores the fingerprint of a saved metamodel and writes the fingerprint file.
+     * @param target is the name of the saving target.
+     * @param fingerprint is the fingerprint of the saved metamodel.
+     * @param fileName is the name of the file where the metamodel was saved.
+     */
+    public void put(String target, String fingerprint, String fileName) {
+        fingerprints.setProperty(target, fingerprint + SEPARATOR + fileName);
+        try (OutputStream stream = new FileOutputStream(file)) {
+            fingerprints.store(stream, "Fingerprints of the last saved metamodels.");
+        } catch (IOException exception) {
+            logger.warn("Could not save the metamodel fingerprints.", exception);
+        }
+    }
+}
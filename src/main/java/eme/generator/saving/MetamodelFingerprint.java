@@ -0,0 +1,109 @@
+package eme.generator.saving;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.List;
+
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+
+/**
+ * Computes structural fingerprints of Ecore metamodels. Two metamodels have the same fingerprint if they contain the
+ * same elements with the same attribute values and the same references, which means they would be saved into the same
+ * file content. The fingerprint does not depend on the identity of the objects, so metamodels which were generated in
+ * different runs can be compared.
+ * @author Timur Saglam
+ */
+public final class MetamodelFingerprint {
+    private static final String ALGORITHM = "SHA-256";
+    private static final char SEPARATOR = '\u0000';
+
+    private MetamodelFingerprint() {
+        // private constructor.
+    }
+
+    /**
+     * Computes the fingerprint of a metamodel.
+     * @param root is the root {@link EPackage} of the metamodel.
+     * @param salt is additional information which changes the output, e.g. the format of the file.
+     * @return the fingerprint as hexadecimal string.
+     */
+    public static String compute(EPackage root, String salt) {
+        MessageDigest digest = createDigest();
+        update(digest, salt);
+        update(digest, root, root);
+        for (Iterator<EObject> iterator = root.eAllContents(); iterator.hasNext();) { // in containment order
+            update(digest, root, iterator.next());
+        }
+        StringBuilder builder = new StringBuilder();
+        for (byte value : digest.digest()) {
+            builder.append(String.format("%02x", value));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Creates the message digest.
+     */
+    private static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance(ALGORITHM);
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException("Every Java platform has to support " + ALGORITHM, exception);
+        }
+    }
+
+    /**
+     * Identifies an referenced object. Objects of the metamodel are identified by their path relative to the root,
+     * external objects (e.g. the Ecore data types) by their URI.
+     */
+    private static String identify(EPackage root, EObject target) {
+        if (target == null) {
+            return "null";
+        } else if (target == root) {
+            return "/";
+        } else if (EcoreUtil.isAncestor(root, target)) {
+            return EcoreUtil.getRelativeURIFragmentPath(root, target);
+        }
+        return EcoreUtil.getURI(target).toString();
+    }
+
+    /**
+     * Adds a string to the fingerprint.
+     */
+    private static void update(MessageDigest digest, String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) SEPARATOR);
+    }
+
+    /**
+     * Adds an element of the metamodel to the fingerprint: Its class, the values of its attributes and the targets of
+     * its references. Contained elements are added separately.
+     */
+    private static void update(MessageDigest digest, EPackage root, EObject element) {
+        update(digest, element.eClass().getName());
+        for (EStructuralFeature feature : element.eClass().getEAllStructuralFeatures()) {
+            if (!feature.isTransient() && !feature.isDerived() && element.eIsSet(feature)) {
+                update(digest, feature.getName());
+                Object value = element.eGet(feature, false);
+                if (feature instanceof EAttribute) {
+                    update(digest, String.valueOf(value));
+                } else if (((EReference) feature).isContainment()) {
+                    update(digest, String.valueOf(feature.isMany() ? ((List<?>) value).size() : 1));
+                } else if (feature.isMany()) {
+                    for (Object target : (List<?>) value) {
+                        update(digest, identify(root, (EObject) target));
+                    }
+                } else {
+                    update(digest, identify(root, (EObject) value));
+                }
+            }
+        }
+    }
+}
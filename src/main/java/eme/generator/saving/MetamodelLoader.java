@@ -0,0 +1,95 @@
+package eme.generator.saving;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.apache.log4j.LogManager;
+import org.apache.log4j.Logger;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+
+/**
+ * Utility class for loading saved Ecore metamodels in any {@link OutputFormat}, compressed or not. It also allows to
+ * export a metamodel which was saved in the binary format as XMI on demand.
+ * @author Timur Saglam
+ */
+public final class MetamodelLoader {
+    private static final byte[] ZIP_SIGNATURE = { 'P', 'K', 3, 4 };
+    private static final Logger logger = LogManager.getLogger(MetamodelLoader.class.getName());
+
+    private MetamodelLoader() {
+        // private constructor.
+    }
+
+    /**
+     * Loads the root {@link EPackage} of a saved metamodel.
+     * @param savingInformation is the {@link SavingInformation} of the saved metamodel.
+     * @return the root {@link EPackage}.
+     * @throws org.eclipse.emf.common.util.WrappedException if the file cannot be loaded.
+     */
+    public static EPackage load(SavingInformation savingInformation) {
+        return (EPackage) loadResource(savingInformation).getContents().get(0);
+    }
+
+    /**
+     * Exports a saved metamodel as XMI file. The XMI file is saved next to the original file with the same name. If the
+     * metamodel is already saved as XMI, nothing happens.
+     * @param savingInformation is the {@link SavingInformation} of the saved metamodel.
+     * @return the {@link SavingInformation} of the XMI file.
+     */
+    public static SavingInformation exportXMI(SavingInformation savingInformation) {
+        String extension = OutputFormat.XMI.getFileExtension();
+        if (extension.equals(savingInformation.getFileExtension())) {
+            return savingInformation; // already is XMI
+        }
+        String filePath = savingInformation.getFilePath();
+        String fileName = savingInformation.getFileName();
+        Resource source = loadResource(savingInformation);
+        Resource resource = OutputFormat.XMI.createFactory().createResource(URI.createFileURI(filePath + fileName + '.' + extension));
+        source.getResourceSet().getResources().add(resource);
+        resource.getContents().addAll(source.getContents()); // move the content to the XMI resource
+        try {
+            resource.save(Collections.EMPTY_MAP);
+        } catch (IOException exception) {
+            logger.error("Error while exporting the metamodel as XMI.", exception);
+        }
+        return new SavingInformation(filePath, fileName, extension);
+    }
+
+    /**
+     * Checks whether a file was saved with the zip option of the {@link SavingOptions} by checking its signature.
+     */
+    private static boolean isCompressed(String file) {
+        byte[] signature = new byte[ZIP_SIGNATURE.length];
+        try (InputStream stream = new FileInputStream(file)) {
+            int length = stream.read(signature);
+            return length == signature.length && Arrays.equals(signature, ZIP_SIGNATURE);
+        } catch (IOException exception) {
+            return false; // the resource set reports missing files
+        }
+    }
+
+    /**
+     * Loads the {@link Resource} of a saved metamodel with a fresh {@link ResourceSet}.
+     */
+    private static Resource loadResource(SavingInformation savingInformation) {
+        String extension = savingInformation.getFileExtension();
+        OutputFormat format = OutputFormat.fromExtension(extension);
+        if (format == null) {
+            throw new IllegalArgumentException("Unknown metamodel file extension: " + extension);
+        }
+        ResourceSet resourceSet = new ResourceSetImpl();
+        resourceSet.getResourceFactoryRegistry().getExtensionToFactoryMap().put(extension, format.createFactory());
+        String file = savingInformation.getFilePath() + savingInformation.getFileName() + '.' + extension;
+        if (isCompressed(file)) {
+            resourceSet.getLoadOptions().put(Resource.OPTION_ZIP, Boolean.TRUE);
+        }
+        return resourceSet.getResource(URI.createFileURI(file), true);
+    }
+}
@@ -21,6 +21,14 @@ public class NewProjectSaving extends AbstractSavingStrategy {
         super(true);
     }
 
+    /**
+     * Every saving creates a new project, which means there is no previous metamodel to compare with.
+     */
+    @Override
+    public boolean supportsSkipUnchanged() {
+        return false;
+    }
+
     /*
      * @see eme.generator.saving.AbstractSavingStrategy#beforeSaving()
      */
@@ -28,6 +36,9 @@ public class NewProjectSaving extends AbstractSavingStrategy {
     protected void beforeSaving(String projectName) {
         fileName = projectName;
         IProject newProject = EMFProjectGenerator.createProject(projectName + createSuffix(projectName, "Model"));
+        if (newProject == null) { // the metamodel can not be saved into another project
+            throw new IllegalStateException("Could not create the project for the metamodel of " + projectName);
+        }
         this.generatedProjectName = newProject.getName();
     }
 
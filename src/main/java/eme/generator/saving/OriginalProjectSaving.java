@@ -22,7 +22,7 @@ public class OriginalProjectSaving extends AbstractSavingStrategy {
      */
     @Override
     protected void beforeSaving(String projectName) {
-        this.projectName = projectName;
+        // the original project already exists
     }
 
     /*
@@ -41,4 +41,12 @@ public class OriginalProjectSaving extends AbstractSavingStrategy {
         IWorkspace workspace = ResourcesPlugin.getWorkspace();
         return workspace.getRoot().getLocation().toFile().getPath() + SLASH + projectName + SLASH + "model" + SLASH;
     }
+
+    /*
+     * @see eme.generator.saving.AbstractSavingStrategy#resolveTarget(java.lang.String)
+     */
+    @Override
+    protected void resolveTarget(String projectName) {
+        this.projectName = projectName;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,96 @@
+package eme.generator.saving;
+
+import org.apache.log4j.LogManager;
+import org.apache.log4j.Logger;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.impl.BinaryResourceImpl;
+import org.eclipse.emf.ecore.resource.impl.ResourceFactoryImpl;
+import org.eclipse.emf.ecore.xmi.impl.XMIResourceFactoryImpl;
+
+/**
+ * Enumeration for the file formats an Ecore metamodel can be saved in.
+ * @author Timur Saglam
+ */
+public enum OutputFormat {
+    /**
+     * The default XMI format of Ecore files, uses the file extension ".ecore".
+     */
+    XMI("ecore") {
+        @Override
+        public Resource.Factory createFactory() {
+            return new XMIResourceFactoryImpl();
+        }
+    },
+
+    /**
+     * The binary resource format of EMF, uses the file extension ".ecorebin". Much faster to save and to load than XMI,
+     * but not readable by tools which expect XMI.
+     */
+    BINARY("ecorebin") {
+        @Override
+        public Resource.Factory createFactory() {
+            return new ResourceFactoryImpl() {
+                @Override
+                public Resource createResource(URI uri) {
+                    return new BinaryResourceImpl(uri);
+                }
+            };
+        }
+    };
+
+    private static final Logger logger = LogManager.getLogger(OutputFormat.class.getName());
+    private final String fileExtension;
+
+    /**
+     * Private constructor for enum values with file extension.
+     * @param fileExtension is the file extension of the format without the dot.
+     */
+    OutputFormat(String fileExtension) {
+        this.fileExtension = fileExtension;
+    }
+
+    /**
+     * Creates a {@link Resource.Factory} which creates resources of this format.
+     * @return the resource factory.
+     */
+    public abstract Resource.Factory createFactory();
+
+    /**
+     * Accessor for the file extension.
+     * @return the file extension without the dot, e.g. "ecore".
+     */
+    public String getFileExtension() {
+        return fileExtension;
+    }
+
+    /**
+     * Finds the output format for a file extension.
+     * @param fileExtension is the file extension without the dot.
+     * @return the output format or null if there is none for the extension.
+     */
+    public static OutputFormat fromExtension(String fileExtension) {
+        for (OutputFormat format : values()) {
+            if (format.fileExtension.equals(fileExtension)) {
+                return format;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Finds the output format for a name, ignoring the case (e.g. "Binary"). Returns the default format XMI if the name
+     * is unknown.
+     * @param name is the name of the format.
+     * @return the output format.
+     */
+    public static OutputFormat fromName(String name) {
+        for (OutputFormat format : values()) {
+            if (format.name().equalsIgnoreCase(name)) {
+                return format;
+            }
+        }
+        logger.error("Unknown output format: " + name);
+        return XMI;
+    }
+}
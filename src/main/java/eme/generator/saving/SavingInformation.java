@@ -8,6 +8,7 @@ import java.util.regex.Pattern;
  * @author Timur Saglam
  */
 public class SavingInformation {
+    private final String fileExtension;
     private final String fileName;
     private final String filePath;
     private final String projectName;
@@ -18,12 +19,31 @@ public class SavingInformation {
      * @param fileName is the name of file where the Ecore metamodel was saved in.
      */
     public SavingInformation(String filePath, String fileName) {
+        this(filePath, fileName, OutputFormat.XMI.getFileExtension());
+    }
+
+    /**
+     * Constructor that sets the information including the file extension.
+     * @param filePath is the path where the Ecore file was saved.
+     * @param fileName is the name of file where the Ecore metamodel was saved in.
+     * @param fileExtension is the extension of the file without the dot, e.g. "ecore".
+     */
+    public SavingInformation(String filePath, String fileName, String fileExtension) {
         this.filePath = filePath;
         this.fileName = fileName;
+        this.fileExtension = fileExtension;
         String[] segments = filePath.split(Pattern.quote(File.separator));
         projectName = segments[segments.length - 2];
     }
 
+    /**
+     * Accessor for the file extension.
+     * @return the extension of the file without the dot, e.g. "ecore".
+     */
+    public String getFileExtension() {
+        return fileExtension;
+    }
+
     /**
      * Accessor for the file name.
      * @return the name of file where the Ecore metamodel was saved in.
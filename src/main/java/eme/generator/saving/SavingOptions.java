@@ -0,0 +1,202 @@
+package eme.generator.saving;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.log4j.LogManager;
+import org.apache.log4j.Logger;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.xmi.XMLResource;
+
+/**
+ * Configurable save profile for the saving strategies. It bundles the EMF save options that influence the throughput
+ * and the memory consumption while serializing large metamodels. There are predefined profiles which can be selected by
+ * name, see {@link #fromProfile(String)}.
+ * @author Timur Saglam
+ */
+public class SavingOptions {
+    private static final int BUFFERED_FLUSH_THRESHOLD = 1 << 20; // characters
+    private static final Logger logger = LogManager.getLogger(SavingOptions.class.getName());
+    private static final String UTF_8 = "UTF-8";
+    private String encoding;
+    private int flushThreshold;
+    private boolean saveOnlyIfChanged;
+    private boolean useFileBuffer;
+    private boolean zip;
+
+    /**
+     * Basic constructor, creates options which match the defaults of EMF: No file buffer, no flush threshold, no
+     * compression, the default encoding of the resource and saving without comparing to the existing file.
+     */
+    public SavingOptions() {
+        flushThreshold = Integer.MAX_VALUE; // everything is buffered in memory
+    }
+
+    /**
+     * Creates the default options of EMF, which produce the same files as saving without options. The encoding is the
+     * default encoding of the resource, which is for example UTF-8 for XMI files.
+     * @return the options.
+     */
+    public static SavingOptions createDefault() {
+        return new SavingOptions();
+    }
+
+    /**
+     * Creates options for a high throughput with large metamodels. The serialized document is flushed to the file
+     * regularly instead of being buffered completely in memory. The files are always encoded with UTF-8.
+     * @return the options.
+     */
+    public static SavingOptions createHighThroughput() {
+        SavingOptions options = new SavingOptions();
+        options.setEncoding(UTF_8);
+        options.setFlushThreshold(BUFFERED_FLUSH_THRESHOLD);
+        return options;
+    }
+
+    /**
+     * Creates options for a low memory consumption with large metamodels. Uses the high throughput options and
+     * additionally writes the serialized document to a temporary file first.
+     * @return the options.
+     */
+    public static SavingOptions createLowMemory() {
+        SavingOptions options = createHighThroughput();
+        options.setUseFileBuffer(true);
+        return options;
+    }
+
+    /**
+     * Creates options for compressed output. Uses the high throughput options and additionally compresses the file
+     * content. Compressed files are considerably smaller, but can only be read by tools that support the zip option of
+     * EMF.
+     * @return the options.
+     */
+    public static SavingOptions createCompressed() {
+        SavingOptions options = createHighThroughput();
+        options.setZip(true);
+        return options;
+    }
+
+    /**
+     * Creates the options of a predefined profile. The profiles are "Default", "HighThroughput", "LowMemory" and
+     * "Compressed". Returns the default options if the name is unknown.
+     * @param profileName is the name of the profile.
+     * @return the options.
+     */
+    public static SavingOptions fromProfile(String profileName) {
+        if ("HighThroughput".equalsIgnoreCase(profileName)) {
+            return createHighThroughput();
+        } else if ("LowMemory".equalsIgnoreCase(profileName)) {
+            return createLowMemory();
+        } else if ("Compressed".equalsIgnoreCase(profileName)) {
+            return createCompressed();
+        } else if (!"Default".equalsIgnoreCase(profileName)) {
+            logger.error("Unknown saving profile: " + profileName);
+        }
+        return createDefault();
+    }
+
+    /**
+     * Accessor for the encoding.
+     * @return the encoding of the saved file, or null if the default encoding of the resource is used.
+     */
+    public String getEncoding() {
+        return encoding;
+    }
+
+    /**
+     * Accessor for the flush threshold.
+     * @return the number of characters that are buffered before they are flushed to the file.
+     */
+    public int getFlushThreshold() {
+        return flushThreshold;
+    }
+
+    /**
+     * Checks whether a file is only saved if its content changed.
+     * @return true if it is.
+     */
+    public boolean isSaveOnlyIfChanged() {
+        return saveOnlyIfChanged;
+    }
+
+    /**
+     * Checks whether a temporary file is used as buffer.
+     * @return true if it is.
+     */
+    public boolean isUseFileBuffer() {
+        return useFileBuffer;
+    }
+
+    /**
+     * Checks whether the file content is compressed.
+     * @return true if it is.
+     */
+    public boolean isZip() {
+        return zip;
+    }
+
+    /**
+     * Mutator for the encoding.
+     * @param encoding is the encoding of the saved file, e.g. "UTF-8", or null for the default encoding of the resource.
+     */
+    public void setEncoding(String encoding) {
+        this.encoding = encoding;
+    }
+
+    /**
+     * Mutator for the flush threshold.
+     * @param flushThreshold is the number of characters that are buffered before they are flushed to the file.
+     */
+    public void setFlushThreshold(int flushThreshold) {
+        this.flushThreshold = flushThreshold;
+    }
+
+    /**
+     * Mutator for saving only changed files. If enabled, the new content is compared to the existing file and the file
+     * is not touched if the content is identical.
+     * @param saveOnlyIfChanged determines whether only changed files are saved.
+     */
+    public void setSaveOnlyIfChanged(boolean saveOnlyIfChanged) {
+        this.saveOnlyIfChanged = saveOnlyIfChanged;
+    }
+
+    /**
+     * Mutator for the file buffer. If enabled, the content is written to a temporary file first, which lowers the
+     * memory consumption for large metamodels.
+     * @param useFileBuffer determines whether a temporary file is used as buffer.
+     */
+    public void setUseFileBuffer(boolean useFileBuffer) {
+        this.useFileBuffer = useFileBuffer;
+    }
+
+    /**
+     * Mutator for the compression.
+     * @param zip determines whether the file content is compressed.
+     */
+    public void setZip(boolean zip) {
+        this.zip = zip;
+    }
+
+    /**
+     * Creates the option map which can be passed to {@link Resource#save(Map)}.
+     * @return the option map.
+     */
+    public Map<Object, Object> toMap() {
+        Map<Object, Object> options = new HashMap<Object, Object>();
+        if (encoding != null) {
+            options.put(XMLResource.OPTION_ENCODING, encoding);
+        }
+        options.put(XMLResource.OPTION_FLUSH_THRESHOLD, flushThreshold);
+        options.put(XMLResource.OPTION_USE_FILE_BUFFER, useFileBuffer);
+        options.put(Resource.OPTION_ZIP, zip);
+        if (saveOnlyIfChanged) {
+            options.put(Resource.OPTION_SAVE_ONLY_IF_CHANGED, Resource.OPTION_SAVE_ONLY_IF_CHANGED_MEMORY_BUFFER);
+        }
+        return options;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + toMap();
+    }
+}
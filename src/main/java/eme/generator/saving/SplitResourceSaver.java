@@ -0,0 +1,116 @@
+package eme.generator.saving;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import org.apache.log4j.LogManager;
+import org.apache.log4j.Logger;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.xmi.XMLResource;
+
+import eme.profiling.Profiling;
+import eme.profiling.ResourceSavingEvent;
+
+/**
+ * Saves an Ecore metamodel split into multiple resources. Every top-level subpackage of the root package (including
+ * the data type package) is saved into its own resource with cross-resource containment, which means the root file
+ * still references its subpackages and loading the root file alone yields the whole metamodel. References between the
+ * packages are saved as cross-resource references. Additionally, a small index file is written, which maps the
+ * namespace URIs of the packages to their files. This allows tools to load only the packages they need.
+ * @author Timur Saglam
+ */
+public class SplitResourceSaver {
+    /**
+     * The file extension of the index file, without the dot.
+     */
+    public static final String INDEX_EXTENSION = "index";
+    private static final Logger logger = LogManager.getLogger(SplitResourceSaver.class.getName());
+    private final String fileExtension;
+    private final Map<Object, Object> options;
+
+    /**
+     * Basic constructor, sets the format and the options for the saving.
+     * @param outputFormat is the {@link OutputFormat} of the resources.
+     * @param savingOptions are the {@link SavingOptions} of the resources.
+     */
+    public SplitResourceSaver(OutputFormat outputFormat, SavingOptions savingOptions) {
+        fileExtension = outputFormat.getFileExtension();
+        options = savingOptions.toMap();
+        options.put(XMLResource.OPTION_PROCESS_DANGLING_HREF, XMLResource.OPTION_PROCESS_DANGLING_HREF_THROW); // fail instead of losing a package
+    }
+
+    /**
+     * Saves a root resource and its top-level subpackages into separate resources. The subpackages stay contained in
+     * the root package, because the containment of subpackages resolves proxies. The resources are saved one after
+     * another, since they reference each other. Afterwards, the subpackages are moved back into the root resource,
+     * which means the metamodel is unchanged after the method returns.
+     * @param rootResource is the resource which contains the root {@link EPackage}. It has to be part of a resource set.
+     * @param filePath is the path of the files.
+     * @param fileName is the name of the root file, which is used as prefix for all other files.
+     * @return the paths of all saved files, including the root file and the index file.
+     * @throws IOException if any resource or the index file could not be saved.
+     */
+    public List<String> save(Resource rootResource, String filePath, String fileName) throws IOException {
+        EPackage root = (EPackage) rootResource.getContents().get(0);
+        List<Resource> resources = new ArrayList<Resource>();
+        Map<String, String> index = new LinkedHashMap<String, String>();
+        index.put(root.getNsURI(), rootResource.getURI().lastSegment());
+        resources.add(rootResource);
+        try {
+            for (EPackage subpackage : new ArrayList<EPackage>(root.getESubpackages())) { // move every subpackage into its own resource:
+                String file = fileName + '.' + subpackage.getName() + '.' + fileExtension;
+                Resource resource = rootResource.getResourceSet().createResource(URI.createFileURI(filePath + file));
+                resource.getContents().add(subpackage); // cross-resource containment, stays in the root package
+                resources.add(resource);
+                index.put(subpackage.getNsURI(), file);
+            }
+            for (Resource resource : resources) {
+                save(resource);
+            }
+        } finally { // move the subpackages back into the root resource:
+            for (Resource resource : resources.subList(1, resources.size())) {
+                resource.getContents().clear();
+                rootResource.getResourceSet().getResources().remove(resource);
+            }
+        }
+        String indexFile = filePath + fileName + '.' + INDEX_EXTENSION;
+        saveIndex(index, indexFile);
+        List<String> files = new ArrayList<String>();
+        for (String file : index.values()) {
+            files.add(filePath + file);
+        }
+        files.add(indexFile);
+        return files;
+    }
+
+    /**
+     * Saves a single resource.
+     */
+    private void save(Resource resource) throws IOException {
+        ResourceSavingEvent event = Profiling.ENABLED ? new ResourceSavingEvent() : null;
+        resource.save(options);
+        if (event != null) {
+            event.complete(resource.getURI().toFileString());
+        }
+    }
+
+    /**
+     * Saves the index file, which maps the namespace URIs to the file names.
+     */
+    private void saveIndex(Map<String, String> index, String file) throws IOException {
+        Properties properties = new Properties();
+        properties.putAll(index);
+        try (OutputStream stream = new FileOutputStream(file)) {
+            properties.store(stream, "Namespace URIs of the packages and the files they are saved in.");
+        }
+        logger.info("Saved " + index.size() + " resources, see index " + file);
+    }
+}
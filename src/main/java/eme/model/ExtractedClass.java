@@ -22,6 +22,11 @@ public class ExtractedClass extends ExtractedType {
         this.throwable = throwable;
     }
 
+    @Override
+    public <R> R accept(TypeVisitor<R> visitor) {
+        return visitor.visit(this);
+    }
+
     /**
      * accessor for the super class.
      * @return the super class.
@@ -49,8 +54,10 @@ public class ExtractedClass extends ExtractedType {
     /**
      * Sets a class as super class.
      * @param superClass is the new super class.
+     * @throws IllegalStateException if the class is frozen.
      */
     public void setSuperClass(ExtractedDataType superClass) {
+        checkNotFrozen();
         this.superClass = superClass;
     }
 }
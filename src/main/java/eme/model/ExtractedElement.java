@@ -5,6 +5,7 @@ package eme.model;
  * @author Timur Saglam
  */
 public abstract class ExtractedElement implements Comparable<ExtractedElement> {
+    protected boolean frozen; // structure can not be changed anymore
     protected String name;
     protected String parent;
     protected boolean selected; // selection for saving.
@@ -81,6 +82,15 @@ public abstract class ExtractedElement implements Comparable<ExtractedElement> {
         return result;
     }
 
+    /**
+     * Checks whether the element is frozen, which means its structure can not be changed anymore. Only the selection
+     * can still be changed.
+     * @return true if it is frozen.
+     */
+    public boolean isFrozen() {
+        return frozen;
+    }
+
     /**
      * Checks whether the element is selected.
      * @return true if selected.
@@ -103,6 +113,16 @@ public abstract class ExtractedElement implements Comparable<ExtractedElement> {
         return getClass().getSimpleName() + "(" + getFullName() + ")";
     }
 
+    /**
+     * Throws an exception if the element is frozen. Call this before changing any state of the element.
+     * @throws IllegalStateException if the element is frozen.
+     */
+    protected final void checkNotFrozen() {
+        if (frozen) {
+            throw new IllegalStateException("Cannot change the frozen " + toString());
+        }
+    }
+
     /**
      * Calculates the index of the separator of a full qualified name.
      * @param fullName is the full qualified name.
@@ -1,6 +1,6 @@
 package eme.model;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -8,7 +8,7 @@ import java.util.List;
  * @author Timur Saglam
  */
 public class ExtractedEnum extends ExtractedType {
-    private final List<ExtractedEnumConstant> constants;
+    private List<ExtractedEnumConstant> constants;
 
     /**
      * Basic constructor.
@@ -16,17 +16,30 @@ public class ExtractedEnum extends ExtractedType {
      */
     public ExtractedEnum(String fullName) {
         super(fullName);
-        constants = new LinkedList<ExtractedEnumConstant>();
+        constants = new ArrayList<ExtractedEnumConstant>();
+    }
+
+    @Override
+    public <R> R accept(TypeVisitor<R> visitor) {
+        return visitor.visit(this);
     }
 
     /**
      * Adds a enumeral to the enum
      * @param constant is the new value.
+     * @throws IllegalStateException if the enumeration is frozen.
      */
     public void addConstant(ExtractedEnumConstant constant) {
+        checkNotFrozen();
         constants.add(constant);
     }
 
+    @Override
+    public void freeze() {
+        super.freeze();
+        constants = FrozenList.of(constants);
+    }
+
     /**
      * accessor for the enumerals of the enumeration.
      * @return the enumerals in a List.
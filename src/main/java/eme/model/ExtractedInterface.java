@@ -13,4 +13,9 @@ public class ExtractedInterface extends ExtractedType {
     public ExtractedInterface(String fullName) {
         super(fullName);
     }
-}
\ No newline at end of file
+
+    @Override
+    public <R> R accept(TypeVisitor<R> visitor) {
+        return visitor.visit(this);
+    }
+}
@@ -1,6 +1,6 @@
 package eme.model;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
 
 import eme.model.datatypes.AccessLevelModifier;
@@ -13,12 +13,12 @@ import eme.model.datatypes.ExtractedTypeParameter;
  * @author Timur Saglam
  */
 public class ExtractedMethod extends ExtractedElement {
-    private final List<ExtractedDataType> exceptions;
+    private List<ExtractedDataType> exceptions;
     private boolean isAbstract;
     private boolean isStatic;
     private MethodType methodType;
     private AccessLevelModifier modifier;
-    private final List<ExtractedParameter> parameters;
+    private List<ExtractedParameter> parameters;
     private final ExtractedDataType returnType;
     private List<ExtractedTypeParameter> typeParameters;
 
@@ -31,9 +31,9 @@ public class ExtractedMethod extends ExtractedElement {
     public ExtractedMethod(String fullName, ExtractedDataType returnType) {
         super(fullName);
         this.returnType = returnType;
-        parameters = new LinkedList<ExtractedParameter>();
-        exceptions = new LinkedList<ExtractedDataType>();
-        typeParameters = new LinkedList<ExtractedTypeParameter>();
+        parameters = new ArrayList<ExtractedParameter>(2);
+        exceptions = new ArrayList<ExtractedDataType>(1);
+        typeParameters = new ArrayList<ExtractedTypeParameter>(1);
         modifier = AccessLevelModifier.NO_MODIFIER;
         methodType = MethodType.NORMAL;
     }
@@ -41,19 +41,44 @@ public class ExtractedMethod extends ExtractedElement {
     /**
      * Adds a {@link ExtractedParameter} to the method.
      * @param parameter is the new parameter.
+     * @throws IllegalStateException if the method is frozen.
      */
     public void addParameter(ExtractedParameter parameter) {
+        checkNotFrozen();
         parameters.add(parameter);
     }
 
     /**
      * Adds a throws declaration to the method.
      * @param exception is the throws declaration.
+     * @throws IllegalStateException if the method is frozen.
      */
     public void addThrowsDeclaration(ExtractedDataType exception) {
+        checkNotFrozen();
         exceptions.add(exception);
     }
 
+    /**
+     * Freezes the method by replacing its lists with immutable {@link FrozenList}s. Freezes its data types as well.
+     * Afterwards, no parameters, throws declarations or type parameters can be added. Freezing a frozen method has no
+     * effect.
+     */
+    public void freeze() {
+        if (frozen) {
+            return;
+        }
+        frozen = true;
+        parameters = FrozenList.of(parameters);
+        exceptions = FrozenList.of(exceptions);
+        typeParameters = FrozenList.of(typeParameters);
+        parameters.forEach(parameter -> parameter.freeze());
+        exceptions.forEach(exception -> exception.freeze());
+        typeParameters.forEach(typeParameter -> typeParameter.freeze());
+        if (returnType != null) {
+            returnType.freeze();
+        }
+    }
+
     /**
      * Accessor for the method type ({@link MethodType}).
      * @return the method type.
@@ -153,8 +178,10 @@ public class ExtractedMethod extends ExtractedElement {
     /**
      * Sets the generic type parameters.
      * @param typeParameters is the list of {@link ExtractedTypeParameter}s.
+     * @throws IllegalStateException if the method is frozen.
      */
     public void setTypeParameters(List<ExtractedTypeParameter> typeParameters) {
+        checkNotFrozen();
         this.typeParameters = typeParameters;
     }
 
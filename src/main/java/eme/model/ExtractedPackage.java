@@ -1,18 +1,24 @@
 package eme.model;
 
+import java.util.ArrayList;
 import java.util.Collections;
-import java.util.LinkedList;
 import java.util.List;
 
 /**
- * Is the representation of a package in the {@link IntermediateModel}.
+ * Is the representation of a package in the {@link IntermediateModel}. The package maintains the number of types of its
+ * whole subtree when elements are added, which means {@link #getTypeCount()} and {@link #isEmpty()} are constant time
+ * queries. The combined view of its types is only built by {@link #getTypes()} after types were added or sorted, which
+ * means adding types during the extraction only appends to the list of their kind.
  * @author Timur Saglam
  */
 public class ExtractedPackage extends ExtractedElement {
-    private final List<ExtractedClass> classes;
-    private final List<ExtractedEnum> enumerations;
-    private final List<ExtractedInterface> interfaces;
-    private final List<ExtractedPackage> subpackages;
+    private List<ExtractedClass> classes;
+    private List<ExtractedEnum> enumerations;
+    private List<ExtractedInterface> interfaces;
+    private ExtractedPackage parentPackage;
+    private List<ExtractedPackage> subpackages;
+    private int typeCount;
+    private List<ExtractedType> types; // combined view, null if it needs to be rebuilt
     protected boolean root;
 
     /**
@@ -21,33 +27,74 @@ public class ExtractedPackage extends ExtractedElement {
      */
     public ExtractedPackage(String fullName) {
         super(fullName);
-        subpackages = new LinkedList<ExtractedPackage>();
-        classes = new LinkedList<ExtractedClass>();
-        interfaces = new LinkedList<ExtractedInterface>();
-        enumerations = new LinkedList<ExtractedEnum>();
+        subpackages = new ArrayList<ExtractedPackage>();
+        classes = new ArrayList<ExtractedClass>();
+        interfaces = new ArrayList<ExtractedInterface>();
+        enumerations = new ArrayList<ExtractedEnum>();
+        types = FrozenList.empty();
         root = false;
     }
 
+    /**
+     * Accepts a {@link ModelVisitor} and walks sequentially over the package and its subtree.
+     * @param visitor is the {@link ModelVisitor}.
+     * @see ModelTraversal#walk(ExtractedPackage, ModelVisitor)
+     */
+    public void accept(ModelVisitor visitor) {
+        ModelTraversal.walk(this, visitor);
+    }
+
     /**
      * Adds a new subpackage to the package.
      * @param subpackage is the new subpackage of the package.
+     * @throws IllegalStateException if the package is frozen.
      */
     public void add(ExtractedPackage subpackage) {
+        checkNotFrozen();
         subpackages.add(subpackage);
+        subpackage.parentPackage = this;
+        addTypeCount(subpackage.typeCount); // subpackage might already contain types
     }
 
     /**
      * Adds a new {@link ExtractedType} to the package.
      * @param type is the new {@link ExtractedType} of the package.
+     * @throws IllegalStateException if the package is frozen.
      */
     public void add(ExtractedType type) {
+        checkNotFrozen();
         if (type.getClass() == ExtractedClass.class) {
             classes.add((ExtractedClass) type);
         } else if (type.getClass() == ExtractedInterface.class) {
             interfaces.add((ExtractedInterface) type);
         } else if (type.getClass() == ExtractedEnum.class) {
             enumerations.add((ExtractedEnum) type);
+        } else {
+            return; // unknown kind of type
         }
+        types = null; // combined view is rebuilt when it is needed
+        addTypeCount(1);
+    }
+
+    /**
+     * Freezes the package by replacing its lists with immutable {@link FrozenList}s. Freezes its types and subpackages as
+     * well, which means the whole content of the package is frozen. Afterwards, the package can not be sorted and no
+     * elements can be added. Freezing a frozen package has no effect.
+     */
+    public void freeze() {
+        if (frozen) {
+            return;
+        }
+        frozen = true;
+        subpackages = FrozenList.of(subpackages);
+        classes = FrozenList.of(classes);
+        interfaces = FrozenList.of(interfaces);
+        enumerations = FrozenList.of(enumerations);
+        types = FrozenList.of(getTypes());
+        classes.forEach(type -> type.freeze());
+        interfaces.forEach(type -> type.freeze());
+        enumerations.forEach(type -> type.freeze());
+        subpackages.forEach(subpackage -> subpackage.freeze());
     }
 
     /**
@@ -83,27 +130,35 @@ public class ExtractedPackage extends ExtractedElement {
     }
 
     /**
-     * accessor for the {@link ExtractedType}s (interfaces, classes and enumerations).
-     * @return the types.
+     * Accessor for the number of {@link ExtractedType}s of the package and all of its subpackages.
+     * @return the recursive type count.
+     */
+    public int getTypeCount() {
+        return typeCount;
+    }
+
+    /**
+     * accessor for the {@link ExtractedType}s (enumerations, classes and interfaces). The combined view is built on the
+     * first call after types were added or sorted.
+     * @return the unmodifiable view of the types.
      */
     public List<ExtractedType> getTypes() {
-        List<ExtractedType> types = new LinkedList<ExtractedType>(enumerations);
-        types.addAll(classes);
-        types.addAll(interfaces);
+        if (types == null) {
+            List<ExtractedType> combinedTypes = new ArrayList<ExtractedType>(enumerations.size() + classes.size() + interfaces.size());
+            combinedTypes.addAll(enumerations);
+            combinedTypes.addAll(classes);
+            combinedTypes.addAll(interfaces);
+            types = Collections.unmodifiableList(combinedTypes);
+        }
         return types;
     }
 
     /**
-     * Checks whether package is empty.
+     * Checks whether package is empty, which means neither the package nor its subpackages contain any types.
      * @return true if the package is empty.
      */
     public boolean isEmpty() {
-        for (ExtractedPackage subpackage : subpackages) {
-            if (!subpackage.isEmpty()) {
-                return false;
-            }
-        }
-        return getTypes().isEmpty();
+        return typeCount == 0;
     }
 
     /**
@@ -123,24 +178,38 @@ public class ExtractedPackage extends ExtractedElement {
 
     /**
      * Sorts the content of the package. Sorts its types, its subpackages and all the content of every subpackage.
+     * @throws IllegalStateException if the package is frozen.
      */
     public void sort() {
+        checkNotFrozen();
         Collections.sort(interfaces);
         Collections.sort(classes);
         Collections.sort(enumerations);
         Collections.sort(subpackages);
+        types = null; // combined view is rebuilt in the new order
         for (ExtractedPackage subpackage : subpackages) {
             subpackage.sort(); // sort the content of all subpackages.
         }
     }
 
-    @Override
-    public void setSelected(boolean selected) {
+    /**
+     * Sets whether only the package itself is selected or not. In contrast to {@link #setSelected(boolean)}, the types
+     * and subpackages keep their selection.
+     * @param selected true to select the package, false to deselect.
+     */
+    public void setPackageSelected(boolean selected) {
         if (!root) { // root cannot be deselected.
             super.setSelected(selected);
         }
-        getTypes().forEach(type -> type.setSelected(selected));
-        getSubpackages().forEach(subpackage -> subpackage.setSelected(selected));
+    }
+
+    @Override
+    public void setSelected(boolean selected) {
+        setPackageSelected(selected);
+        classes.forEach(type -> type.setSelected(selected));
+        interfaces.forEach(type -> type.setSelected(selected));
+        enumerations.forEach(type -> type.setSelected(selected));
+        subpackages.forEach(subpackage -> subpackage.setSelected(selected));
     }
 
     @Override
@@ -150,4 +219,13 @@ public class ExtractedPackage extends ExtractedElement {
         }
         return super.toString();
     }
+
+    /**
+     * Adds to the type count of the package and of all of its parent packages.
+     */
+    private void addTypeCount(int delta) {
+        for (ExtractedPackage current = this; current != null; current = current.parentPackage) {
+            current.typeCount += delta;
+        }
+    }
 }
@@ -1,6 +1,6 @@
 package eme.model;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
 
 import eme.model.datatypes.ExtractedDataType;
@@ -12,11 +12,11 @@ import eme.model.datatypes.ExtractedTypeParameter;
  * @author Timur Saglam
  */
 public abstract class ExtractedType extends ExtractedElement {
-    protected final List<ExtractedField> fields;
-    protected final List<ExtractedMethod> methods;
+    protected List<ExtractedField> fields;
+    protected List<ExtractedMethod> methods;
     protected String outerType;
     protected ExtractedDataType superClass;
-    protected final List<ExtractedDataType> superInterfaces;
+    protected List<ExtractedDataType> superInterfaces;
     protected List<ExtractedTypeParameter> typeParameters;
 
     /**
@@ -25,33 +25,47 @@ public abstract class ExtractedType extends ExtractedElement {
      */
     public ExtractedType(String fullName) {
         super(fullName);
-        superInterfaces = new LinkedList<ExtractedDataType>();
-        methods = new LinkedList<ExtractedMethod>();
-        fields = new LinkedList<ExtractedField>();
-        typeParameters = new LinkedList<ExtractedTypeParameter>();
+        superInterfaces = new ArrayList<ExtractedDataType>(2);
+        methods = new ArrayList<ExtractedMethod>();
+        fields = new ArrayList<ExtractedField>();
+        typeParameters = new ArrayList<ExtractedTypeParameter>(1);
     }
 
+    /**
+     * Accepts a {@link TypeVisitor} by calling the visit method for the kind of the type.
+     * @param <R> is the result type of the visitor.
+     * @param visitor is the {@link TypeVisitor}.
+     * @return the result of the visit.
+     */
+    public abstract <R> R accept(TypeVisitor<R> visitor);
+
     /**
      * Adds an {@link ExtractedField} to the type.
      * @param field is the new {@link ExtractedField}.
+     * @throws IllegalStateException if the type is frozen.
      */
     public void addField(ExtractedField field) {
+        checkNotFrozen();
         fields.add(field);
     }
 
     /**
      * Adds an interface as super interface.
      * @param superInterface is the new super interface.
+     * @throws IllegalStateException if the type is frozen.
      */
     public void addInterface(ExtractedDataType superInterface) {
+        checkNotFrozen();
         superInterfaces.add(superInterface);
     }
 
     /**
      * Adds a {@link ExtractedMethod} to the type.
      * @param method is the new {@link ExtractedMethod}.
+     * @throws IllegalStateException if the type is frozen.
      */
     public void addMethod(ExtractedMethod method) {
+        checkNotFrozen();
         methods.add(method);
     }
 
@@ -66,6 +80,28 @@ public abstract class ExtractedType extends ExtractedElement {
         return false;
     }
 
+    /**
+     * Freezes the type by replacing its lists with immutable {@link FrozenList}s. Freezes its members, super types and
+     * type parameters as well. Afterwards, no elements can be added to the type. Freezing a frozen type has no effect.
+     */
+    public void freeze() {
+        if (frozen) {
+            return;
+        }
+        frozen = true;
+        fields = FrozenList.of(fields);
+        methods = FrozenList.of(methods);
+        superInterfaces = FrozenList.of(superInterfaces);
+        typeParameters = FrozenList.of(typeParameters);
+        fields.forEach(field -> field.freeze());
+        methods.forEach(method -> method.freeze());
+        superInterfaces.forEach(superInterface -> superInterface.freeze());
+        typeParameters.forEach(typeParameter -> typeParameter.freeze());
+        if (superClass != null) {
+            superClass.freeze();
+        }
+    }
+
     /**
      * accessor for the list of {@link ExtractedField}s.
      * @return the list of attributes.
@@ -136,8 +172,10 @@ public abstract class ExtractedType extends ExtractedElement {
     /**
      * Sets the generic type parameters.
      * @param typeParameters is the list of {@link ExtractedTypeParameter}s.
+     * @throws IllegalStateException if the type is frozen.
      */
     public void setTypeParameters(List<ExtractedTypeParameter> typeParameters) {
+        checkNotFrozen();
         this.typeParameters = typeParameters;
     }
 }
\ No newline at end of file
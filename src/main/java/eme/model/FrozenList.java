@@ -0,0 +1,66 @@
+package eme.model;
+
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.RandomAccess;
+
+/**
+ * Immutable list which is backed by an array of exactly the size of the list. It is used by the frozen
+ * {@link IntermediateModel}, because most of the model lists contain only a few elements. All empty lists share a
+ * single instance. Since the list can not be modified, it can be read by multiple threads concurrently.
+ * @param <E> is the type of the list elements.
+ * @author Timur Saglam
+ */
+public final class FrozenList<E> extends AbstractList<E> implements RandomAccess {
+    private static final FrozenList<?> EMPTY = new FrozenList<Object>(new Object[0]);
+    private final Object[] elements;
+
+    /**
+     * Private constructor, use {@link #of(Collection)}.
+     */
+    private FrozenList(Object[] elements) {
+        this.elements = elements;
+    }
+
+    /**
+     * Returns the frozen list of the empty list.
+     * @param <E> is the type of the list elements.
+     * @return the shared empty frozen list.
+     */
+    @SuppressWarnings("unchecked")
+    public static <E> FrozenList<E> empty() {
+        return (FrozenList<E>) EMPTY;
+    }
+
+    /**
+     * Creates a frozen copy of a collection. Frozen lists are returned as they are.
+     * @param <E> is the type of the list elements.
+     * @param collection is the collection to freeze.
+     * @return the frozen list, which has the same elements in the same order.
+     */
+    @SuppressWarnings("unchecked")
+    public static <E> FrozenList<E> of(Collection<? extends E> collection) {
+        if (collection instanceof FrozenList) {
+            return (FrozenList<E>) collection;
+        } else if (collection.isEmpty()) {
+            return empty();
+        }
+        return new FrozenList<E>(collection.toArray());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        return (E) elements[index];
+    }
+
+    @Override
+    public int size() {
+        return elements.length;
+    }
+
+    @Override
+    public Object[] toArray() {
+        return elements.clone();
+    }
+}
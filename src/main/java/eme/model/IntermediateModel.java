@@ -1,7 +1,11 @@
 package eme.model;
 
+import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import org.apache.log4j.LogManager;
 import org.apache.log4j.Logger;
@@ -13,11 +17,13 @@ import org.apache.log4j.Logger;
  */
 public class IntermediateModel {
     private static final Logger logger = LogManager.getLogger(IntermediateModel.class.getName());
-    private final Set<ExtractedType> externalTypes;
-    private final Set<ExtractedPackage> packages;
+    private Set<ExtractedType> externalTypes;
+    private boolean frozen;
+    private Set<ExtractedPackage> packages;
     private final String projectName;
     private ExtractedPackage rootPackage;
-    private final Set<ExtractedType> types;
+    private SupertypeIndex supertypeIndex;
+    private Set<ExtractedType> types;
 
     /**
      * Basic constructor.
@@ -30,12 +36,39 @@ public class IntermediateModel {
         this.projectName = projectName;
     }
 
+    /**
+     * Accepts a {@link ModelVisitor} and walks sequentially over all packages and types in the order of the model.
+     * @param visitor is the {@link ModelVisitor}.
+     */
+    public void accept(ModelVisitor visitor) {
+        if (rootPackage != null) {
+            ModelTraversal.walk(rootPackage, visitor);
+        }
+    }
+
+    /**
+     * Accepts a thread-safe {@link ModelVisitor} and walks in parallel over all packages and types with a fork-join
+     * pool. Only a frozen model can be walked in parallel, because its structure can not change during the walk.
+     * @param visitor is the thread-safe {@link ModelVisitor}.
+     * @throws IllegalStateException if the model is not frozen.
+     * @see #freeze()
+     */
+    public void acceptParallel(ModelVisitor visitor) {
+        if (!frozen) {
+            throw new IllegalStateException("Only a frozen model can be walked in parallel: " + toString());
+        } else if (rootPackage != null) {
+            ModelTraversal.walkParallel(rootPackage, visitor);
+        }
+    }
+
     /**
      * Adds a new {@link ExtractedPackage} to the intermediate model if it is not
      * already added.
      * @param newPackage is the new {@link ExtractedPackage} to add.
+     * @throws IllegalStateException if the model is frozen.
      */
     public void add(ExtractedPackage newPackage) {
+        checkNotFrozen();
         if (packages.add(newPackage)) {
             if (rootPackage == null) { // if it is the first package
                 rootPackage = newPackage; // add as root
@@ -58,9 +91,13 @@ public class IntermediateModel {
     /**
      * Adds a new external {@link ExtractedType} to the intermediate model.
      * @param type is the new external type to add.
+     * @throws IllegalStateException if the model is frozen.
      */
     public void addExternal(ExtractedType type) {
-        externalTypes.add(type);
+        checkNotFrozen();
+        if (externalTypes.add(type)) {
+            supertypeIndex = null; // index is outdated
+        }
     }
 
     /**
@@ -68,12 +105,15 @@ public class IntermediateModel {
      * parent {@link ExtractedPackage} if it is not already added.
      * @param type is the new {@link ExtractedType} to add.
      * @param parent is the parent {@link ExtractedPackage}.
+     * @throws IllegalStateException if the model is frozen.
      */
     public void addTo(ExtractedType type, ExtractedPackage parent) {
+        checkNotFrozen();
         if (!type.getParentName().contains(parent.getFullName())) {
             throw new IllegalArgumentException("Invalid parent declaration in " + type + " to " + parent);
         } else if (types.add(type)) { // add class to list of classes.
             parent.add(type);
+            supertypeIndex = null; // index is outdated
         }
     }
 
@@ -97,6 +137,25 @@ public class IntermediateModel {
         return getExternalType(fullName) != null;
     }
 
+    /**
+     * Freezes the intermediate model after the extraction. All lists of the packages, types, members and data types are
+     * replaced by compact immutable {@link FrozenList}s and no elements can be added to the model anymore. Only the
+     * selection of the elements can still be changed. Since the structure of a frozen model can not change, it can be
+     * read by multiple threads concurrently. Freezing a frozen model has no effect.
+     */
+    public void freeze() {
+        if (!frozen) {
+            if (rootPackage != null) {
+                rootPackage.freeze(); // freezes all packages and internal types
+            }
+            externalTypes.forEach(type -> type.freeze());
+            packages = Collections.unmodifiableSet(packages);
+            types = Collections.unmodifiableSet(types);
+            externalTypes = Collections.unmodifiableSet(externalTypes);
+            frozen = true;
+        }
+    }
+
     /**
      * Returns the external {@link ExtractedType} of the intermediate model whose
      * full name matches the given full name.
@@ -150,6 +209,19 @@ public class IntermediateModel {
         return rootPackage;
     }
 
+    /**
+     * Returns the {@link SupertypeIndex} of the intermediate model. The index is
+     * built on first access and rebuilt after new types were added. Selection
+     * changes need to be reported to the index.
+     * @return the {@link SupertypeIndex}.
+     */
+    public SupertypeIndex getSupertypeIndex() {
+        if (supertypeIndex == null) {
+            supertypeIndex = new SupertypeIndex(this);
+        }
+        return supertypeIndex;
+    }
+
     /**
      * Returns the {@link ExtractedType} of the intermediate model whose full name
      * matches the given full name.
@@ -161,6 +233,22 @@ public class IntermediateModel {
         return getTypeFrom(fullName, types);
     }
 
+    /**
+     * Returns all the {@link ExtractedType}s of the intermediate model.
+     * @return the set of {@link ExtractedType}s.
+     */
+    public Set<ExtractedType> getTypes() {
+        return types;
+    }
+
+    /**
+     * Checks whether the model is frozen, which means its structure can not be changed anymore.
+     * @return true if it is frozen.
+     */
+    public boolean isFrozen() {
+        return frozen;
+    }
+
     /**
      * Checks whether the model contains a selected {@link ExtractedType} whose full
      * name matches a given full name.
@@ -185,17 +273,48 @@ public class IntermediateModel {
     /**
      * Sorts the content of the root {@link ExtractedPackage}. Sorts its types, its
      * subpackages and all the content of every subpackage.
+     * @throws IllegalStateException if the model is frozen.
      */
     public void sort() {
+        checkNotFrozen();
         rootPackage.sort();
     }
 
+    /**
+     * Creates a {@link Spliterator} over all {@link ExtractedType}s in the order of the model.
+     * @return the {@link Spliterator}, which does not reflect later changes of the model.
+     */
+    public Spliterator<ExtractedType> spliterator() {
+        if (rootPackage == null) {
+            return FrozenList.<ExtractedType>empty().spliterator();
+        }
+        return ModelTraversal.typeSpliterator(rootPackage);
+    }
+
+    /**
+     * Creates a stream of all {@link ExtractedType}s in the order of the model.
+     * @param parallel determines whether the stream is parallel.
+     * @return the stream of types.
+     */
+    public Stream<ExtractedType> typeStream(boolean parallel) {
+        return StreamSupport.stream(spliterator(), parallel);
+    }
+
     @Override
     public String toString() {
         return "IntermediateModel of " + projectName + ": [Packages=" + packages.size() + ", Types=" + types.size() + ", ExternalTypes="
                 + externalTypes.size() + "]";
     }
 
+    /**
+     * Throws an exception if the model is frozen.
+     */
+    private void checkNotFrozen() {
+        if (frozen) {
+            throw new IllegalStateException("Cannot change the frozen " + toString());
+        }
+    }
+
     /**
      * Finds {@link ExtractedType} from set of {@link ExtractedType}s by its full
      * name.
@@ -0,0 +1,102 @@
+package eme.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Traversals over the package tree of an {@link IntermediateModel}. Supports sequential walks in the order of the model,
+ * parallel fork-join walks where every subpackage is visited in its own task, and spliterators over the types for
+ * streams.
+ * @author Timur Saglam
+ */
+public final class ModelTraversal {
+    private static final int CHARACTERISTICS = Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL | Spliterator.IMMUTABLE;
+
+    private ModelTraversal() {
+        // private constructor.
+    }
+
+    /**
+     * Walks sequentially over a package and its subtree. Visits the package, then its types, then its subpackages.
+     * @param extractedPackage is the package where the walk starts.
+     * @param visitor is the {@link ModelVisitor}.
+     */
+    public static void walk(ExtractedPackage extractedPackage, ModelVisitor visitor) {
+        if (visitor.visit(extractedPackage)) {
+            for (ExtractedType type : extractedPackage.getTypes()) {
+                visitor.visit(type);
+            }
+            for (ExtractedPackage subpackage : extractedPackage.getSubpackages()) {
+                walk(subpackage, visitor);
+            }
+        }
+    }
+
+    /**
+     * Walks in parallel over a package and its subtree with the common {@link ForkJoinPool}. Every package is visited
+     * before its types and subpackages, but there is no order between different packages. The method returns after all
+     * packages and types were visited.
+     * @param extractedPackage is the package where the walk starts.
+     * @param visitor is the thread-safe {@link ModelVisitor}.
+     */
+    public static void walkParallel(ExtractedPackage extractedPackage, ModelVisitor visitor) {
+        ForkJoinPool.commonPool().invoke(new PackageWalk(extractedPackage, visitor));
+    }
+
+    /**
+     * Creates a {@link Spliterator} over the types of a package and its subtree in the order of a sequential walk. The
+     * types are collected when the spliterator is created, which means it splits evenly for parallel streams and is not
+     * affected by later changes of the model.
+     * @param extractedPackage is the package where the walk starts.
+     * @return the {@link Spliterator} of the types.
+     */
+    public static Spliterator<ExtractedType> typeSpliterator(ExtractedPackage extractedPackage) {
+        List<ExtractedType> types = new ArrayList<ExtractedType>(extractedPackage.getTypeCount());
+        walk(extractedPackage, new ModelVisitor() {
+            @Override
+            public void visit(ExtractedType type) {
+                types.add(type);
+            }
+        });
+        return Spliterators.spliterator(types.toArray(), CHARACTERISTICS);
+    }
+
+    /**
+     * Fork-join task which visits a package and its types and forks a task for every subpackage.
+     */
+    private static class PackageWalk extends RecursiveAction {
+        private static final long serialVersionUID = -3542398615428318347L;
+        private final transient ExtractedPackage extractedPackage;
+        private final transient ModelVisitor visitor;
+
+        /**
+         * Creates the task for a package.
+         */
+        PackageWalk(ExtractedPackage extractedPackage, ModelVisitor visitor) {
+            this.extractedPackage = extractedPackage;
+            this.visitor = visitor;
+        }
+
+        @Override
+        protected void compute() {
+            if (visitor.visit(extractedPackage)) {
+                List<PackageWalk> tasks = new ArrayList<PackageWalk>(extractedPackage.getSubpackages().size());
+                for (ExtractedPackage subpackage : extractedPackage.getSubpackages()) {
+                    PackageWalk task = new PackageWalk(subpackage, visitor);
+                    task.fork(); // subpackages can be visited by other workers
+                    tasks.add(task);
+                }
+                for (ExtractedType type : extractedPackage.getTypes()) {
+                    visitor.visit(type);
+                }
+                for (PackageWalk task : tasks) {
+                    task.join();
+                }
+            }
+        }
+    }
+}
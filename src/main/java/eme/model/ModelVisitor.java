@@ -0,0 +1,30 @@
+package eme.model;
+
+/**
+ * Visitor for walks over the packages and types of an {@link IntermediateModel}. A walk visits a package before its
+ * types and its types before its subpackages. All methods have empty default implementations, which means a visitor
+ * only implements the methods it needs. Visitors of parallel walks need to be thread-safe, because different packages
+ * are visited concurrently.
+ * @see IntermediateModel#accept(ModelVisitor)
+ * @see IntermediateModel#acceptParallel(ModelVisitor)
+ * @author Timur Saglam
+ */
+public interface ModelVisitor {
+
+    /**
+     * Visits an {@link ExtractedPackage}.
+     * @param extractedPackage is the visited package.
+     * @return true if the types and subpackages of the package shall be visited, false to skip them.
+     */
+    default boolean visit(ExtractedPackage extractedPackage) {
+        return true;
+    }
+
+    /**
+     * Visits an {@link ExtractedType}. Use {@link ExtractedType#accept(TypeVisitor)} to distinguish the kinds of types.
+     * @param type is the visited type.
+     */
+    default void visit(ExtractedType type) {
+        // does nothing by default
+    }
+}
@@ -0,0 +1,176 @@
+package eme.model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import eme.model.datatypes.ExtractedDataType;
+
+/**
+ * Index of the super type relations of the {@link ExtractedType}s of an {@link IntermediateModel}. Allows to find the
+ * direct subtypes of a type without scanning the whole model. Additionally caches for every type whether it has an
+ * unselected super type, a selected super interface or an external super type, which makes these queries constant time.
+ * The selection flags reflect the selection at the time the index was built and need to be updated with
+ * {@link SupertypeIndex#updateSelection(Collection)} when the selection changes.
+ * @author Timur Saglam
+ */
+public class SupertypeIndex {
+    private final Map<ExtractedType, Entry> entries;
+    private final Map<ExtractedType, List<ExtractedType>> subtypes;
+
+    /**
+     * Basic constructor, builds the index for the current state of an {@link IntermediateModel}.
+     * @param model is the {@link IntermediateModel}.
+     */
+    public SupertypeIndex(IntermediateModel model) {
+        entries = new IdentityHashMap<ExtractedType, Entry>();
+        subtypes = new IdentityHashMap<ExtractedType, List<ExtractedType>>();
+        Map<String, ExtractedType> types = new HashMap<String, ExtractedType>();
+        for (ExtractedType type : model.getTypes()) {
+            types.put(type.getFullName(), type);
+        }
+        Set<String> externalTypes = new HashSet<String>();
+        for (ExtractedType type : model.getExternalTypes()) {
+            externalTypes.add(type.getFullName());
+        }
+        for (ExtractedType type : model.getTypes()) {
+            Entry entry = new Entry(type.isSelected());
+            entry.superClass = type.superClass == null ? null : resolve(type.superClass, type, types, externalTypes, entry);
+            List<ExtractedType> superInterfaces = new ArrayList<ExtractedType>(type.getSuperInterfaces().size());
+            for (ExtractedDataType superInterface : type.getSuperInterfaces()) {
+                ExtractedType resolved = resolve(superInterface, type, types, externalTypes, entry);
+                if (resolved != null) {
+                    superInterfaces.add(resolved);
+                }
+            }
+            entry.superInterfaces = superInterfaces.toArray(new ExtractedType[superInterfaces.size()]);
+            entries.put(type, entry);
+        }
+        for (Entry entry : entries.values()) {
+            entry.updateFlags();
+        }
+    }
+
+    /**
+     * Returns the direct subtypes of an {@link ExtractedType}, which are the types that use it as super class or super
+     * interface.
+     * @param type is the {@link ExtractedType}.
+     * @return the unmodifiable list of direct subtypes, which is empty if there are none.
+     */
+    public List<ExtractedType> getSubtypes(ExtractedType type) {
+        List<ExtractedType> result = subtypes.get(type);
+        return result == null ? Collections.emptyList() : Collections.unmodifiableList(result);
+    }
+
+    /**
+     * Checks whether at least one super type of an {@link ExtractedType} is an external type.
+     * @param type is the {@link ExtractedType}.
+     * @return true if it has an external super type.
+     */
+    public boolean hasExternalSupertype(ExtractedType type) {
+        Entry entry = entries.get(type);
+        return entry != null && entry.externalSupertype;
+    }
+
+    /**
+     * Checks whether at least one super interface of an {@link ExtractedType} is a selected type of the model.
+     * @param type is the {@link ExtractedType}.
+     * @return true if it has a selected super interface.
+     */
+    public boolean hasSelectedSuperInterface(ExtractedType type) {
+        Entry entry = entries.get(type);
+        return entry != null && entry.selectedSuperInterface;
+    }
+
+    /**
+     * Checks whether at least one super type of an {@link ExtractedType} is a type of the model that is not selected.
+     * @param type is the {@link ExtractedType}.
+     * @return true if it has an unselected super type.
+     */
+    public boolean hasUnselectedSupertype(ExtractedType type) {
+        Entry entry = entries.get(type);
+        return entry != null && entry.unselectedSupertype;
+    }
+
+    /**
+     * Updates the cached selection flags after the selection of some elements changed. Only the direct subtypes of types
+     * whose selection actually changed are updated. Elements that are no types are ignored.
+     * @param elements are the elements whose selection might have changed.
+     * @return the types whose cached flags changed.
+     */
+    public Set<ExtractedType> updateSelection(Collection<? extends ExtractedElement> elements) {
+        Set<ExtractedType> changedTypes = new LinkedHashSet<ExtractedType>();
+        for (ExtractedElement element : elements) {
+            Entry entry = element instanceof ExtractedType ? entries.get(element) : null;
+            if (entry != null && entry.selected != element.isSelected()) {
+                entry.selected = element.isSelected();
+                for (ExtractedType subtype : getSubtypes((ExtractedType) element)) {
+                    if (entries.get(subtype).updateFlags()) {
+                        changedTypes.add(subtype);
+                    }
+                }
+            }
+        }
+        return changedTypes;
+    }
+
+    /**
+     * Resolves a super type of a type. Marks the entry of the type if the super type is external and registers the type
+     * as subtype if the super type is a type of the model.
+     */
+    private ExtractedType resolve(ExtractedDataType superType, ExtractedType type, Map<String, ExtractedType> types, Set<String> externalTypes,
+            Entry entry) {
+        if (externalTypes.contains(superType.getFullType())) {
+            entry.externalSupertype = true;
+        }
+        ExtractedType resolved = types.get(superType.getFullType());
+        if (resolved != null) {
+            subtypes.computeIfAbsent(resolved, key -> new ArrayList<ExtractedType>(2)).add(type);
+        }
+        return resolved;
+    }
+
+    /**
+     * Cached super type information of a single type.
+     */
+    private class Entry {
+        private boolean externalSupertype;
+        private boolean selected;
+        private boolean selectedSuperInterface;
+        private ExtractedType superClass;
+        private ExtractedType[] superInterfaces;
+        private boolean unselectedSupertype;
+
+        /**
+         * Creates an entry with the current selection of its type.
+         */
+        Entry(boolean selected) {
+            this.selected = selected;
+        }
+
+        /**
+         * Recalculates the selection flags from the selection of the super types.
+         * @return true if at least one flag changed.
+         */
+        boolean updateFlags() {
+            boolean unselected = superClass != null && !entries.get(superClass).selected;
+            boolean selectedInterface = false;
+            for (ExtractedType superInterface : superInterfaces) {
+                boolean interfaceSelected = entries.get(superInterface).selected;
+                unselected |= !interfaceSelected;
+                selectedInterface |= interfaceSelected;
+            }
+            boolean changed = unselected != unselectedSupertype || selectedInterface != selectedSuperInterface;
+            unselectedSupertype = unselected;
+            selectedSuperInterface = selectedInterface;
+            return changed;
+        }
+    }
+}
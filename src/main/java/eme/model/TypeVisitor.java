@@ -0,0 +1,31 @@
+package eme.model;
+
+/**
+ * Visitor for the different kinds of {@link ExtractedType}s, which replaces checks of the runtime class of a type.
+ * @param <R> is the result type of the visitor.
+ * @see ExtractedType#accept(TypeVisitor)
+ * @author Timur Saglam
+ */
+public interface TypeVisitor<R> {
+
+    /**
+     * Visits an {@link ExtractedClass}.
+     * @param extractedClass is the visited class.
+     * @return the result of the visit.
+     */
+    R visit(ExtractedClass extractedClass);
+
+    /**
+     * Visits an {@link ExtractedEnum}.
+     * @param extractedEnum is the visited enumeration.
+     * @return the result of the visit.
+     */
+    R visit(ExtractedEnum extractedEnum);
+
+    /**
+     * Visits an {@link ExtractedInterface}.
+     * @param extractedInterface is the visited interface.
+     * @return the result of the visit.
+     */
+    R visit(ExtractedInterface extractedInterface);
+}
@@ -1,8 +1,9 @@
 package eme.model.datatypes;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
 
+import eme.model.FrozenList;
 import eme.model.IntermediateModel;
 
 /**
@@ -11,6 +12,7 @@ import eme.model.IntermediateModel;
  */
 public class ExtractedDataType {
     private final int arrayDimension;
+    private boolean frozen;
     private String fullTypeName;
     private List<ExtractedDataType> genericArguments;
     private String typeName;
@@ -26,11 +28,24 @@ public class ExtractedDataType {
     public ExtractedDataType(String fullName, int arrayDimension) {
         this.fullTypeName = fullName;
         this.arrayDimension = arrayDimension;
-        genericArguments = new LinkedList<ExtractedDataType>();
+        genericArguments = new ArrayList<ExtractedDataType>(0);
         wildcardStatus = WildcardStatus.NO_WILDCARD;
         buildNames(); // build full and simple name
     }
 
+    /**
+     * Freezes the data type by replacing the list of generic arguments with an immutable {@link FrozenList}. Freezes the
+     * generic arguments as well. Afterwards, the generic arguments can not be changed. Freezing a frozen data type has no
+     * effect.
+     */
+    public void freeze() {
+        if (!frozen) { // data types can be shared
+            frozen = true;
+            genericArguments = FrozenList.of(genericArguments);
+            genericArguments.forEach(argument -> argument.freeze());
+        }
+    }
+
     /**
      * accessor for the array dimension.
      * @return the array dimension, 0 if the type is not an array.
@@ -140,8 +155,10 @@ public class ExtractedDataType {
     /**
      * mutator for the generic arguments.
      * @param genericArguments is the list of generic arguments.
+     * @throws IllegalStateException if the data type is frozen.
      */
     public void setGenericArguments(List<ExtractedDataType> genericArguments) {
+        checkNotFrozen();
         this.genericArguments = genericArguments;
     }
 
@@ -170,4 +187,13 @@ public class ExtractedDataType {
             this.fullTypeName += "[]";
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Throws an exception if the data type is frozen.
+     */
+    private void checkNotFrozen() {
+        if (frozen) {
+            throw new IllegalStateException("Cannot change the frozen " + toString());
+        }
+    }
+}
@@ -1,16 +1,18 @@
 package eme.model.datatypes;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
 
 import eme.model.ExtractedClass;
+import eme.model.FrozenList;
 
 /**
  * This class represents a generic type parameter of a {@link ExtractedClass}.
  * @author Timur Saglam
  */
 public class ExtractedTypeParameter {
-    private final List<ExtractedDataType> bounds;
+    private List<ExtractedDataType> bounds;
+    private boolean frozen;
     private final String identifier;
 
     /**
@@ -19,17 +21,32 @@ public class ExtractedTypeParameter {
      */
     public ExtractedTypeParameter(String identifier) {
         this.identifier = identifier;
-        bounds = new LinkedList<ExtractedDataType>();
+        bounds = new ArrayList<ExtractedDataType>(1);
     }
 
     /**
      * Adds an bound to the type parameters bounds.
      * @param bound is the new bound.
+     * @throws IllegalStateException if the type parameter is frozen.
      */
     public void add(ExtractedDataType bound) {
+        checkNotFrozen();
         bounds.add(bound);
     }
 
+    /**
+     * Freezes the type parameter by replacing the list of bounds with an immutable {@link FrozenList}. Freezes the bounds
+     * as well. Afterwards, no bounds can be added. Freezing a frozen type parameter has no effect.
+     */
+    public void freeze() {
+        if (frozen) {
+            return;
+        }
+        frozen = true;
+        bounds = FrozenList.of(bounds);
+        bounds.forEach(bound -> bound.freeze());
+    }
+
     /**
      * accessor for the bounds.
      * @return the bounds of the type parameter.
@@ -61,4 +78,13 @@ public class ExtractedTypeParameter {
         }
         return identifier;
     }
+
+    /**
+     * Throws an exception if the type parameter is frozen.
+     */
+    private void checkNotFrozen() {
+        if (frozen) {
+            throw new IllegalStateException("Cannot change the frozen " + toString());
+        }
+    }
 }
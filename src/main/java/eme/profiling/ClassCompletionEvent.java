@@ -0,0 +1,52 @@
+package eme.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for the completion of an Ecore class with its members and super types. Only create it if
+ * {@link Profiling#ENABLED} is true.
+ * @author Timur Saglam
+ */
+@Name("eme.CompleteClass")
+@Label("Complete Class")
+@Category({ "EME", "Generation" })
+@Description("Completion of an EClass with type parameters, members and super types")
+public class ClassCompletionEvent extends Event {
+    @Label("Class")
+    private String className;
+    @Label("Operations")
+    private int operations;
+    @Label("Structural Features")
+    private int structuralFeatures;
+    @Label("Super Types")
+    private int superTypes;
+
+    /**
+     * Basic constructor, begins the event.
+     */
+    public ClassCompletionEvent() {
+        begin();
+    }
+
+    /**
+     * Ends the event and commits it if it is recorded.
+     * @param className is the full name of the extracted type of the class.
+     * @param structuralFeatures is the number of generated attributes and references.
+     * @param operations is the number of generated operations.
+     * @param superTypes is the number of generated super types.
+     */
+    public void complete(String className, int structuralFeatures, int operations, int superTypes) {
+        end();
+        if (shouldCommit()) {
+            this.className = className;
+            this.structuralFeatures = structuralFeatures;
+            this.operations = operations;
+            this.superTypes = superTypes;
+            commit();
+        }
+    }
+}
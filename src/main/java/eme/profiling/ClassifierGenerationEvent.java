@@ -0,0 +1,47 @@
+package eme.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for the generation of an Ecore classifier. Only create it if {@link Profiling#ENABLED} is true.
+ * @author Timur Saglam
+ */
+@Name("eme.GenerateClassifier")
+@Label("Generate Classifier")
+@Category({ "EME", "Generation" })
+@Description("Generation of an EClassifier from an extracted type")
+public class ClassifierGenerationEvent extends Event {
+    @Label("Kind")
+    private String kind;
+    @Label("Type Parameters")
+    private int typeParameters;
+    @Label("Type")
+    private String type;
+
+    /**
+     * Basic constructor, begins the event.
+     */
+    public ClassifierGenerationEvent() {
+        begin();
+    }
+
+    /**
+     * Ends the event and commits it if it is recorded.
+     * @param type is the full name of the extracted type.
+     * @param kind is the kind of the generated classifier, e.g. "EClass".
+     * @param typeParameters is the number of type parameters.
+     */
+    public void complete(String type, String kind, int typeParameters) {
+        end();
+        if (shouldCommit()) {
+            this.type = type;
+            this.kind = kind;
+            this.typeParameters = typeParameters;
+            commit();
+        }
+    }
+}
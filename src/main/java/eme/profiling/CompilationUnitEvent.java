@@ -0,0 +1,47 @@
+package eme.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for the extraction of a compilation unit. Only create it if {@link Profiling#ENABLED} is true.
+ * @author Timur Saglam
+ */
+@Name("eme.ExtractCompilationUnit")
+@Label("Extract Compilation Unit")
+@Category({ "EME", "Extraction" })
+@Description("Extraction of all types of a compilation unit")
+public class CompilationUnitEvent extends Event {
+    @Label("Compilation Unit")
+    private String compilationUnit;
+    @Label("Package")
+    private String packageName;
+    @Label("Types")
+    private int types;
+
+    /**
+     * Basic constructor, begins the event.
+     */
+    public CompilationUnitEvent() {
+        begin();
+    }
+
+    /**
+     * Ends the event and commits it if it is recorded.
+     * @param packageName is the name of the package of the compilation unit.
+     * @param compilationUnit is the name of the compilation unit.
+     * @param types is the number of extracted types.
+     */
+    public void complete(String packageName, String compilationUnit, int types) {
+        end();
+        if (shouldCommit()) {
+            this.packageName = packageName;
+            this.compilationUnit = compilationUnit;
+            this.types = types;
+            commit();
+        }
+    }
+}
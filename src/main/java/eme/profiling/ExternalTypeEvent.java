@@ -0,0 +1,43 @@
+package eme.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for resolving a potential external type. Only create it if {@link Profiling#ENABLED} is true.
+ * @author Timur Saglam
+ */
+@Name("eme.ResolveExternalType")
+@Label("Resolve External Type")
+@Category({ "EME", "Extraction" })
+@Description("Resolution of a potential external type")
+public class ExternalTypeEvent extends Event {
+    @Label("Resolved")
+    private boolean resolved;
+    @Label("Type")
+    private String type;
+
+    /**
+     * Basic constructor, begins the event.
+     */
+    public ExternalTypeEvent() {
+        begin();
+    }
+
+    /**
+     * Ends the event and commits it if it is recorded.
+     * @param type is the full name of the potential external type.
+     * @param resolved specifies whether the type was resolved and added to the model.
+     */
+    public void complete(String type, boolean resolved) {
+        end();
+        if (shouldCommit()) {
+            this.type = type;
+            this.resolved = resolved;
+            commit();
+        }
+    }
+}
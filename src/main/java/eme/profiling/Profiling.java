@@ -0,0 +1,41 @@
+package eme.profiling;
+
+/**
+ * Utility class for the Java Flight Recorder events of the extraction. The events are only used if the runtime provides
+ * the Flight Recorder API, which means the event classes must not be loaded if {@link #ENABLED} is false. The bundle
+ * requires Java 8 and imports the {@code jdk.jfr} package optionally, because older Java 8 runtimes do not have it.
+ * The event classes are only referenced in code that runs if {@link #ENABLED} is true, which means they are never
+ * loaded on such runtimes. Therefore, events are always created like this:
+ * <p>
+ * {@code TypeExtractionEvent event = Profiling.ENABLED ? new TypeExtractionEvent() : null;}
+ * <p>
+ * If the Flight Recorder API is available but the events are not recorded, they are cheap: Beginning and committing a
+ * disabled event does nothing and the event object does not escape. The events can be disabled completely with the
+ * system property {@code eme.jfr=false}.
+ * @author Timur Saglam
+ */
+public final class Profiling {
+    /**
+     * Determines whether the events of the extraction are created.
+     */
+    public static final boolean ENABLED = isAvailable();
+
+    private Profiling() {
+        // private constructor.
+    }
+
+    /**
+     * Checks whether the Flight Recorder API is available and the events are not disabled.
+     */
+    private static boolean isAvailable() {
+        if ("false".equalsIgnoreCase(System.getProperty("eme.jfr"))) {
+            return false;
+        }
+        try {
+            Class.forName("jdk.jfr.Event", false, Profiling.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError exception) {
+            return false; // runtime without Flight Recorder API
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package eme.profiling;
+
+import java.io.File;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for saving a metamodel resource. Only create it if {@link Profiling#ENABLED} is true.
+ * @author Timur Saglam
+ */
+@Name("eme.SaveResource")
+@Label("Save Resource")
+@Category({ "EME", "Saving" })
+@Description("Saving of a metamodel resource into a file")
+public class ResourceSavingEvent extends Event {
+    @Label("File")
+    private String file;
+    @Label("File Size")
+    @DataAmount
+    private long fileSize;
+
+    /**
+     * Basic constructor, begins the event.
+     */
+    public ResourceSavingEvent() {
+        begin();
+    }
+
+    /**
+     * Ends the event and commits it if it is recorded. Determines the size of the saved file only if the event is
+     * recorded.
+     * @param file is the path of the saved file.
+     */
+    public void complete(String file) {
+        end();
+        if (shouldCommit()) {
+            this.file = file;
+            fileSize = new File(file).length();
+            commit();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package eme.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for the extraction of a single type. Only create it if {@link Profiling#ENABLED} is true.
+ * @author Timur Saglam
+ */
+@Name("eme.ExtractType")
+@Label("Extract Type")
+@Category({ "EME", "Extraction" })
+@Description("Extraction of a type with its members")
+public class TypeExtractionEvent extends Event {
+    @Label("Fields")
+    private int fields;
+    @Label("Methods")
+    private int methods;
+    @Label("Type")
+    private String type;
+
+    /**
+     * Basic constructor, begins the event.
+     */
+    public TypeExtractionEvent() {
+        begin();
+    }
+
+    /**
+     * Ends the event and commits it if it is recorded.
+     * @param type is the full name of the type.
+     * @param fields is the number of extracted fields.
+     * @param methods is the number of extracted methods.
+     */
+    public void complete(String type, int fields, int methods) {
+        end();
+        if (shouldCommit()) {
+            this.type = type;
+            this.fields = fields;
+            this.methods = methods;
+            commit();
+        }
+    }
+}
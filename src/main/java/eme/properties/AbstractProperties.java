@@ -52,6 +52,17 @@ public class AbstractProperties<T extends ITextProperty, B extends IBinaryProper
         }
     }
 
+    /**
+     * Constructor for properties which are not backed by a property file, which means they do not need a running
+     * platform. Properties that are not contained have their default values.
+     * @param fileComment is the description in the property file.
+     * @param properties are the initial {@link Properties}.
+     */
+    public AbstractProperties(String fileComment, Properties properties) {
+        this.fileComment = fileComment;
+        this.properties = properties;
+    }
+
     /**
      * Accessor method for binary properties.
      * @param property is the {@link IBinaryProperty}.
@@ -74,6 +85,10 @@ public class AbstractProperties<T extends ITextProperty, B extends IBinaryProper
      * Saves the settings to the properties file.
      */
     public void save() {
+        if (fileURL == null) {
+            logger.warn("Properties are not backed by a file and can not be saved.");
+            return;
+        }
         try {
             OutputStream out = fileURL.openConnection().getOutputStream(); // create output stream
             properties.store(out, fileComment); // store with stream
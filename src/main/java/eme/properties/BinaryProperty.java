@@ -6,6 +6,7 @@ package eme.properties;
  */
 public enum BinaryProperty implements IBinaryProperty {
     ABSTRACT_METHODS("ExtractAbstractMethods", true),
+    ASYNCHRONOUS_SAVING("AsynchronousSaving", false),
     ACCESS_METHODS("ExtractAccessMethods", false),
     CLASSES("ExtractClasses", true),
     CONSTRUCTORS("ExtractConstructors", false),
@@ -30,7 +31,18 @@ public enum BinaryProperty implements IBinaryProperty {
     FIELD_MULTIPLICITIES("FieldMultiplicities", true),
     PARAMETER_MULTIPLICITIES("ParameterMultiplicities", true),
     RETURN_TYPE_MULTIPLICITIES("ReturnTypeMultiplicities", true),
-    CUSTOM_EXTRACTION_SCOPE("CustomExtractionScope", true);
+    CUSTOM_EXTRACTION_SCOPE("CustomExtractionScope", true),
+    SPLIT_RESOURCES("SplitResources", false),
+    SKIP_UNCHANGED("SkipUnchangedMetamodels", false),
+    SAVE_ONLY_IF_CHANGED("SaveOnlyIfChanged", false),
+    USE_FILE_BUFFER("UseFileBuffer", false),
+    LIGHTWEIGHT_COPY("LightweightProjectCopy", false),
+    LINK_SOURCES("LinkOriginalSources", false),
+    STREAMING_OUTPUT("StreamingOutput", false),
+    EXTRACTION_REPORT("WriteExtractionReport", false),
+    TEST_SOURCES("ExtractTestSources", true),
+    EARLY_SCOPE("ApplyScopeBeforeExtraction", false),
+    SIGNATURE_REFERENCES("FollowMethodSignatures", false);
 
     private final boolean defaultValue;
     private final String key;
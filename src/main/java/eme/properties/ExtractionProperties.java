@@ -1,14 +1,27 @@
 package eme.properties;
 
+import java.util.Properties;
+
 /**
  * This class manages the extraction properties in the user.properties file.
  * @author Timur Saglam
  */
 public class ExtractionProperties extends AbstractProperties<TextProperty, BinaryProperty> {
+    private static final String FILE_COMMENT = "Use this file to configure the Ecore metamodel extraction.";
+
     /**
      * Basic constructor, sets the file name, file description and symbolic bundle name.
      */
     public ExtractionProperties() {
-        super("user.properties", "Use this file to configure the Ecore metamodel extraction.", "EcoreMetamodelExtraction");
+        super("user.properties", FILE_COMMENT, "EcoreMetamodelExtraction");
+    }
+
+    /**
+     * Constructor for extraction properties which are not backed by the user.properties file, for example for headless
+     * runs without a running platform. Properties that are not contained have their default values.
+     * @param properties are the initial {@link Properties}.
+     */
+    public ExtractionProperties(Properties properties) {
+        super(FILE_COMMENT, properties);
     }
 }
@@ -8,10 +8,15 @@ public enum TextProperty implements ITextProperty {
     DATATYPE_PACKAGE("DataTypePackageName", "DATATYPES"),
     DEFAULT_PACKAGE("DefaultPackageName", "DEFAULT"),
     DUMMY_NAME("DummyClassName", "DUMMY"),
+    EXCLUDED_SOURCE_ROOTS("ExcludedSourceRoots", ""),
     ROOT_NAME("RootContainerName", "ROOT"),
     NESTED_TYPE_PACKAGE("NestedTypePackageSuffix", "InnerTypes"),
+    OUTPUT_FORMAT("OutputFormat", "XMI"),
     PROJECT_SUFFIX("ProjectSuffix", "Model"),
-    SAVING_STRATEGY("SavingStrategy", "NewProject");
+    ROOT_TYPES("RootTypes", ""),
+    SAVING_PROFILE("SavingProfile", "Default"),
+    SAVING_STRATEGY("SavingStrategy", "NewProject"),
+    SCOPE_PROFILE("ScopeProfile", "None");
 
     private final String defaultValue;
     private final String key;
@@ -0,0 +1,36 @@
+package eme.report;
+
+/**
+ * The phases of an extraction run, which are measured by the {@link ExtractionReport}.
+ * @author Timur Saglam
+ */
+public enum ExtractionPhase {
+    PACKAGE_DISCOVERY("packageDiscovery"),
+    COMPILATION_UNITS("compilationUnitExtraction"),
+    EXTERNAL_TYPES("externalTypes"),
+    SORTING("sorting"),
+    FREEZING("freezing"),
+    SELECTION("selection"),
+    PRUNING("pruning"),
+    CLASSIFIER_GENERATION("classifierGeneration"),
+    COMPLETION("completion"),
+    SAVING("saving");
+
+    private final String key;
+
+    /**
+     * Private constructor for enum values with key.
+     * @param key is the key of the phase in the report.
+     */
+    ExtractionPhase(String key) {
+        this.key = key;
+    }
+
+    /**
+     * Accessor for the key of the phase, which is used in the report.
+     * @return the key.
+     */
+    public String getKey() {
+        return key;
+    }
+}
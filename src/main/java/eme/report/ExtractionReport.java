@@ -0,0 +1,316 @@
+package eme.report;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import org.apache.log4j.LogManager;
+import org.apache.log4j.Logger;
+
+import eme.model.ExtractedPackage;
+import eme.model.ExtractedType;
+import eme.model.IntermediateModel;
+import eme.model.ModelVisitor;
+
+/**
+ * Structured report of a single extraction run. Contains the wall and CPU time of every {@link ExtractionPhase},
+ * counters of the extracted and generated elements, the hit rates of the lookup caches and the sampled peak heap usage.
+ * The report can be written as JSON file, which allows to compare runs across releases.
+ * @author Timur Saglam
+ */
+public class ExtractionReport {
+    private static final Logger logger = LogManager.getLogger(ExtractionReport.class.getName());
+    private static final int NANOS_PER_MILLI = 1000000;
+    private final Map<String, long[]> cacheLookups; // hits and misses
+    private final Map<String, Long> counters;
+    private final HeapSampler heapSampler;
+    private long peakHeap;
+    private final Map<ExtractionPhase, PhaseTime> phases;
+    private final String projectName;
+    private int runningPhases;
+    private final long startTime;
+    private final ThreadMXBean threads;
+    private long totalTime;
+
+    /**
+     * Basic constructor, starts the report.
+     * @param projectName is the name of the extracted project.
+     */
+    public ExtractionReport(String projectName) {
+        this.projectName = projectName;
+        cacheLookups = new LinkedHashMap<String, long[]>();
+        counters = new LinkedHashMap<String, Long>();
+        phases = new EnumMap<ExtractionPhase, PhaseTime>(ExtractionPhase.class);
+        heapSampler = new HeapSampler();
+        threads = ManagementFactory.getThreadMXBean();
+        startTime = System.nanoTime();
+    }
+
+    /**
+     * Adds the result of cache lookups to the report.
+     * @param cache is the name of the cache.
+     * @param hits is the number of lookups that found an entry.
+     * @param misses is the number of lookups that did not find an entry.
+     */
+    public synchronized void addCacheLookups(String cache, long hits, long misses) {
+        long[] lookups = cacheLookups.computeIfAbsent(cache, key -> new long[2]);
+        lookups[0] += hits;
+        lookups[1] += misses;
+    }
+
+    /**
+     * Adds the element counts of an {@link IntermediateModel} to the report, which are the number of packages, types,
+     * methods, fields and external types.
+     * @param model is the {@link IntermediateModel}.
+     */
+    public void addModelCounts(IntermediateModel model) {
+        long[] counts = new long[4];
+        model.accept(new ModelVisitor() {
+            @Override
+            public boolean visit(ExtractedPackage extractedPackage) {
+                counts[0]++;
+                return true;
+            }
+
+            @Override
+            public void visit(ExtractedType type) {
+                counts[1]++;
+                counts[2] += type.getMethods().size();
+                counts[3] += type.getFields().size();
+            }
+        });
+        count("packages", counts[0]);
+        count("types", counts[1]);
+        count("methods", counts[2]);
+        count("fields", counts[3]);
+        count("externalTypes", model.getExternalTypes().size());
+    }
+
+    /**
+     * Adds an amount to a counter of the report.
+     * @param counter is the name of the counter.
+     * @param amount is the amount to add.
+     */
+    public synchronized void count(String counter, long amount) {
+        counters.merge(counter, amount, Long::sum);
+    }
+
+    /**
+     * Finishes the report, which means the total time is measured and the heap sampling ends. The heap sampling always
+     * ends, even if phases were never stopped because the run failed.
+     */
+    public synchronized void finish() {
+        totalTime = System.nanoTime() - startTime;
+        heapSampler.stop(); // samples a last time, removes the listeners of phases which were never stopped
+        runningPhases = 0;
+        peakHeap = heapSampler.getPeak();
+        logger.info("Extraction of " + projectName + " took " + totalTime / NANOS_PER_MILLI + "ms, sampled peak heap: " + peakHeap / 1024 / 1024 + "MB");
+    }
+
+    /**
+     * Returns the value of a counter.
+     * @param counter is the name of the counter.
+     * @return the value, or 0 if the counter does not exist.
+     */
+    public synchronized long getCount(String counter) {
+        return counters.getOrDefault(counter, 0L);
+    }
+
+    /**
+     * Returns the CPU time of a phase. The CPU time is only measured if the phase was started and stopped by the same
+     * thread and the JVM supports it.
+     * @param phase is the {@link ExtractionPhase}.
+     * @return the CPU time in nanoseconds, or -1 if it was not measured.
+     */
+    public synchronized long getCpuTime(ExtractionPhase phase) {
+        return phases.containsKey(phase) ? phases.get(phase).cpuTime : -1;
+    }
+
+    /**
+     * Returns the sampled peak heap usage of the run, which is available when the report is finished. While phases are
+     * running, the total heap usage is sampled at the start and the end of every phase and right before every garbage
+     * collection. The value is an approximation: The peak between the samples is not seen and the heap is shared by the
+     * whole JVM, which means concurrent runs or other activities are included.
+     * @return the sampled peak heap usage in bytes.
+     */
+    public synchronized long getPeakHeap() {
+        return peakHeap;
+    }
+
+    /**
+     * Returns the wall time of a phase.
+     * @param phase is the {@link ExtractionPhase}.
+     * @return the wall time in nanoseconds, or -1 if the phase was not measured.
+     */
+    public synchronized long getWallTime(ExtractionPhase phase) {
+        return phases.containsKey(phase) ? phases.get(phase).wallTime : -1;
+    }
+
+    /**
+     * Writes the report as JSON file.
+     * @param filePath is the path of the file.
+     */
+    public void save(String filePath) {
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(filePath), StandardCharsets.UTF_8)) {
+            writer.write(toJSON());
+        } catch (IOException exception) {
+            logger.error("Could not write the extraction report to " + filePath, exception);
+        }
+    }
+
+    /**
+     * Starts measuring an {@link ExtractionPhase}. A phase can be measured multiple times, the times are added.
+     * @param phase is the {@link ExtractionPhase}.
+     */
+    public synchronized void start(ExtractionPhase phase) {
+        if (runningPhases++ == 0) {
+            heapSampler.start();
+        } else {
+            heapSampler.sample();
+        }
+        PhaseTime time = phases.computeIfAbsent(phase, key -> new PhaseTime());
+        time.thread = Thread.currentThread().getId();
+        time.wallStart = System.nanoTime();
+        time.cpuStart = currentCpuTime();
+    }
+
+    /**
+     * Stops measuring an {@link ExtractionPhase}.
+     * @param phase is the {@link ExtractionPhase}.
+     */
+    public synchronized void stop(ExtractionPhase phase) {
+        PhaseTime time = phases.get(phase);
+        if (time == null) {
+            throw new IllegalStateException("Phase was not started: " + phase);
+        }
+        time.wallTime += System.nanoTime() - time.wallStart;
+        long cpuEnd = currentCpuTime();
+        if (time.thread == Thread.currentThread().getId() && time.cpuStart >= 0 && cpuEnd >= 0 && time.cpuTime >= 0) {
+            time.cpuTime += cpuEnd - time.cpuStart;
+        } else { // other thread or not supported
+            time.cpuTime = -1;
+        }
+        if (runningPhases > 0 && --runningPhases == 0) {
+            heapSampler.stop();
+        } else {
+            heapSampler.sample();
+        }
+    }
+
+    /**
+     * Returns the report as JSON string. All times are in milliseconds, the sampled peak heap usage is in bytes.
+     * @return the JSON string.
+     */
+    public synchronized String toJSON() {
+        StringBuilder json = new StringBuilder("{\n");
+        json.append("  \"project\": \"").append(escape(projectName)).append("\",\n");
+        json.append("  \"totalTimeMs\": ").append(toMillis(totalTime)).append(",\n");
+        json.append("  \"sampledPeakHeapBytes\": ").append(peakHeap).append(",\n");
+        json.append("  \"phases\": {");
+        String separator = "\n";
+        for (ExtractionPhase phase : phases.keySet()) {
+            PhaseTime time = phases.get(phase);
+            json.append(separator).append("    \"").append(phase.getKey()).append("\": { \"wallMs\": ").append(toMillis(time.wallTime));
+            json.append(", \"cpuMs\": ").append(time.cpuTime < 0 ? "null" : toMillis(time.cpuTime)).append(" }");
+            separator = ",\n";
+        }
+        json.append("\n  },\n  \"counters\": {");
+        separator = "\n";
+        for (String counter : counters.keySet()) {
+            json.append(separator).append("    \"").append(escape(counter)).append("\": ").append(counters.get(counter));
+            separator = ",\n";
+        }
+        json.append("\n  },\n  \"caches\": {");
+        separator = "\n";
+        for (String cache : cacheLookups.keySet()) {
+            long[] lookups = cacheLookups.get(cache);
+            long total = lookups[0] + lookups[1];
+            json.append(separator).append("    \"").append(escape(cache)).append("\": { \"hits\": ").append(lookups[0]);
+            json.append(", \"misses\": ").append(lookups[1]);
+            json.append(", \"hitRate\": ").append(total == 0 ? "null" : String.format(Locale.ROOT, "%.4f", (double) lookups[0] / total));
+            json.append(" }");
+            separator = ",\n";
+        }
+        return json.append("\n  }\n}\n").toString();
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "(" + projectName + ")";
+    }
+
+    /**
+     * Returns the CPU time of the current thread, or -1 if it is not supported.
+     */
+    private long currentCpuTime() {
+        if (threads.isCurrentThreadCpuTimeSupported() && threads.isThreadCpuTimeEnabled()) {
+            return threads.getCurrentThreadCpuTime();
+        }
+        return -1;
+    }
+
+    /**
+     * Escapes a string for JSON, including all control characters.
+     */
+    private String escape(String value) {
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (char character : value.toCharArray()) {
+            switch (character) {
+            case '"':
+                escaped.append("\\\"");
+                break;
+            case '\\':
+                escaped.append("\\\\");
+                break;
+            case '\b':
+                escaped.append("\\b");
+                break;
+            case '\f':
+                escaped.append("\\f");
+                break;
+            case '\n':
+                escaped.append("\\n");
+                break;
+            case '\r':
+                escaped.append("\\r");
+                break;
+            case '\t':
+                escaped.append("\\t");
+                break;
+            default:
+                if (character < ' ') {
+                    escaped.append(String.format(Locale.ROOT, "\\u%04x", (int) character));
+                } else {
+                    escaped.append(character);
+                }
+            }
+        }
+        return escaped.toString();
+    }
+
+    /**
+     * Converts nanoseconds into milliseconds with fractions.
+     */
+    private String toMillis(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", (double) nanos / NANOS_PER_MILLI);
+    }
+
+    /**
+     * Measured times of a single phase.
+     */
+    private static class PhaseTime {
+        private long cpuStart;
+        private long cpuTime;
+        private long thread;
+        private long wallStart;
+        private long wallTime;
+    }
+}
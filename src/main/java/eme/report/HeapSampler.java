@@ -0,0 +1,127 @@
+package eme.report;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.TabularData;
+
+/**
+ * Samples the total heap usage of the JVM while it is running, without changing any global state of the memory pools.
+ * The total heap usage is sampled when sampling starts and stops, on every explicit sample and right before every
+ * garbage collection, where the usage is the highest. Every sample is the total usage at a single point in time. The
+ * heap is shared by the whole JVM, which means the samples include the memory of concurrent activities.
+ * @author Timur Saglam
+ */
+class HeapSampler implements NotificationListener {
+    private static final String GC_NOTIFICATION = "com.sun.management.gc.notification"; // type of the JDK notifications
+    private final List<NotificationEmitter> emitters;
+    private final Set<String> heapPools;
+    private final MemoryMXBean memory;
+    private final AtomicLong peak;
+
+    /**
+     * Basic constructor, creates a sampler which does not sample yet.
+     */
+    HeapSampler() {
+        emitters = new ArrayList<NotificationEmitter>();
+        heapPools = new HashSet<String>();
+        memory = ManagementFactory.getMemoryMXBean();
+        peak = new AtomicLong();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                heapPools.add(pool.getName());
+            }
+        }
+    }
+
+    /**
+     * Accessor for the highest sampled total heap usage.
+     * @return the peak in bytes.
+     */
+    long getPeak() {
+        return peak.get();
+    }
+
+    @Override
+    public void handleNotification(Notification notification, Object handback) {
+        if (GC_NOTIFICATION.equals(notification.getType()) && notification.getUserData() instanceof CompositeData) {
+            update(getUsageBeforeGc((CompositeData) notification.getUserData()));
+        }
+    }
+
+    /**
+     * Samples the current total heap usage.
+     */
+    void sample() {
+        update(memory.getHeapMemoryUsage().getUsed());
+    }
+
+    /**
+     * Starts sampling by listening to the garbage collections.
+     */
+    synchronized void start() {
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (collector instanceof NotificationEmitter) {
+                NotificationEmitter emitter = (NotificationEmitter) collector;
+                emitter.addNotificationListener(this, null, null);
+                emitters.add(emitter);
+            }
+        }
+        sample();
+    }
+
+    /**
+     * Stops sampling, which means the sampler does not listen to the garbage collections anymore.
+     */
+    synchronized void stop() {
+        sample();
+        for (NotificationEmitter emitter : emitters) {
+            try {
+                emitter.removeNotificationListener(this);
+            } catch (ListenerNotFoundException exception) {
+                // already removed
+            }
+        }
+        emitters.clear();
+    }
+
+    /**
+     * Returns the total heap usage before a garbage collection from the data of a garbage collection notification.
+     * Uses only the open types of the notification, which means no JDK specific classes are needed.
+     */
+    private long getUsageBeforeGc(CompositeData notificationData) {
+        long used = 0;
+        if (notificationData.containsKey("gcInfo")) {
+            CompositeData gcInfo = (CompositeData) notificationData.get("gcInfo");
+            TabularData usages = (TabularData) gcInfo.get("memoryUsageBeforeGc");
+            for (Object row : usages.values()) { // rows of pool name and memory usage
+                CompositeData entry = (CompositeData) row;
+                if (heapPools.contains(entry.get("key"))) {
+                    used += MemoryUsage.from((CompositeData) entry.get("value")).getUsed();
+                }
+            }
+        }
+        return used;
+    }
+
+    /**
+     * Updates the peak with a sample.
+     */
+    private void update(long sample) {
+        peak.accumulateAndGet(sample, Math::max);
+    }
+}
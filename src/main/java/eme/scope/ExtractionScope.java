@@ -0,0 +1,218 @@
+package eme.scope;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.log4j.LogManager;
+import org.apache.log4j.Logger;
+import org.eclipse.core.runtime.FileLocator;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.core.runtime.Platform;
+import org.osgi.framework.Bundle;
+
+import eme.model.ExtractedPackage;
+import eme.model.ExtractedType;
+import eme.model.IntermediateModel;
+
+/**
+ * Rule based extraction scope, which allows to restrict the extraction scope without the selection window. The scope
+ * consists of an ordered list of {@link ScopeRule}s, the last rule that matches the full name of a package or type
+ * decides whether it is included. Elements that match no rule are included, unless the scope contains include rules.
+ * Scopes can be saved as profile files with one rule per line, profiles are loaded by name with
+ * {@link #fromProfile(String)}.
+ * @author Timur Saglam
+ */
+public class ExtractionScope {
+    private static final String BUNDLE_NAME = "EcoreMetamodelExtraction";
+    private static final String COMMENT_PREFIX = "#";
+    private static final Logger logger = LogManager.getLogger(ExtractionScope.class.getName());
+    private static final String NO_PROFILE = "None";
+    private static final String PROFILE_FOLDER = "scopes/";
+    private static final String PROFILE_SUFFIX = ".scope";
+    private boolean includeRules;
+    private final List<ScopeRule> rules;
+
+    /**
+     * Basic constructor, creates an empty scope which includes everything.
+     */
+    public ExtractionScope() {
+        rules = new ArrayList<ScopeRule>();
+    }
+
+    /**
+     * Loads the scope of a profile. The profile name is either the path of a profile file or the name of a profile in
+     * the "scopes" folder of the plug-in, e.g. "DomainOnly" for the file "scopes/DomainOnly.scope". The name "None"
+     * returns an empty scope.
+     * @param profileName is the name of the profile.
+     * @return the scope, which is empty if the profile could not be found.
+     */
+    public static ExtractionScope fromProfile(String profileName) {
+        if (profileName == null || profileName.isEmpty() || NO_PROFILE.equalsIgnoreCase(profileName)) {
+            return new ExtractionScope();
+        }
+        File file = new File(profileName);
+        if (file.isFile()) {
+            return load(file);
+        }
+        Bundle bundle = Platform.getBundle(BUNDLE_NAME);
+        URL url = bundle == null ? null : FileLocator.find(bundle, new Path(PROFILE_FOLDER + profileName + PROFILE_SUFFIX), null);
+        if (url == null) {
+            logger.error("Unknown scope profile: " + profileName);
+            return new ExtractionScope();
+        }
+        try (InputStream stream = url.openStream()) {
+            return read(stream, profileName);
+        } catch (IOException exception) {
+            logger.error("Could not load scope profile " + profileName, exception);
+            return new ExtractionScope();
+        }
+    }
+
+    /**
+     * Loads a scope from a profile file.
+     * @param file is the profile file.
+     * @return the scope, which is empty if the file could not be read.
+     */
+    public static ExtractionScope load(File file) {
+        try (InputStream stream = Files.newInputStream(file.toPath())) {
+            return read(stream, file.getPath());
+        } catch (IOException exception) {
+            logger.error("Could not load scope profile " + file, exception);
+            return new ExtractionScope();
+        }
+    }
+
+    /**
+     * Adds a {@link ScopeRule} to the end of the scope, which means it overrides all earlier rules.
+     * @param rule is the new {@link ScopeRule}.
+     */
+    public void add(ScopeRule rule) {
+        rules.add(rule);
+        includeRules |= rule.isInclude();
+    }
+
+    /**
+     * Applies the scope to an {@link IntermediateModel} in one pass by selecting the included and deselecting the
+     * excluded packages and types. A package stays selected if it contains included types, even if it is excluded itself,
+     * because otherwise its types could not be generated.
+     * @param model is the {@link IntermediateModel}.
+     * @return the number of selected types.
+     */
+    public int apply(IntermediateModel model) {
+        int selectedTypes = apply(model.getRoot());
+        logger.info("Applied extraction scope " + rules + ": " + selectedTypes + " types selected");
+        return selectedTypes;
+    }
+
+    /**
+     * Accessor for the rules of the scope.
+     * @return the unmodifiable list of {@link ScopeRule}s.
+     */
+    public List<ScopeRule> getRules() {
+        return Collections.unmodifiableList(rules);
+    }
+
+    /**
+     * Checks whether a package or type is included in the scope.
+     * @param fullName is the full name of the package or type.
+     * @return true if the last matching rule is an include rule, or if no rule matches and there are no include rules.
+     */
+    public boolean includes(String fullName) {
+        for (int i = rules.size() - 1; i >= 0; i--) { // last matching rule wins
+            if (rules.get(i).matches(fullName)) {
+                return rules.get(i).isInclude();
+            }
+        }
+        return !includeRules;
+    }
+
+    /**
+     * Checks whether the scope has no rules, which means it includes everything.
+     * @return true if it is empty.
+     */
+    public boolean isEmpty() {
+        return rules.isEmpty();
+    }
+
+    /**
+     * Saves the scope as profile file with one rule per line.
+     * @param file is the profile file.
+     */
+    public void save(File file) {
+        try (Writer writer = new OutputStreamWriter(Files.newOutputStream(file.toPath()), StandardCharsets.UTF_8)) {
+            for (ScopeRule rule : rules) {
+                writer.write(rule.toString());
+                writer.write(System.lineSeparator());
+            }
+        } catch (IOException exception) {
+            logger.error("Could not save scope profile " + file, exception);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + rules;
+    }
+
+    /**
+     * Applies the scope to a package, its types and its subpackages without recursive selection calls.
+     * @return the number of selected types in the package and its subpackages.
+     */
+    private int apply(ExtractedPackage extractedPackage) {
+        int selectedTypes = apply(extractedPackage.getClasses()) + apply(extractedPackage.getInterfaces())
+                + apply(extractedPackage.getEnumerations());
+        for (ExtractedPackage subpackage : extractedPackage.getSubpackages()) {
+            selectedTypes += apply(subpackage);
+        }
+        extractedPackage.setPackageSelected(selectedTypes > 0 || includes(extractedPackage.getFullName()));
+        return selectedTypes;
+    }
+
+    /**
+     * Applies the scope to a list of types.
+     * @return the number of selected types.
+     */
+    private int apply(List<? extends ExtractedType> types) {
+        int selectedTypes = 0;
+        for (ExtractedType type : types) {
+            boolean included = includes(type.getFullName());
+            type.setSelected(included);
+            selectedTypes += included ? 1 : 0;
+        }
+        return selectedTypes;
+    }
+
+    /**
+     * Reads the rules of a scope from a stream. Empty lines and lines starting with "#" are ignored. Invalid rules are
+     * logged with their line number and skipped, which means a single invalid rule does not abort the extraction.
+     */
+    private static ExtractionScope read(InputStream stream, String source) throws IOException {
+        ExtractionScope scope = new ExtractionScope();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8));
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            String trimmed = line.trim();
+            if (!trimmed.isEmpty() && !trimmed.startsWith(COMMENT_PREFIX)) {
+                try {
+                    scope.add(ScopeRule.parse(trimmed));
+                } catch (IllegalArgumentException exception) { // missing prefix or invalid regular expression
+                    logger.error("Skipped invalid scope rule in " + source + " line " + lineNumber + ": " + exception.getMessage());
+                }
+            }
+        }
+        return scope;
+    }
+}
@@ -0,0 +1,108 @@
+package eme.scope;
+
+import java.util.regex.Pattern;
+
+/**
+ * Include or exclude rule of an {@link ExtractionScope}. A rule matches the full names of packages and types with either
+ * a glob pattern or a regular expression. In glob patterns, "*" matches any characters except a dot, "**" matches any
+ * characters including dots and "?" matches a single character except a dot.
+ * @author Timur Saglam
+ */
+public class ScopeRule {
+    private static final String EXCLUDE_PREFIX = "-";
+    private static final String INCLUDE_PREFIX = "+";
+    private static final String REGEX_PREFIX = "regex:";
+    private final String expression;
+    private final boolean include;
+    private final Pattern pattern;
+
+    /**
+     * Basic constructor, creates a rule from a glob pattern or a regular expression.
+     * @param include determines whether matching elements are included or excluded.
+     * @param expression is the glob pattern or, if it starts with "regex:", the regular expression.
+     * @throws java.util.regex.PatternSyntaxException if the regular expression is invalid.
+     */
+    public ScopeRule(boolean include, String expression) {
+        this.include = include;
+        this.expression = expression;
+        if (expression.startsWith(REGEX_PREFIX)) {
+            pattern = Pattern.compile(expression.substring(REGEX_PREFIX.length()));
+        } else {
+            pattern = Pattern.compile(globToRegex(expression, '.'));
+        }
+    }
+
+    /**
+     * Parses a rule from its textual representation, which is the prefix "+" for including or "-" for excluding rules
+     * followed by the glob pattern or regular expression, e.g. "-com.example.**.test.**" or "+regex:.*Model".
+     * @param rule is the textual representation.
+     * @return the parsed rule.
+     * @throws IllegalArgumentException if the rule has no valid prefix or an invalid regular expression.
+     */
+    public static ScopeRule parse(String rule) {
+        String trimmed = rule.trim();
+        if (trimmed.startsWith(INCLUDE_PREFIX)) {
+            return new ScopeRule(true, trimmed.substring(INCLUDE_PREFIX.length()).trim());
+        } else if (trimmed.startsWith(EXCLUDE_PREFIX)) {
+            return new ScopeRule(false, trimmed.substring(EXCLUDE_PREFIX.length()).trim());
+        }
+        throw new IllegalArgumentException("Scope rule needs to start with + or -: " + rule);
+    }
+
+    /**
+     * Converts a glob pattern into a regular expression. A single "*" does not match the separator of the name segments.
+     * @param glob is the glob pattern.
+     * @param separator is the separator of the name segments, e.g. a dot for package names or a slash for paths.
+     * @return the regular expression.
+     */
+    static String globToRegex(String glob, char separator) {
+        String segment = "[^\\" + separator + "]"; // any character except the separator
+        StringBuilder regex = new StringBuilder();
+        for (int i = 0; i < glob.length(); i++) {
+            char character = glob.charAt(i);
+            if (character == '*' && i + 1 < glob.length() && glob.charAt(i + 1) == '*') {
+                regex.append(".*"); // any characters including separators
+                i++;
+            } else if (character == '*') {
+                regex.append(segment).append('*'); // any characters in a single name segment
+            } else if (character == '?') {
+                regex.append(segment);
+            } else if (Character.isLetterOrDigit(character) || character == '_') {
+                regex.append(character);
+            } else {
+                regex.append('\\').append(character); // escape separators and other special characters
+            }
+        }
+        return regex.toString();
+    }
+
+    /**
+     * Accessor for the glob pattern or regular expression of the rule.
+     * @return the expression.
+     */
+    public String getExpression() {
+        return expression;
+    }
+
+    /**
+     * Checks whether the rule includes or excludes matching elements.
+     * @return true if it includes them.
+     */
+    public boolean isInclude() {
+        return include;
+    }
+
+    /**
+     * Checks whether a full name of a package or type matches the rule.
+     * @param fullName is the full name.
+     * @return true if it matches.
+     */
+    public boolean matches(String fullName) {
+        return pattern.matcher(fullName).matches();
+    }
+
+    @Override
+    public String toString() {
+        return (include ? INCLUDE_PREFIX : EXCLUDE_PREFIX) + expression;
+    }
+}
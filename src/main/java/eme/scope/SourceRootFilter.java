@@ -0,0 +1,74 @@
+package eme.scope;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Filter for the source roots of a project, e.g. "src/main/java" or "src/test/java". Excluded source roots are skipped
+ * completely by the extractor, which means their compilation units are never parsed. Source roots can be excluded with
+ * glob patterns over their project relative paths, where "*" does not match a slash, and test source roots can be
+ * excluded altogether.
+ * @author Timur Saglam
+ */
+public class SourceRootFilter {
+    private static final String SEPARATOR = ",";
+    private final List<Pattern> excludedRoots;
+    private final boolean testSources;
+
+    /**
+     * Basic constructor, creates a filter without excluded paths.
+     * @param testSources determines whether test source roots are included.
+     */
+    public SourceRootFilter(boolean testSources) {
+        this.testSources = testSources;
+        excludedRoots = new ArrayList<Pattern>();
+    }
+
+    /**
+     * Creates a filter from a comma separated list of glob patterns, e.g. "src/test/**, **&#47;generated*".
+     * @param testSources determines whether test source roots are included.
+     * @param excludedRoots is the comma separated list of glob patterns of excluded source roots.
+     * @return the filter.
+     */
+    public static SourceRootFilter create(boolean testSources, String excludedRoots) {
+        SourceRootFilter filter = new SourceRootFilter(testSources);
+        for (String excludedRoot : excludedRoots.split(SEPARATOR)) {
+            if (!excludedRoot.trim().isEmpty()) {
+                filter.exclude(excludedRoot.trim());
+            }
+        }
+        return filter;
+    }
+
+    /**
+     * Excludes all source roots whose project relative path matches a glob pattern.
+     * @param glob is the glob pattern, e.g. "src/test/**" or "**&#47;generated*".
+     */
+    public void exclude(String glob) {
+        excludedRoots.add(Pattern.compile(ScopeRule.globToRegex(glob, '/')));
+    }
+
+    /**
+     * Checks whether a source root is included.
+     * @param path is the project relative path of the source root.
+     * @param testRoot determines whether the source root is marked as test source root.
+     * @return true if it is included.
+     */
+    public boolean includes(String path, boolean testRoot) {
+        if (testRoot && !testSources) {
+            return false;
+        }
+        for (Pattern excludedRoot : excludedRoots) {
+            if (excludedRoot.matcher(path).matches()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "(testSources=" + testSources + ", excluded=" + excludedRoots + ")";
+    }
+}
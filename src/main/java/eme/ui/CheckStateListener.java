@@ -1,15 +1,23 @@
 package eme.ui;
 
+import java.util.LinkedHashSet;
+import java.util.Set;
+
 import org.eclipse.jface.viewers.CheckStateChangedEvent;
 import org.eclipse.jface.viewers.CheckboxTreeViewer;
 import org.eclipse.jface.viewers.ICheckStateListener;
 
 import eme.model.ExtractedElement;
+import eme.model.ExtractedPackage;
+import eme.model.ExtractedType;
 import eme.model.IntermediateModel;
+import eme.model.ModelVisitor;
+import eme.model.SupertypeIndex;
 
 /**
  * A listener which is notified of changes to the checked state of items in check box viewers. Updates the selected
- * state of the correlating intermediate model element.
+ * state of the correlating intermediate model element. Only the rows of the changed subtree and the rows of the subtypes
+ * whose super type warnings changed are updated.
  * @author Timur Saglam
  */
 public class CheckStateListener implements ICheckStateListener {
@@ -35,20 +43,52 @@ public class CheckStateListener implements ICheckStateListener {
         }
     }
 
+    /**
+     * Adds an element and, if it is a package, its whole subtree to a set of changed elements.
+     */
+    private void collectSubtree(ExtractedElement element, Set<ExtractedElement> changed) {
+        if (element instanceof ExtractedPackage) {
+            ((ExtractedPackage) element).accept(new ModelVisitor() {
+                @Override
+                public boolean visit(ExtractedPackage extractedPackage) {
+                    changed.add(extractedPackage);
+                    return true;
+                }
+
+                @Override
+                public void visit(ExtractedType type) {
+                    changed.add(type);
+                }
+            });
+        } else {
+            changed.add(element);
+        }
+    }
+
     /**
      * Updates the selection of the intermediate model according to a {@link CheckStateChangedEvent}, if the checked element
      * is not the root package.
      */
     private void updateSelection(ExtractedElement element, CheckStateChangedEvent event) {
-        element.setSelected(event.getChecked()); // set selected if checked and vice versa
+        SupertypeIndex index = model.getSupertypeIndex(); // needs to know the selection before the change
+        boolean checked = event.getChecked();
         if (model.getRoot().equals(element)) { // if is root package
-            treeViewer.setSubtreeChecked(element, !rootChecked); // show selection for subtree with root state
             rootChecked = !rootChecked;
+            checked = rootChecked; // root toggles the selection of its subtree
             event.getCheckable().setChecked(element, true); // check the check box again
-        } else {
-            treeViewer.setSubtreeChecked(element, event.getChecked()); // show selection for subtree
         }
-        treeViewer.refresh();
+        element.setSelected(checked); // set selected if checked and vice versa
+        updateViewer(element, index);
     }
 
+    /**
+     * Updates the rows of the subtree of a changed element and of all subtypes whose super type warnings changed. Rows
+     * that are not materialized by the virtual tree are skipped by the viewer.
+     */
+    private void updateViewer(ExtractedElement element, SupertypeIndex index) {
+        Set<ExtractedElement> changed = new LinkedHashSet<ExtractedElement>();
+        collectSubtree(element, changed);
+        changed.addAll(index.updateSelection(changed));
+        treeViewer.update(changed.toArray(), null); // updates labels, colors and check states
+    }
 }
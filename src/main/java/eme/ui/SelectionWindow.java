@@ -71,7 +71,8 @@ public class SelectionWindow { // TODO (HIGH) enable all packages of a type when
         shell.setText("Select extraction scope");
         shell.setLayout(new FillLayout(SWT.HORIZONTAL));
         // Tree viewer:
-        CheckboxTreeViewer treeViewer = new CheckboxTreeViewer(shell, SWT.BORDER);
+        CheckboxTreeViewer treeViewer = new CheckboxTreeViewer(shell, SWT.BORDER | SWT.VIRTUAL);
+        treeViewer.setUseHashlookup(true); // fast element lookup for the lazy content provider
         treeViewer.setAutoExpandLevel(3);
         treeViewer.setContentProvider(new TreeContentProvider());
         treeViewer.addCheckStateListener(new CheckStateListener(model, treeViewer));
@@ -1,7 +1,5 @@
 package eme.ui.providers;
 
-import java.util.LinkedList;
-import java.util.List;
 import java.util.StringJoiner;
 
 import org.eclipse.swt.graphics.Color;
@@ -11,10 +9,12 @@ import eme.model.ExtractedClass;
 import eme.model.ExtractedElement;
 import eme.model.ExtractedType;
 import eme.model.IntermediateModel;
+import eme.model.SupertypeIndex;
 import eme.model.datatypes.ExtractedDataType;
 
 /**
- * Label provider adapter that shows the super types of the elements type as column text.
+ * Label provider adapter that shows the super types of the elements type as column text. The warning colors are taken
+ * from the {@link SupertypeIndex} of the model, which means they are computed in constant time per row.
  * @author Timur Saglam
  */
 public class SuperTypeLabelProvider extends GenericColumnLabelProvider<ExtractedElement> {
@@ -38,14 +38,18 @@ public class SuperTypeLabelProvider extends GenericColumnLabelProvider<Extracted
 
     @Override
     public Color getColumnBackground(ExtractedElement element) {
-        if (element.isSelected()) { // only show warnings/errors for selected elements.
-            if (hasSelection(false, getSuperTypes(element))) {
-                return errorColor; // at least one super type is not selected
-            } else if (hasExternalSupertype(element)) {
-                return warningColor; // at least one super type is an external type
+        if (element instanceof ExtractedType) { // only types have super types
+            ExtractedType type = (ExtractedType) element;
+            SupertypeIndex index = model.getSupertypeIndex();
+            if (type.isSelected()) { // only show warnings/errors for selected elements.
+                if (index.hasUnselectedSupertype(type)) {
+                    return errorColor; // at least one super type is not selected
+                } else if (index.hasExternalSupertype(type)) {
+                    return warningColor; // at least one super type is an external type
+                }
+            } else if (type instanceof ExtractedClass && index.hasSelectedSuperInterface(type)) {
+                return errorColor2; // class deslected but super interface is
             }
-        } else if (element instanceof ExtractedClass && hasSelection(true, getSuperInterfaces(element))) {
-            return errorColor2; // class deslected but super interface is
         }
         return null; // no background color
     }
@@ -53,8 +57,13 @@ public class SuperTypeLabelProvider extends GenericColumnLabelProvider<Extracted
     @Override
     public String getColumnText(ExtractedElement element) {
         StringJoiner joiner = new StringJoiner(", ");
-        for (ExtractedDataType superType : getSuperTypes(element)) {
-            joiner.add(superType.getFullType()); // add all super types to joiner
+        if (element instanceof ExtractedType) {
+            for (ExtractedDataType superInterface : ((ExtractedType) element).getSuperInterfaces()) {
+                joiner.add(superInterface.getFullType()); // add all super interfaces to joiner
+            }
+        }
+        if (element instanceof ExtractedClass && ((ExtractedClass) element).getSuperClass() != null) {
+            joiner.add(((ExtractedClass) element).getSuperClass().getFullType()); // super class reference can be null
         }
         return joiner.toString(); // return comma separated list of super types
     }
@@ -63,55 +72,4 @@ public class SuperTypeLabelProvider extends GenericColumnLabelProvider<Extracted
     public String getColumnToolTip(ExtractedElement element) {
         return TOOL_TIP_INFO;
     }
-
-    /**
-     * Returns list of super types, if the element is a type which can own super types (any {@link ExtractedType}).
-     */
-    private List<ExtractedDataType> getSuperTypes(ExtractedElement element) {
-        List<ExtractedDataType> superTypes = new LinkedList<>();
-        superTypes.addAll(getSuperInterfaces(element));
-        if (element instanceof ExtractedClass) { // add super classes
-            ExtractedDataType superClass = ((ExtractedClass) element).getSuperClass();
-            if (superClass != null) { // super class reference can be null
-                superTypes.add(superClass);
-            }
-        }
-        return superTypes;
-    }
-
-    /**
-     * Returns list of super interfaces, if the element is a type which can own super interfaces (any
-     * {@link ExtractedType}).
-     */
-    private List<ExtractedDataType> getSuperInterfaces(ExtractedElement element) {
-        if (element instanceof ExtractedType) { // add super interfaces:
-            return ((ExtractedType) element).getSuperInterfaces();
-        }
-        return new LinkedList<>();
-    }
-
-    /**
-     * Checks whether at least one referenced super type is an external type.
-     */
-    private boolean hasExternalSupertype(ExtractedElement element) {
-        for (ExtractedDataType type : getSuperTypes(element)) {
-            if (model.containsExternal(type.getFullType())) {
-                return true; // at least one super type is an external type
-            }
-        }
-        return false;
-    }
-
-    /**
-     * Checks whether at least one {@link ExtractedDataType} of a list has a specific selection defined by the value. This
-     * means either at least one is selected or deselected depending on the value parameter.
-     */
-    private boolean hasSelection(boolean value, List<ExtractedDataType> types) {
-        for (ExtractedDataType type : types) {
-            if (model.contains(type.getFullType()) && model.getType(type.getFullType()).isSelected() == value) {
-                return true; // at least one super type is not selected
-            }
-        }
-        return false;
-    }
-}
\ No newline at end of file
+}
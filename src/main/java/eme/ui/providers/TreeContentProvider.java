@@ -1,68 +1,118 @@
 package eme.ui.providers;
 
-import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Map;
 
-import org.eclipse.jface.viewers.ArrayContentProvider;
-import org.eclipse.jface.viewers.ITreeContentProvider;
+import org.eclipse.jface.viewers.ILazyTreeContentProvider;
+import org.eclipse.jface.viewers.TreeViewer;
+import org.eclipse.jface.viewers.Viewer;
 
 import eme.model.ExtractedElement;
 import eme.model.ExtractedPackage;
+import eme.model.ExtractedType;
 import eme.model.IntermediateModel;
 
 /**
- * Intermediate model tree content provider. Provides tree view with content from an intermediate model.
+ * Lazy intermediate model tree content provider. Provides a virtual tree view with content from an intermediate model.
+ * Only the visible rows are materialized by the viewer. The child arrays of every package are computed once and cached,
+ * which means the provider assumes the model structure does not change while it is shown.
  * @author Timur Saglam
  */
-public class TreeContentProvider implements ITreeContentProvider {
+public class TreeContentProvider implements ILazyTreeContentProvider {
+    private static final Object[] NO_CHILDREN = new Object[0];
+    private final Map<ExtractedPackage, Object[]> children;
+    private IntermediateModel model;
+    private final Map<ExtractedElement, Object> parents;
+    private TreeViewer viewer;
+
+    /**
+     * Basic constructor, creates the content provider with empty caches.
+     */
+    public TreeContentProvider() {
+        children = new IdentityHashMap<ExtractedPackage, Object[]>();
+        parents = new IdentityHashMap<ExtractedElement, Object>();
+    }
 
     @Override
-    public Object[] getChildren(Object parentElement) {
-        if (parentElement instanceof ExtractedPackage) {
-            return getChildren((ExtractedPackage) parentElement);
-        }
-        return null;
+    public void dispose() {
+        clearCaches();
     }
 
     @Override
-    public Object[] getElements(Object inputElement) {
-        if (inputElement instanceof IntermediateModel) {
-            return new ExtractedPackage[] { ((IntermediateModel) inputElement).getRoot() };
+    public Object getParent(Object element) {
+        return parents.get(element); // parent is known once the element was provided as child
+    }
+
+    @Override
+    public void inputChanged(Viewer viewer, Object oldInput, Object newInput) {
+        this.viewer = (TreeViewer) viewer;
+        clearCaches();
+        model = newInput instanceof IntermediateModel ? (IntermediateModel) newInput : null;
+        if (model != null && model.getRoot() != null) {
+            parents.put(model.getRoot(), model);
         }
-        return ArrayContentProvider.getInstance().getElements(inputElement);
     }
 
     @Override
-    public Object getParent(Object element) {
-        return null; // parent cannot be computed.
+    public void updateChildCount(Object element, int currentChildCount) {
+        int count = getChildren(element).length;
+        if (count != currentChildCount) {
+            viewer.setChildCount(element, count);
+        }
     }
 
     @Override
-    public boolean hasChildren(Object element) {
-        if (element instanceof ExtractedPackage) {
-            return hasChildren((ExtractedPackage) element);
+    public void updateElement(Object parent, int index) {
+        Object[] elements = getChildren(parent);
+        if (index < elements.length) {
+            Object child = elements[index];
+            viewer.replace(parent, index, child);
+            viewer.setHasChildren(child, child instanceof ExtractedPackage && !((ExtractedPackage) child).isEmpty());
         }
-        return false;
     }
 
     /**
-     * Returns all subpackages and type of a {@link ExtractedPackage}.
-     * @param extractedPackage is the {@link ExtractedPackage}
-     * @return every subpackage and contained types.
+     * Clears all cached child arrays and parents.
      */
-    private Object[] getChildren(ExtractedPackage extractedPackage) {
-        ArrayList<ExtractedElement> children = new ArrayList<ExtractedElement>();
-        children.addAll(extractedPackage.getSubpackages());
-        children.addAll(extractedPackage.getTypes());
-        return children.toArray();
+    private void clearCaches() {
+        children.clear();
+        parents.clear();
     }
 
     /**
-     * Checks whether an {@link ExtractedPackage} is not empty.
-     * @param extractedPackage is the {@link ExtractedPackage}.
-     * @return true if the {@link ExtractedPackage} contains types or subpackages.
+     * Returns the children of a tree element, which is the root package for the model and all subpackages and types for
+     * a package.
      */
-    private boolean hasChildren(ExtractedPackage extractedPackage) {
-        return !extractedPackage.isEmpty();
+    private Object[] getChildren(Object element) {
+        if (element instanceof IntermediateModel && model != null && model.getRoot() != null) {
+            return new Object[] { model.getRoot() };
+        } else if (element instanceof ExtractedPackage) {
+            return getChildren((ExtractedPackage) element);
+        }
+        return NO_CHILDREN;
     }
 
-}
\ No newline at end of file
+    /**
+     * Returns all subpackages and type of a {@link ExtractedPackage}. The array is created once per package.
+     * @param extractedPackage is the {@link ExtractedPackage}
+     * @return every subpackage and contained types.
+     */
+    private Object[] getChildren(ExtractedPackage extractedPackage) {
+        Object[] packageChildren = children.get(extractedPackage);
+        if (packageChildren == null) {
+            int index = 0;
+            packageChildren = new Object[extractedPackage.getSubpackages().size() + extractedPackage.getEnumerations().size()
+                    + extractedPackage.getClasses().size() + extractedPackage.getInterfaces().size()];
+            for (ExtractedPackage subpackage : extractedPackage.getSubpackages()) {
+                packageChildren[index++] = subpackage;
+                parents.put(subpackage, extractedPackage);
+            }
+            for (ExtractedType type : extractedPackage.getTypes()) {
+                packageChildren[index++] = type;
+                parents.put(type, extractedPackage);
+            }
+            children.put(extractedPackage, packageChildren);
+        }
+        return packageChildren;
+    }
+}